@@ -0,0 +1,88 @@
+package kim.hyeongcheol.tictactoeserver.benchmark;
+
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import kim.hyeongcheol.tictactoeserver.repository.CompactId;
+import kim.hyeongcheol.tictactoeserver.repository.MemoryGameRoomRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoryGameRoomRepositoryBenchmark {
+
+    @Param({"1024", "65536"})
+    public int rooms;
+
+    private MemoryGameRoomRepository repository;
+    private String[] roomIds;
+    private String[] sessionIds;
+    private final AtomicInteger threadSequence = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class ThreadSessions {
+        String sessionId;
+        String roomId;
+
+        @Setup
+        public void setUp(MemoryGameRoomRepositoryBenchmark benchmark) {
+            int thread = benchmark.threadSequence.incrementAndGet();
+            sessionId = "writer-" + thread;
+            roomId = benchmark.roomIds[thread % benchmark.rooms];
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        repository = new MemoryGameRoomRepository();
+        roomIds = new String[rooms];
+        sessionIds = new String[rooms];
+        for (int i = 0; i < rooms; i++) {
+            roomIds[i] = CompactId.newId();
+            sessionIds[i] = "host-" + i;
+            repository.save(new GameRoom(roomIds[i], "방 " + i, "host" + i, sessionIds[i]));
+            repository.linkSessionToRoom(sessionIds[i], roomIds[i]);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<GameRoom> findById() {
+        return repository.findById(roomIds[ThreadLocalRandom.current().nextInt(rooms)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<String> findRoomIdBySessionId() {
+        return repository.findRoomIdBySessionId(sessionIds[ThreadLocalRandom.current().nextInt(rooms)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void linkAndUnlink(ThreadSessions sessions) {
+        repository.linkSessionToRoom(sessions.sessionId, sessions.roomId);
+        repository.unlinkSessionFromRoom(sessions.sessionId);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Optional<String> mixedLookup() {
+        return repository.findRoomIdBySessionId(sessionIds[ThreadLocalRandom.current().nextInt(rooms)]);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedLinkAndUnlink(ThreadSessions sessions) {
+        repository.linkSessionToRoom(sessions.sessionId, sessions.roomId);
+        repository.unlinkSessionFromRoom(sessions.sessionId);
+    }
+}
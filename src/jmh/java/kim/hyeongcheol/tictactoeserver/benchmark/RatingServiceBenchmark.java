@@ -0,0 +1,63 @@
+package kim.hyeongcheol.tictactoeserver.benchmark;
+
+import kim.hyeongcheol.tictactoeserver.dto.Leaderboard;
+import kim.hyeongcheol.tictactoeserver.dto.LeaderboardQuery;
+import kim.hyeongcheol.tictactoeserver.repository.RatingRepository;
+import kim.hyeongcheol.tictactoeserver.service.RatingService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RatingServiceBenchmark {
+
+    @Param({"1000000"})
+    public int players;
+
+    private RatingService ratingService;
+    private String[] playerIds;
+
+    @Setup
+    public void setUp() {
+        ratingService = new RatingService(new RatingRepository(), 1200, 32, 100, 64, 0, 5);
+        playerIds = new String[players];
+        for (int i = 0; i < players; i++) {
+            playerIds[i] = "player" + i;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < players; i++) {
+            play(playerIds[i], playerIds[random.nextInt(players)], random.nextInt(3) / 2.0);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordGame() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        play(playerIds[random.nextInt(players)], playerIds[random.nextInt(players)], random.nextInt(3) / 2.0);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Leaderboard leaderboard() {
+        return ratingService.leaderboard(playerIds[ThreadLocalRandom.current().nextInt(players)], new LeaderboardQuery());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Leaderboard myRank() {
+        LeaderboardQuery query = new LeaderboardQuery();
+        query.setLimit(1);
+        return ratingService.leaderboard(playerIds[ThreadLocalRandom.current().nextInt(players)], query);
+    }
+
+    private void play(String playerXId, String playerOId, double playerXScore) {
+        ratingService.recordGame(playerXId, playerXId, playerOId, playerOId, playerXScore);
+    }
+}
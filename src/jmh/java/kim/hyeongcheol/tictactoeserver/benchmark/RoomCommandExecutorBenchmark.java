@@ -0,0 +1,114 @@
+package kim.hyeongcheol.tictactoeserver.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kim.hyeongcheol.tictactoeserver.cluster.ClusterMessageRelay;
+import kim.hyeongcheol.tictactoeserver.cluster.ClusterNode;
+import kim.hyeongcheol.tictactoeserver.cluster.InProcessClusterBus;
+import kim.hyeongcheol.tictactoeserver.cluster.InProcessClusterHub;
+import kim.hyeongcheol.tictactoeserver.dto.GameMessage;
+import kim.hyeongcheol.tictactoeserver.executor.DirectRoomCommandExecutor;
+import kim.hyeongcheol.tictactoeserver.executor.HashedTimingWheel;
+import kim.hyeongcheol.tictactoeserver.executor.RoomCommandExecutor;
+import kim.hyeongcheol.tictactoeserver.executor.StripedRoomCommandExecutor;
+import kim.hyeongcheol.tictactoeserver.messaging.CompactWireNegotiator;
+import kim.hyeongcheol.tictactoeserver.metrics.GameMetrics;
+import kim.hyeongcheol.tictactoeserver.repository.GameHistoryRepository;
+import kim.hyeongcheol.tictactoeserver.repository.MemoryGameRoomRepository;
+import kim.hyeongcheol.tictactoeserver.repository.RatingRepository;
+import kim.hyeongcheol.tictactoeserver.service.GameService;
+import kim.hyeongcheol.tictactoeserver.service.LobbyService;
+import kim.hyeongcheol.tictactoeserver.service.PlayerSessionService;
+import kim.hyeongcheol.tictactoeserver.service.RatingService;
+import kim.hyeongcheol.tictactoeserver.service.RoomBroadcaster;
+import kim.hyeongcheol.tictactoeserver.service.RoomSnapshotMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class RoomCommandExecutorBenchmark {
+
+    private static final int BATCH = 256;
+
+    @Param({"direct", "striped"})
+    public String mode;
+
+    @Param({"64", "4096"})
+    public int rooms;
+
+    private RoomCommandExecutor executor;
+    private HashedTimingWheel timingWheel;
+    private RoomBroadcaster roomBroadcaster;
+    private GameService gameService;
+    private String[] roomIds;
+    private String[] hostSessionIds;
+
+    @Setup
+    public void setUp() {
+        executor = mode.equals("striped") ? new StripedRoomCommandExecutor(0) : new DirectRoomCommandExecutor();
+        MemoryGameRoomRepository repository = new MemoryGameRoomRepository();
+        timingWheel = new HashedTimingWheel(100, 512);
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate((message, timeout) -> true);
+        GameMetrics gameMetrics = new GameMetrics(new SimpleMeterRegistry());
+        CompactWireNegotiator compactWireNegotiator = new CompactWireNegotiator(new SimpleMeterRegistry());
+        roomBroadcaster = new RoomBroadcaster(messagingTemplate, gameMetrics, compactWireNegotiator, 0, Duration.ofMillis(50), Duration.ZERO, true);
+        PlayerSessionService playerSessionService = new PlayerSessionService(repository, timingWheel, Duration.ZERO);
+        ClusterNode clusterNode = new ClusterNode(new InProcessClusterBus(new InProcessClusterHub()), new SimpleMeterRegistry(), "", "", 128);
+        ClusterMessageRelay clusterMessageRelay = new ClusterMessageRelay(clusterNode, messagingTemplate, playerSessionService);
+        gameService = new GameService(messagingTemplate, repository, new RoomSnapshotMapper(new ObjectMapper()),
+                new LobbyService(messagingTemplate, repository, clusterNode, clusterMessageRelay, new ObjectMapper()), timingWheel, executor,
+                playerSessionService, gameMetrics, roomBroadcaster, new GameHistoryRepository(1024, "", 1024, 20),
+                clusterNode, clusterMessageRelay, compactWireNegotiator,
+                new RatingService(new RatingRepository(), 1200, 32, 100, 64, 0, 5));
+        roomIds = new String[rooms];
+        hostSessionIds = new String[rooms];
+        for (int i = 0; i < rooms; i++) {
+            String hostSessionId = "host-" + i;
+            gameService.createRoom("room-" + i, "host" + i, hostSessionId);
+            roomIds[i] = repository.findRoomIdBySessionId(hostSessionId).orElseThrow();
+            hostSessionIds[i] = hostSessionId;
+            gameService.joinRoom(roomIds[i], "guest" + i, "guest-" + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        timingWheel.destroy();
+        roomBroadcaster.destroy();
+        if (executor instanceof StripedRoomCommandExecutor striped) {
+            striped.destroy();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void chatCommands() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(BATCH);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < BATCH; i++) {
+            int room = random.nextInt(rooms);
+            String roomId = roomIds[room];
+            String sessionId = hostSessionIds[room];
+            GameMessage chat = GameMessage.builder()
+                    .type(GameMessage.MessageType.CHAT)
+                    .content("hello")
+                    .build();
+            executor.execute(roomId, () -> {
+                gameService.processMessage(roomId, chat, sessionId);
+                done.countDown();
+            });
+        }
+        done.await();
+    }
+}
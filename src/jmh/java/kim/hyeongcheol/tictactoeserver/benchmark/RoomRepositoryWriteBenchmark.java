@@ -0,0 +1,91 @@
+package kim.hyeongcheol.tictactoeserver.benchmark;
+
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import kim.hyeongcheol.tictactoeserver.game.TicTacToeGame;
+import kim.hyeongcheol.tictactoeserver.repository.GameRoomRepository;
+import kim.hyeongcheol.tictactoeserver.repository.JournalGameRoomRepository;
+import kim.hyeongcheol.tictactoeserver.repository.MemoryGameRoomRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class RoomRepositoryWriteBenchmark {
+
+    private static final int[] DRAW = {0, 1, 2, 4, 3, 5, 7, 6, 8};
+
+    @Param({"memory", "journal-async", "journal-fsync"})
+    public String repositoryType;
+
+    private GameRoomRepository repository;
+    private Path directory;
+    private final AtomicInteger roomSequence = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class PlayerState {
+        GameRoom room;
+        int moveIndex;
+
+        @Setup
+        public void setUp(RoomRepositoryWriteBenchmark benchmark) {
+            int id = benchmark.roomSequence.incrementAndGet();
+            room = new GameRoom("room-" + id, "bench " + id, "host", "host-" + id);
+            room.addPlayer("guest-" + id, "guest");
+            benchmark.repository.save(room);
+            restart();
+        }
+
+        void restart() {
+            room.resetForRematch();
+            room.getPlayers().keySet().forEach(room::markReady);
+            room.startGame();
+            moveIndex = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        if (repositoryType.equals("memory")) {
+            repository = new MemoryGameRoomRepository();
+            return;
+        }
+        directory = Files.createTempDirectory("room-journal-bench");
+        repository = new JournalGameRoomRepository(directory.toString(), repositoryType.equals("journal-fsync"), 64L << 20);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (repository instanceof JournalGameRoomRepository journal) {
+            journal.destroy();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public GameRoom moveAndSave(PlayerState state) {
+        GameRoom room = state.room;
+        TicTacToeGame game = room.getGame();
+        room.makeMove(DRAW[state.moveIndex++], game.getCurrentPlayerSessionId());
+        repository.save(room);
+        if (game.isGameOver()) {
+            state.restart();
+        }
+        return room;
+    }
+}
@@ -0,0 +1,124 @@
+package kim.hyeongcheol.tictactoeserver.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import kim.hyeongcheol.tictactoeserver.dto.GameMessage;
+import kim.hyeongcheol.tictactoeserver.dto.MovePayload;
+import kim.hyeongcheol.tictactoeserver.dto.RoomSnapshot;
+import kim.hyeongcheol.tictactoeserver.dto.RoomStateDto;
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import kim.hyeongcheol.tictactoeserver.messaging.CompactGameMessageCodec;
+import kim.hyeongcheol.tictactoeserver.service.RoomSnapshotMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private RoomSnapshotMapper roomSnapshotMapper;
+    private GameRoom room;
+    private RoomStateDto roomState;
+    private GameMessage deltaMessage;
+    private GameMessage snapshotMessage;
+    private byte[] moveJson;
+    private byte[] moveCompact;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        roomSnapshotMapper = new RoomSnapshotMapper(objectMapper);
+        room = new GameRoom("5f0c7a3e-8d0b-4a53-9d6f-1f2b3c4d5e6f", "벤치마크 방", "host", "host-session-0001");
+        room.addPlayer("guest-session-0002", "guest");
+        room.markReady("host-session-0001");
+        room.markReady("guest-session-0002");
+        room.startGame();
+        room.makeMove(4, room.getGame().getCurrentPlayerSessionId());
+        room.makeMove(0, room.getGame().getCurrentPlayerSessionId());
+        roomState = roomSnapshotMapper.mapToRoomStateDto(room);
+        deltaMessage = GameMessage.builder()
+                .type(GameMessage.MessageType.GAME_UPDATE)
+                .roomId(room.getRoomId())
+                .sequence(42L)
+                .move(new MovePayload(8))
+                .mark('X')
+                .nextPlayerSessionId("guest-session-0002")
+                .build();
+        snapshotMessage = GameMessage.builder()
+                .type(GameMessage.MessageType.GAME_START)
+                .roomId(room.getRoomId())
+                .sequence(41L)
+                .content("게임이 시작됩니다!")
+                .roomState(roomSnapshotMapper.snapshotOf(room))
+                .build();
+        GameMessage move = GameMessage.builder()
+                .type(GameMessage.MessageType.MOVE)
+                .move(new MovePayload(8))
+                .build();
+        try {
+            moveJson = objectMapper.writeValueAsBytes(move);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        moveCompact = CompactGameMessageCodec.encode(move);
+    }
+
+    @Benchmark
+    public RoomStateDto mapRoomState() {
+        return roomSnapshotMapper.mapToRoomStateDto(room);
+    }
+
+    @Benchmark
+    public RoomSnapshot cachedSnapshot() {
+        return roomSnapshotMapper.snapshotOf(room);
+    }
+
+    @Benchmark
+    public RoomSnapshot freshSnapshot() {
+        room.cacheSnapshot(null);
+        return roomSnapshotMapper.snapshotOf(room);
+    }
+
+    @Benchmark
+    public byte[] encodeRoomState() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(roomState);
+    }
+
+    @Benchmark
+    public byte[] encodeDeltaMessage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(deltaMessage);
+    }
+
+    @Benchmark
+    public byte[] encodeSnapshotMessage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(snapshotMessage);
+    }
+
+    @Benchmark
+    public byte[] encodeDeltaMessageCompact() {
+        return CompactGameMessageCodec.encode(deltaMessage);
+    }
+
+    @Benchmark
+    public byte[] encodeSnapshotMessageCompact() {
+        return CompactGameMessageCodec.encode(snapshotMessage);
+    }
+
+    @Benchmark
+    public GameMessage decodeMoveJson() throws IOException {
+        return objectMapper.readValue(moveJson, GameMessage.class);
+    }
+
+    @Benchmark
+    public GameMessage decodeMoveCompact() {
+        return CompactGameMessageCodec.decode(moveCompact, roomState -> null);
+    }
+}
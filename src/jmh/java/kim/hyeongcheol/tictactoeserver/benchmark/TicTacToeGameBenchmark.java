@@ -0,0 +1,61 @@
+package kim.hyeongcheol.tictactoeserver.benchmark;
+
+import kim.hyeongcheol.tictactoeserver.game.TicTacToeGame;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicTacToeGameBenchmark {
+
+    private static final int[] DRAW = {0, 1, 2, 4, 3, 5, 7, 6, 8};
+    private static final int[] X_WINS = {0, 3, 1, 4, 2};
+
+    private int mask;
+
+    @Benchmark
+    public TicTacToeGame playDrawnGame() {
+        return play(DRAW);
+    }
+
+    @Benchmark
+    public TicTacToeGame playWonGame() {
+        return play(X_WINS);
+    }
+
+    @Benchmark
+    public boolean rejectOccupiedCell(Blackhole blackhole) {
+        TicTacToeGame game = new TicTacToeGame("a", "b");
+        game.makeMove(4, game.getPlayerXSessionId());
+        blackhole.consume(game);
+        return game.makeMove(4, game.getPlayerOSessionId());
+    }
+
+    @Benchmark
+    public boolean detectWin() {
+        mask = (mask + 1) & TicTacToeGame.FULL_BOARD;
+        return TicTacToeGame.isWinningMask(mask);
+    }
+
+    @Benchmark
+    public Character[] renderBoard() {
+        TicTacToeGame game = TicTacToeGame.restore("a", "b", 0b100_010_001, 0b001_100_010, 0, "a", null, false);
+        return game.getBoard();
+    }
+
+    private static TicTacToeGame play(int[] moves) {
+        TicTacToeGame game = new TicTacToeGame("a", "b");
+        String x = game.getPlayerXSessionId();
+        String o = game.getPlayerOSessionId();
+        for (int i = 0; i < moves.length; i++) {
+            game.makeMove(moves[i], i % 2 == 0 ? x : o);
+        }
+        return game;
+    }
+}
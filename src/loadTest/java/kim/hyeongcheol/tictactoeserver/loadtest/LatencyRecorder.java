@@ -0,0 +1,67 @@
+package kim.hyeongcheol.tictactoeserver.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong roomFrames = new AtomicLong();
+    private final AtomicLong otherFrames = new AtomicLong();
+    private final AtomicLong roomBytes = new AtomicLong();
+    private final AtomicLong otherBytes = new AtomicLong();
+
+    void record(String type, long startNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        histograms.computeIfAbsent(type, key -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3))
+                .recordValue(Math.min(Math.max(micros, 1), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    void frameReceived(boolean roomTopic, int bytes) {
+        (roomTopic ? roomFrames : otherFrames).incrementAndGet();
+        (roomTopic ? roomBytes : otherBytes).addAndGet(bytes);
+    }
+
+    void error() {
+        errors.incrementAndGet();
+    }
+
+    long errors() {
+        return errors.get();
+    }
+
+    void report(PrintStream out, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        out.printf("%-8s %10s %10s %10s %10s %10s %10s%n", "type", "count", "ops/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        long total = 0;
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+            Histogram histogram = entry.getValue();
+            total += histogram.getTotalCount();
+            out.printf("%-8s %10d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    entry.getKey(),
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+        out.printf("%-8s %10d %10.1f%n", "total", total, total / seconds);
+        out.printf("frames received: room topic=%d other=%d%n", roomFrames.get(), otherFrames.get());
+        out.printf("payload bytes received: room topic=%d other=%d%n", roomBytes.get(), otherBytes.get());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
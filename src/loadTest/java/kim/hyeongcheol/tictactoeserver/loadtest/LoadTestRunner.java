@@ -0,0 +1,211 @@
+package kim.hyeongcheol.tictactoeserver.loadtest;
+
+import kim.hyeongcheol.tictactoeserver.TicTacToeServerApplication;
+import kim.hyeongcheol.tictactoeserver.cluster.InProcessClusterHub;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.messaging.converter.SimpleMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public final class LoadTestRunner {
+
+    private static final long AUDIENCE_TIMEOUT_SECONDS = 60;
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int users = Integer.parseInt(options.getOrDefault("users", "200"));
+        int games = Integer.parseInt(options.getOrDefault("games", "3"));
+        long thinkMillis = Long.parseLong(options.getOrDefault("think-ms", "0"));
+        long rampMillis = Long.parseLong(options.getOrDefault("ramp-ms", "1000"));
+        int spectators = Integer.parseInt(options.getOrDefault("spectators", "0"));
+        String endpoint = options.getOrDefault("endpoint", "/ws-native");
+        String target = options.get("target");
+        boolean compact = options.getOrDefault("wire", "json").equals("compact");
+        if (users < 2 || users % 2 != 0) {
+            throw new IllegalArgumentException("--users must be an even number of at least 2");
+        }
+
+        int nodes = Integer.parseInt(options.getOrDefault("nodes", "1"));
+        if (nodes < 1) {
+            throw new IllegalArgumentException("--nodes must be at least 1");
+        }
+
+        List<ConfigurableApplicationContext> servers = new ArrayList<>();
+        List<String> targets = new ArrayList<>();
+        GenericApplicationContext cluster = new GenericApplicationContext();
+        cluster.registerBean(InProcessClusterHub.class);
+        cluster.refresh();
+        if (target == null) {
+            List<String> nodeIds = new ArrayList<>();
+            for (int node = 0; node < nodes; node++) {
+                nodeIds.add("node" + node);
+            }
+            for (String nodeId : nodeIds) {
+                List<String> serverArgs = new ArrayList<>(List.of("--server.port=0", "--logging.level.root=WARN", "--spring.main.banner-mode=off"));
+                if (nodes > 1) {
+                    serverArgs.add("--game.cluster.node-id=" + nodeId);
+                    serverArgs.add("--game.cluster.nodes=" + String.join(",", nodeIds));
+                }
+                options.forEach((name, value) -> {
+                    if (name.contains(".")) {
+                        serverArgs.add("--" + name + "=" + value);
+                    }
+                });
+                ConfigurableApplicationContext server = new SpringApplicationBuilder(TicTacToeServerApplication.class)
+                        .parent(cluster)
+                        .run(serverArgs.toArray(new String[0]));
+                servers.add(server);
+                int port = ((WebServerApplicationContext) server).getWebServer().getPort();
+                targets.add("ws://localhost:" + port + endpoint);
+            }
+        } else {
+            targets.add(target);
+        }
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new SimpleMessageConverter());
+        ThreadPoolTaskScheduler receiptScheduler = new ThreadPoolTaskScheduler();
+        receiptScheduler.setThreadNamePrefix("loadtest-receipt-");
+        receiptScheduler.initialize();
+        stompClient.setTaskScheduler(receiptScheduler);
+        LatencyRecorder recorder = new LatencyRecorder();
+        int pairs = users / 2;
+        System.out.printf("target=%s users=%d spectators=%d games=%d think-ms=%d ramp-ms=%d wire=%s%n",
+                String.join(",", targets), users, spectators, games, thinkMillis, rampMillis, compact ? "compact" : "json");
+        options.forEach((name, value) -> {
+            if (name.contains(".")) {
+                System.out.printf("%s=%s%n", name, value);
+            }
+        });
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(users + spectators);
+            CountDownLatch featuredAudience = new CountDownLatch(spectators);
+            CompletableFuture<String> featuredRoomId = null;
+            for (int i = 0; i < pairs; i++) {
+                long delayMillis = rampMillis * i / pairs;
+                CompletableFuture<String> roomId = new CompletableFuture<>();
+                CountDownLatch audience = i == 0 ? featuredAudience : new CountDownLatch(0);
+                if (i == 0) {
+                    featuredRoomId = roomId;
+                }
+                VirtualPlayer host = new VirtualPlayer("host" + i, recorder, thinkMillis, compact);
+                VirtualPlayer guest = new VirtualPlayer("guest" + i, recorder, thinkMillis, compact);
+                String hostUrl = targets.get(i % targets.size());
+                String guestUrl = targets.get((i + 1) % targets.size());
+                futures.add(executor.submit(() -> runHost(host, stompClient, hostUrl, delayMillis, games, roomId, audience, recorder)));
+                futures.add(executor.submit(() -> runGuest(guest, stompClient, guestUrl, delayMillis, games, roomId, recorder)));
+            }
+            for (int i = 0; i < spectators; i++) {
+                long delayMillis = rampMillis * i / spectators;
+                CompletableFuture<String> roomId = featuredRoomId;
+                VirtualPlayer spectator = new VirtualPlayer("watcher" + i, recorder, thinkMillis, compact);
+                String url = targets.get(i % targets.size());
+                futures.add(executor.submit(() -> runSpectator(spectator, stompClient, url, delayMillis, games, roomId, featuredAudience, recorder)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            recorder.report(System.out, elapsed);
+            System.out.printf("errors=%d elapsed=%.1fs%n", recorder.errors(), elapsed / 1_000_000_000.0);
+            stompClient.stop();
+            receiptScheduler.shutdown();
+            servers.forEach(ConfigurableApplicationContext::close);
+            cluster.close();
+        }
+        System.exit(recorder.errors() == 0 ? 0 : 1);
+    }
+
+    private static void runHost(VirtualPlayer host, WebSocketStompClient stompClient, String url, long delayMillis,
+                                int games, CompletableFuture<String> roomId, CountDownLatch audience, LatencyRecorder recorder) {
+        try {
+            Thread.sleep(delayMillis);
+            host.connect(stompClient, url);
+            String createdRoomId = host.createRoom();
+            roomId.complete(createdRoomId);
+            if (!audience.await(AUDIENCE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new TimeoutException("Spectators did not gather in time");
+            }
+            for (int game = 0; game < games; game++) {
+                host.playGame(createdRoomId);
+            }
+        } catch (Exception e) {
+            roomId.completeExceptionally(e);
+            fail(host, e, recorder);
+        } finally {
+            host.leave();
+        }
+    }
+
+    private static void runGuest(VirtualPlayer guest, WebSocketStompClient stompClient, String url, long delayMillis,
+                                 int games, CompletableFuture<String> roomId, LatencyRecorder recorder) {
+        try {
+            Thread.sleep(delayMillis);
+            guest.connect(stompClient, url);
+            String joinedRoomId = roomId.get();
+            guest.joinRoom(joinedRoomId);
+            for (int game = 0; game < games; game++) {
+                guest.playGame(joinedRoomId);
+            }
+        } catch (Exception e) {
+            fail(guest, e, recorder);
+        } finally {
+            guest.leave();
+        }
+    }
+
+    private static void runSpectator(VirtualPlayer spectator, WebSocketStompClient stompClient, String url, long delayMillis,
+                                     int games, CompletableFuture<String> roomId, CountDownLatch audience, LatencyRecorder recorder) {
+        try {
+            Thread.sleep(delayMillis);
+            spectator.connect(stompClient, url);
+            spectator.spectate(roomId.get(), games, audience::countDown);
+        } catch (Exception e) {
+            audience.countDown();
+            fail(spectator, e, recorder);
+        } finally {
+            spectator.leave();
+        }
+    }
+
+    private static void fail(VirtualPlayer player, Exception e, LatencyRecorder recorder) {
+        recorder.error();
+        if (recorder.errors() <= 10) {
+            System.err.println(player + ": " + e);
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Options must look like --name=value: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,298 @@
+package kim.hyeongcheol.tictactoeserver.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import kim.hyeongcheol.tictactoeserver.dto.GameMessage;
+import kim.hyeongcheol.tictactoeserver.dto.MovePayload;
+import kim.hyeongcheol.tictactoeserver.dto.RoomSnapshot;
+import kim.hyeongcheol.tictactoeserver.messaging.CompactGameMessageCodec;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+final class VirtualPlayer {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final long AWAIT_TIMEOUT_MS = 60_000;
+    private static final long RETRY_INTERVAL_MS = 1_000;
+
+    private final String nickname;
+    private final LatencyRecorder recorder;
+    private final long thinkMillis;
+    private final boolean compact;
+    private final BlockingQueue<Frame> inbox = new LinkedBlockingQueue<>();
+    private StompSession session;
+    private String playerId;
+
+    record Frame(String destination, JsonNode body) {
+        String type() {
+            return body.path("type").asText();
+        }
+    }
+
+    VirtualPlayer(String nickname, LatencyRecorder recorder, long thinkMillis, boolean compact) {
+        this.nickname = nickname;
+        this.recorder = recorder;
+        this.thinkMillis = thinkMillis;
+        this.compact = compact;
+    }
+
+    void connect(WebSocketStompClient stompClient, String url) throws Exception {
+        long start = System.nanoTime();
+        StompHeaders connectHeaders = new StompHeaders();
+        if (compact) {
+            connectHeaders.setContentType(CompactGameMessageCodec.MIME_TYPE);
+        }
+        session = stompClient.connectAsync(url, new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {
+        }).get(AWAIT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        recorder.record("CONNECT", start);
+        for (String destination : new String[]{"/user/queue/session", "/user/queue/errors", "/user/queue/room/created", "/user/queue/room/joined"}) {
+            subscribe(destination);
+        }
+        playerId = request("/app/requestSessionId", Map.of(), frame -> frame.destination().equals("/user/queue/session"))
+                .body().path("sessionId").asText();
+    }
+
+    String createRoom() throws Exception {
+        long start = System.nanoTime();
+        send("/app/room/create", Map.of("roomName", nickname + "의 방", "nickname", nickname));
+        String roomId = await("room created", frame -> frame.destination().equals("/user/queue/room/created")).body().path("roomId").asText();
+        recorder.record("CREATE", start);
+        subscribeToRoom(roomId);
+        return roomId;
+    }
+
+    void joinRoom(String roomId) throws Exception {
+        long start = System.nanoTime();
+        send("/app/room/join", Map.of("roomId", roomId, "nickname", nickname));
+        await("room joined", frame -> frame.destination().equals("/user/queue/room/joined"));
+        recorder.record("JOIN", start);
+        subscribeToRoom(roomId);
+    }
+
+    void playGame(String roomId) throws Exception {
+        think();
+        long readyStart = System.nanoTime();
+        sendToRoom(roomId, GameMessage.builder().type(GameMessage.MessageType.READY).build());
+        boolean readyEchoed = false;
+        Frame started;
+        do {
+            started = await("GAME_START", frame -> frame.type().equals("GAME_START")
+                    || frame.type().equals("READY") && nickname.equals(frame.body().path("sender").asText()));
+            if (!readyEchoed) {
+                recorder.record("READY", readyStart);
+                readyEchoed = true;
+            }
+        } while (!started.type().equals("GAME_START"));
+        JsonNode game = started.body().path("roomState").path("game");
+        int occupied = 0;
+        String currentPlayerId = game.path("currentPlayerSessionId").asText();
+        while (true) {
+            Predicate<Frame> update = frame -> frame.type().equals("GAME_UPDATE") || frame.type().equals("GAME_END");
+            Frame frame;
+            if (playerId.equals(currentPlayerId)) {
+                think();
+                long moveStart = System.nanoTime();
+                sendToRoom(roomId, GameMessage.builder()
+                        .type(GameMessage.MessageType.MOVE)
+                        .move(new MovePayload(Integer.numberOfTrailingZeros(~occupied)))
+                        .build());
+                frame = await("GAME_UPDATE", update);
+                recorder.record("MOVE", moveStart);
+            } else {
+                frame = await("GAME_UPDATE", update);
+            }
+            if (frame.type().equals("GAME_END")) {
+                break;
+            }
+            JsonNode body = frame.body();
+            if (body.has("move")) {
+                occupied |= 1 << body.path("move").path("index").asInt();
+                currentPlayerId = body.path("nextPlayerSessionId").asText();
+            } else {
+                occupied = occupancy(body.path("roomState").path("game").path("board"));
+                currentPlayerId = body.path("roomState").path("game").path("currentPlayerSessionId").asText();
+            }
+        }
+
+        think();
+        long chatStart = System.nanoTime();
+        sendToRoom(roomId, chat("gg"));
+        await("CHAT", this::isOwnChat);
+        recorder.record("CHAT", chatStart);
+    }
+
+    void spectate(String roomId, int games, Runnable onWatching) throws Exception {
+        subscribe("/user/queue/room/spectating");
+        subscribe("/topic/room/" + roomId);
+        long start = System.nanoTime();
+        Frame sync = request("/app/room/" + roomId + "/spectate", Map.of(),
+                frame -> frame.destination().equals("/user/queue/room/spectating"));
+        recorder.record("SPECTATE", start);
+        onWatching.run();
+        long syncedSequence = sync.body().path("sequence").asLong();
+        for (int game = 0; game < games; game++) {
+            await("GAME_END", frame -> frame.type().equals("GAME_END") && frame.body().path("sequence").asLong() > syncedSequence);
+        }
+        send("/app/room/spectate/stop", Map.of());
+    }
+
+    void leave() {
+        if (session != null && session.isConnected()) {
+            session.disconnect();
+        }
+    }
+
+    private static int occupancy(JsonNode board) {
+        int occupied = 0;
+        for (int i = 0; i < board.size(); i++) {
+            if (!board.get(i).isNull()) {
+                occupied |= 1 << i;
+            }
+        }
+        return occupied;
+    }
+
+    private void subscribeToRoom(String roomId) throws Exception {
+        subscribe("/topic/room/" + roomId);
+        request("/app/room/" + roomId, chat("hi"), this::isOwnChat);
+    }
+
+    private void subscribe(String destination) {
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                try {
+                    byte[] bytes = (byte[]) payload;
+                    JsonNode body = headers.getContentType() != null && CompactGameMessageCodec.MIME_TYPE.equalsTypeAndSubtype(headers.getContentType())
+                            ? decodeCompact(bytes)
+                            : OBJECT_MAPPER.readTree(bytes);
+                    recorder.frameReceived(destination.startsWith("/topic/room/"), bytes.length);
+                    if (body.path("type").asText().equals("BATCH")) {
+                        body.path("messages").forEach(message -> inbox.add(new Frame(destination, message)));
+                    } else {
+                        inbox.add(new Frame(destination, body));
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+    }
+
+    private Frame request(String destination, Object payload, Predicate<Frame> reply) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(AWAIT_TIMEOUT_MS);
+        while (System.nanoTime() < deadline) {
+            send(destination, payload);
+            Frame frame = poll(reply, TimeUnit.MILLISECONDS.toNanos(RETRY_INTERVAL_MS));
+            if (frame != null) {
+                return frame;
+            }
+        }
+        throw new TimeoutException(nickname + " got no reply from " + destination);
+    }
+
+    private void send(String destination, Object payload) throws IOException {
+        StompHeaders headers = new StompHeaders();
+        headers.setDestination(destination);
+        if (compact && payload instanceof GameMessage message) {
+            headers.setContentType(CompactGameMessageCodec.MIME_TYPE);
+            session.send(headers, CompactGameMessageCodec.encode(message));
+            return;
+        }
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        session.send(headers, OBJECT_MAPPER.writeValueAsBytes(payload));
+    }
+
+    private void sendToRoom(String roomId, GameMessage message) throws IOException {
+        send("/app/room/" + roomId, message);
+    }
+
+    private static GameMessage chat(String content) {
+        return GameMessage.builder().type(GameMessage.MessageType.CHAT).content(content).build();
+    }
+
+    private static JsonNode decodeCompact(byte[] payload) {
+        if (CompactGameMessageCodec.isRoomState(payload)) {
+            return OBJECT_MAPPER.valueToTree(CompactGameMessageCodec.decodeRoomState(payload));
+        }
+        return toTree(CompactGameMessageCodec.decode(payload, roomState -> new RoomSnapshot(0, roomState, "null")));
+    }
+
+    private static JsonNode toTree(GameMessage message) {
+        RoomSnapshot snapshot = message.getRoomState();
+        List<GameMessage> messages = message.getMessages();
+        message.setRoomState(null);
+        message.setMessages(null);
+        ObjectNode tree = OBJECT_MAPPER.valueToTree(message);
+        if (snapshot != null) {
+            tree.set("roomState", OBJECT_MAPPER.valueToTree(snapshot.getRoomState()));
+        }
+        if (messages != null) {
+            ArrayNode array = tree.putArray("messages");
+            messages.forEach(nested -> array.add(toTree(nested)));
+        }
+        return tree;
+    }
+
+    private Frame await(String expected, Predicate<Frame> condition) throws Exception {
+        Frame frame = poll(condition, TimeUnit.MILLISECONDS.toNanos(AWAIT_TIMEOUT_MS));
+        if (frame == null) {
+            throw new TimeoutException(nickname + " timed out waiting for " + expected);
+        }
+        return frame;
+    }
+
+    private Frame poll(Predicate<Frame> condition, long timeoutNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (true) {
+            Frame frame = inbox.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (frame == null) {
+                return null;
+            }
+            if (frame.destination().equals("/user/queue/errors")) {
+                throw new IllegalStateException(nickname + " received an error: " + frame.body().path("content").asText());
+            }
+            if (condition.test(frame)) {
+                return frame;
+            }
+        }
+    }
+
+    private boolean isOwnChat(Frame frame) {
+        return frame.type().equals("CHAT") && nickname.equals(frame.body().path("sender").asText());
+    }
+
+    private void think() throws InterruptedException {
+        if (thinkMillis > 0) {
+            Thread.sleep(thinkMillis);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return nickname;
+    }
+}
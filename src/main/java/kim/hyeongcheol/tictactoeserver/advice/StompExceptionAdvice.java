@@ -10,6 +10,8 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 @Slf4j
 public class StompExceptionAdvice {
 
+    public static final String UNEXPECTED_ERROR = "요청 처리 중 서버에서 예상치 못한 오류가 발생했습니다. 잠시 후 다시 시도해주세요.";
+
     @MessageExceptionHandler
     @SendToUser("/queue/errors")
     public GameMessage handleException(Exception ex) {
@@ -18,7 +20,7 @@ public class StompExceptionAdvice {
 
         return GameMessage.builder()
                 .type(GameMessage.MessageType.ERROR)
-                .content("요청 처리 중 서버에서 예상치 못한 오류가 발생했습니다. 잠시 후 다시 시도해주세요.")
+                .content(UNEXPECTED_ERROR)
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package kim.hyeongcheol.tictactoeserver.cluster;
+
+import java.util.function.Consumer;
+
+public interface ClusterBus {
+
+    void join(String nodeId, Consumer<ClusterEnvelope> receiver);
+
+    void leave(String nodeId);
+
+    void send(String nodeId, ClusterEnvelope envelope);
+
+    void publish(ClusterEnvelope envelope);
+}
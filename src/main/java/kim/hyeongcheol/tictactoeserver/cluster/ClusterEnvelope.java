@@ -0,0 +1,51 @@
+package kim.hyeongcheol.tictactoeserver.cluster;
+
+public record ClusterEnvelope(Type type,
+                              String originNodeId,
+                              RoomCommand command,
+                              String roomId,
+                              String playerId,
+                              String destination,
+                              String contentType,
+                              byte[] payload) {
+
+    public enum Type {
+        COMMAND,
+        USER_MESSAGE,
+        TOPIC_MESSAGE,
+        MEMBER_JOINED,
+        MEMBER_LEFT,
+        INTEREST_ADDED,
+        INTEREST_REMOVED,
+        LOBBY_SNAPSHOT,
+        LOBBY_QUERY
+    }
+
+    public static ClusterEnvelope command(String originNodeId, RoomCommand command, String roomId, String playerId, byte[] argument) {
+        return new ClusterEnvelope(Type.COMMAND, originNodeId, command, roomId, playerId, null, null, argument);
+    }
+
+    public static ClusterEnvelope userMessage(String originNodeId, String playerId, String destination, String contentType, byte[] payload) {
+        return new ClusterEnvelope(Type.USER_MESSAGE, originNodeId, null, null, playerId, destination, contentType, payload);
+    }
+
+    public static ClusterEnvelope topicMessage(String originNodeId, String destination, String contentType, byte[] payload) {
+        return new ClusterEnvelope(Type.TOPIC_MESSAGE, originNodeId, null, null, null, destination, contentType, payload);
+    }
+
+    public static ClusterEnvelope lobbySnapshot(String originNodeId, byte[] rooms) {
+        return new ClusterEnvelope(Type.LOBBY_SNAPSHOT, originNodeId, null, null, null, null, null, rooms);
+    }
+
+    public static ClusterEnvelope lobbyQuery(String homeNodeId, String playerId, byte[] query) {
+        return new ClusterEnvelope(Type.LOBBY_QUERY, homeNodeId, null, null, playerId, null, null, query);
+    }
+
+    public static ClusterEnvelope membership(Type type, String nodeId) {
+        return new ClusterEnvelope(type, nodeId, null, null, null, null, null, null);
+    }
+
+    public static ClusterEnvelope interest(Type type, String originNodeId, String destination) {
+        return new ClusterEnvelope(type, originNodeId, null, null, null, destination, null, null);
+    }
+}
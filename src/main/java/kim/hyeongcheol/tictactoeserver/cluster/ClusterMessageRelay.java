@@ -0,0 +1,113 @@
+package kim.hyeongcheol.tictactoeserver.cluster;
+
+import kim.hyeongcheol.tictactoeserver.service.PlayerSessionService;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+@Component
+public class ClusterMessageRelay {
+
+    private final ClusterNode clusterNode;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final PlayerSessionService playerSessionService;
+    private final Map<String, String> homeNodeIdsByPlayerId = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<byte[]>>> topicListeners = new ConcurrentHashMap<>();
+
+    public ClusterMessageRelay(ClusterNode clusterNode,
+                               SimpMessagingTemplate messagingTemplate,
+                               PlayerSessionService playerSessionService) {
+        this.clusterNode = clusterNode;
+        this.messagingTemplate = messagingTemplate;
+        this.playerSessionService = playerSessionService;
+        clusterNode.onEnvelope(ClusterEnvelope.Type.USER_MESSAGE, this::deliverToPlayer);
+        clusterNode.onEnvelope(ClusterEnvelope.Type.TOPIC_MESSAGE, this::deliverToSubscribers);
+    }
+
+    public void rememberHome(String playerId, String nodeId) {
+        homeNodeIdsByPlayerId.put(playerId, nodeId);
+    }
+
+    public void forgetHome(String playerId) {
+        homeNodeIdsByPlayerId.remove(playerId);
+    }
+
+    public void releaseRemoteSeat(String playerId, String roomId) {
+        String homeNodeId = homeNodeIdsByPlayerId.get(playerId);
+        if (homeNodeId != null) {
+            clusterNode.send(homeNodeId, ClusterEnvelope.command(clusterNode.getNodeId(), RoomCommand.RELEASE_SEAT, roomId, playerId, null));
+        }
+    }
+
+    public void onTopicMessage(String destination, Consumer<byte[]> listener) {
+        topicListeners.computeIfAbsent(destination, key -> new CopyOnWriteArrayList<>()).add(listener);
+        clusterNode.addInterest(destination);
+    }
+
+    public boolean sendToRemotePlayer(String playerId, String destination, Object payload) {
+        String homeNodeId = homeNodeIdsByPlayerId.get(playerId);
+        if (homeNodeId == null) {
+            return false;
+        }
+        sendToPlayerOn(homeNodeId, playerId, destination, payload);
+        return true;
+    }
+
+    public void sendToPlayerOn(String homeNodeId, String playerId, String destination, Object payload) {
+        Message<?> message = messagingTemplate.getMessageConverter().toMessage(payload, null);
+        if (message == null || !(message.getPayload() instanceof byte[] bytes)) {
+            throw new IllegalStateException("Cannot serialize payload for a remote player: " + payload.getClass().getName());
+        }
+        Object contentType = message.getHeaders().get(MessageHeaders.CONTENT_TYPE);
+        clusterNode.send(homeNodeId, ClusterEnvelope.userMessage(clusterNode.getNodeId(), playerId, destination,
+                contentType == null ? null : contentType.toString(), bytes));
+    }
+
+    public void sendToLocalSubscribers(String destination, Object payload) {
+        SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headerAccessor.setHeader(ClusterNode.RELAYED_HEADER, Boolean.TRUE);
+        headerAccessor.setLeaveMutable(true);
+        messagingTemplate.convertAndSend(destination, payload, headerAccessor.getMessageHeaders());
+    }
+
+    private void deliverToPlayer(ClusterEnvelope envelope) {
+        String sessionId = playerSessionService.sessionIdOf(envelope.playerId());
+        if (sessionId == null) return;
+
+        SimpMessageHeaderAccessor headerAccessor = headersOf(envelope);
+        headerAccessor.setSessionId(sessionId);
+        messagingTemplate.send("/user/" + sessionId + envelope.destination(),
+                MessageBuilder.createMessage(envelope.payload(), headerAccessor.getMessageHeaders()));
+    }
+
+    private void deliverToSubscribers(ClusterEnvelope envelope) {
+        SimpMessageHeaderAccessor headerAccessor = headersOf(envelope);
+        headerAccessor.setHeader(ClusterNode.RELAYED_HEADER, Boolean.TRUE);
+        messagingTemplate.send(envelope.destination(),
+                MessageBuilder.createMessage(envelope.payload(), headerAccessor.getMessageHeaders()));
+        List<Consumer<byte[]>> listeners = topicListeners.get(envelope.destination());
+        if (listeners != null) {
+            listeners.forEach(listener -> listener.accept(envelope.payload()));
+        }
+    }
+
+    private static SimpMessageHeaderAccessor headersOf(ClusterEnvelope envelope) {
+        SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        if (envelope.contentType() != null) {
+            headerAccessor.setContentType(MimeType.valueOf(envelope.contentType()));
+        }
+        headerAccessor.setLeaveMutable(true);
+        return headerAccessor;
+    }
+}
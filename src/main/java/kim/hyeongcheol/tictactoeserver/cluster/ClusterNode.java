@@ -0,0 +1,261 @@
+package kim.hyeongcheol.tictactoeserver.cluster;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import kim.hyeongcheol.tictactoeserver.repository.CompactId;
+import lombok.Getter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+@Component
+public class ClusterNode implements ChannelInterceptor, SmartInitializingSingleton, DisposableBean {
+
+    public static final String RELAYED_HEADER = "clusterRelayed";
+    public static final String TOPIC_PREFIX = "/topic/";
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final ClusterBus clusterBus;
+    @Getter
+    private final String nodeId;
+    @Getter
+    private final List<String> nodeIds;
+    private final ConsistentHashRing ring;
+    private final Set<String> memberNodeIds = ConcurrentHashMap.newKeySet();
+    private final List<Consumer<String>> memberJoinedListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<String>> memberLeftListeners = new CopyOnWriteArrayList<>();
+    private final Map<String, List<Consumer<String>>> remoteInterestListeners = new ConcurrentHashMap<>();
+    private final Map<ClusterEnvelope.Type, Consumer<ClusterEnvelope>> handlers = new ConcurrentHashMap<>();
+    private final Counter[] sent = new Counter[ClusterEnvelope.Type.values().length];
+    private final Map<String, Integer> localInterest = new HashMap<>();
+    private final Map<String, Set<String>> remoteInterest = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> remotePatternInterest = new ConcurrentHashMap<>();
+
+    public ClusterNode(ClusterBus clusterBus,
+                       MeterRegistry meterRegistry,
+                       @Value("${game.cluster.node-id:}") String nodeId,
+                       @Value("${game.cluster.nodes:}") String nodes,
+                       @Value("${game.cluster.virtual-nodes:128}") int virtualNodes) {
+        this.clusterBus = clusterBus;
+        this.nodeId = nodeId.isBlank() ? null : nodeId.trim();
+        if (this.nodeId == null) {
+            this.nodeIds = List.of();
+            this.ring = null;
+            return;
+        }
+        this.nodeIds = Arrays.stream(nodes.split(","))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .distinct()
+                .toList();
+        if (!nodeIds.contains(this.nodeId)) {
+            throw new IllegalArgumentException("game.cluster.nodes must contain game.cluster.node-id: " + this.nodeId);
+        }
+        this.ring = new ConsistentHashRing(nodeIds, virtualNodes);
+        for (ClusterEnvelope.Type type : ClusterEnvelope.Type.values()) {
+            sent[type.ordinal()] = Counter.builder("game.cluster.envelopes.sent")
+                    .description("Envelopes this node handed to the cluster bus")
+                    .tag("type", type.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (ring != null) {
+            clusterBus.join(nodeId, this::receive);
+        }
+    }
+
+    public boolean isClustered() {
+        return ring != null;
+    }
+
+    public boolean isReachable(String targetNodeId) {
+        return targetNodeId.equals(nodeId) || memberNodeIds.contains(targetNodeId);
+    }
+
+    public boolean isLocal(String roomId) {
+        return ring == null || ring.ownerOf(roomId).equals(nodeId);
+    }
+
+    public String ownerOf(String roomId) {
+        return ring == null ? nodeId : ring.ownerOf(roomId);
+    }
+
+    public String newRoomId() {
+        String roomId;
+        do {
+            roomId = CompactId.newId();
+        } while (!isLocal(roomId));
+        return roomId;
+    }
+
+    public void onEnvelope(ClusterEnvelope.Type type, Consumer<ClusterEnvelope> handler) {
+        handlers.put(type, handler);
+    }
+
+    public void onMemberJoined(Consumer<String> listener) {
+        memberJoinedListeners.add(listener);
+    }
+
+    public void onMemberLeft(Consumer<String> listener) {
+        memberLeftListeners.add(listener);
+    }
+
+    public void onRemoteInterest(String destination, Consumer<String> listener) {
+        remoteInterestListeners.computeIfAbsent(destination, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    public void send(String targetNodeId, ClusterEnvelope envelope) {
+        sent[envelope.type().ordinal()].increment();
+        clusterBus.send(targetNodeId, envelope);
+    }
+
+    public void addInterest(String destination) {
+        if (ring == null) {
+            return;
+        }
+        synchronized (localInterest) {
+            if (localInterest.merge(destination, 1, Integer::sum) == 1) {
+                publish(ClusterEnvelope.interest(ClusterEnvelope.Type.INTEREST_ADDED, nodeId, destination));
+            }
+        }
+    }
+
+    public void removeInterest(String destination) {
+        if (ring == null) {
+            return;
+        }
+        synchronized (localInterest) {
+            Integer count = localInterest.get(destination);
+            if (count == null) {
+                return;
+            }
+            if (count > 1) {
+                localInterest.put(destination, count - 1);
+                return;
+            }
+            localInterest.remove(destination);
+            publish(ClusterEnvelope.interest(ClusterEnvelope.Type.INTEREST_REMOVED, nodeId, destination));
+        }
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (ring == null || message.getHeaders().containsKey(RELAYED_HEADER)) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null || !destination.startsWith(TOPIC_PREFIX) || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+        Set<String> targetNodeIds = interestedNodes(destination);
+        if (targetNodeIds.isEmpty()) {
+            return message;
+        }
+        Object contentType = message.getHeaders().get(MessageHeaders.CONTENT_TYPE);
+        ClusterEnvelope envelope = ClusterEnvelope.topicMessage(nodeId, destination,
+                contentType == null ? null : contentType.toString(), payload);
+        targetNodeIds.forEach(targetNodeId -> send(targetNodeId, envelope));
+        return message;
+    }
+
+    private Set<String> interestedNodes(String destination) {
+        Set<String> exact = remoteInterest.getOrDefault(destination, Set.of());
+        if (remotePatternInterest.isEmpty()) {
+            return exact;
+        }
+        Set<String> targetNodeIds = new HashSet<>(exact);
+        remotePatternInterest.forEach((pattern, nodeIds) -> {
+            if (PATH_MATCHER.match(pattern, destination)) {
+                targetNodeIds.addAll(nodeIds);
+            }
+        });
+        return targetNodeIds;
+    }
+
+    private void publish(ClusterEnvelope envelope) {
+        sent[envelope.type().ordinal()].increment();
+        clusterBus.publish(envelope);
+    }
+
+    private void receive(ClusterEnvelope envelope) {
+        switch (envelope.type()) {
+            case MEMBER_JOINED -> {
+                memberNodeIds.add(envelope.originNodeId());
+                memberJoinedListeners.forEach(listener -> listener.accept(envelope.originNodeId()));
+                announceInterestTo(envelope.originNodeId());
+            }
+            case MEMBER_LEFT -> {
+                memberNodeIds.remove(envelope.originNodeId());
+                forgetInterestOf(envelope.originNodeId());
+                memberLeftListeners.forEach(listener -> listener.accept(envelope.originNodeId()));
+            }
+            case INTEREST_ADDED -> {
+                boolean added = interestOf(envelope.destination())
+                        .computeIfAbsent(envelope.destination(), key -> ConcurrentHashMap.newKeySet())
+                        .add(envelope.originNodeId());
+                List<Consumer<String>> listeners = remoteInterestListeners.get(envelope.destination());
+                if (added && listeners != null) {
+                    listeners.forEach(listener -> listener.accept(envelope.originNodeId()));
+                }
+            }
+            case INTEREST_REMOVED -> interestOf(envelope.destination())
+                    .computeIfPresent(envelope.destination(), (key, nodeIds) -> {
+                        nodeIds.remove(envelope.originNodeId());
+                        return nodeIds.isEmpty() ? null : nodeIds;
+                    });
+            default -> {
+                Consumer<ClusterEnvelope> handler = handlers.get(envelope.type());
+                if (handler != null) {
+                    handler.accept(envelope);
+                }
+            }
+        }
+    }
+
+    private Map<String, Set<String>> interestOf(String destination) {
+        return PATH_MATCHER.isPattern(destination) ? remotePatternInterest : remoteInterest;
+    }
+
+    private void announceInterestTo(String joinedNodeId) {
+        synchronized (localInterest) {
+            localInterest.keySet().forEach(destination ->
+                    send(joinedNodeId, ClusterEnvelope.interest(ClusterEnvelope.Type.INTEREST_ADDED, nodeId, destination)));
+        }
+    }
+
+    private void forgetInterestOf(String leftNodeId) {
+        for (Map<String, Set<String>> interest : List.of(remoteInterest, remotePatternInterest)) {
+            interest.keySet().forEach(destination -> interest.computeIfPresent(destination, (key, nodeIds) -> {
+                nodeIds.remove(leftNodeId);
+                return nodeIds.isEmpty() ? null : nodeIds;
+            }));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (ring != null) {
+            clusterBus.leave(nodeId);
+        }
+    }
+}
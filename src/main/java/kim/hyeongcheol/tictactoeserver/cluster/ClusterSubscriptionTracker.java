@@ -0,0 +1,71 @@
+package kim.hyeongcheol.tictactoeserver.cluster;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class ClusterSubscriptionTracker implements ChannelInterceptor {
+
+    private final ClusterNode clusterNode;
+    private final Map<String, Map<String, String>> destinationsBySessionId = new ConcurrentHashMap<>();
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!clusterNode.isClustered()) {
+            return message;
+        }
+        MessageHeaders headers = message.getHeaders();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        if (sessionId == null) {
+            return message;
+        }
+        switch (SimpMessageHeaderAccessor.getMessageType(headers)) {
+            case SUBSCRIBE -> subscribe(sessionId, SimpMessageHeaderAccessor.getSubscriptionId(headers),
+                    SimpMessageHeaderAccessor.getDestination(headers));
+            case UNSUBSCRIBE -> unsubscribe(sessionId, SimpMessageHeaderAccessor.getSubscriptionId(headers));
+            case DISCONNECT -> disconnect(sessionId);
+            case null, default -> {
+            }
+        }
+        return message;
+    }
+
+    private void subscribe(String sessionId, String subscriptionId, String destination) {
+        if (subscriptionId == null || destination == null || !destination.startsWith(ClusterNode.TOPIC_PREFIX)) {
+            return;
+        }
+        String previous = destinationsBySessionId.computeIfAbsent(sessionId, key -> new ConcurrentHashMap<>())
+                .put(subscriptionId, destination);
+        clusterNode.addInterest(destination);
+        if (previous != null) {
+            clusterNode.removeInterest(previous);
+        }
+    }
+
+    private void unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, String> destinations = destinationsBySessionId.get(sessionId);
+        if (destinations == null || subscriptionId == null) {
+            return;
+        }
+        String destination = destinations.remove(subscriptionId);
+        if (destination != null) {
+            clusterNode.removeInterest(destination);
+        }
+    }
+
+    private void disconnect(String sessionId) {
+        Map<String, String> destinations = destinationsBySessionId.remove(sessionId);
+        if (destinations != null) {
+            destinations.values().forEach(clusterNode::removeInterest);
+        }
+    }
+}
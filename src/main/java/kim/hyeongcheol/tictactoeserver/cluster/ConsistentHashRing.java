@@ -0,0 +1,64 @@
+package kim.hyeongcheol.tictactoeserver.cluster;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+public final class ConsistentHashRing {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final List<String> nodeIds;
+    private final long[] points;
+    private final String[] owners;
+
+    public ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+        if (nodeIds.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one node");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive: " + virtualNodes);
+        }
+        this.nodeIds = List.copyOf(nodeIds);
+        int size = this.nodeIds.size() * virtualNodes;
+        long[][] entries = new long[size][];
+        int next = 0;
+        for (int node = 0; node < this.nodeIds.size(); node++) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                entries[next++] = new long[]{hash(this.nodeIds.get(node) + '#' + replica), node};
+            }
+        }
+        Arrays.sort(entries, (left, right) -> left[0] != right[0] ? Long.compare(left[0], right[0]) : Long.compare(left[1], right[1]));
+        this.points = new long[size];
+        this.owners = new String[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = entries[i][0];
+            owners[i] = this.nodeIds.get((int) entries[i][1]);
+        }
+    }
+
+    public String ownerOf(String key) {
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public List<String> nodeIds() {
+        return nodeIds;
+    }
+
+    static long hash(CharSequence key) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ hash >>> 33;
+    }
+}
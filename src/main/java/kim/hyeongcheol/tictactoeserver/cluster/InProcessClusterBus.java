@@ -0,0 +1,44 @@
+package kim.hyeongcheol.tictactoeserver.cluster;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "game.cluster.bus", havingValue = "in-process", matchIfMissing = true)
+public class InProcessClusterBus implements ClusterBus {
+
+    private final InProcessClusterHub hub;
+
+    @Autowired
+    public InProcessClusterBus(ObjectProvider<InProcessClusterHub> hub) {
+        this(hub.getIfAvailable(InProcessClusterHub::new));
+    }
+
+    public InProcessClusterBus(InProcessClusterHub hub) {
+        this.hub = hub;
+    }
+
+    @Override
+    public void join(String nodeId, Consumer<ClusterEnvelope> receiver) {
+        hub.join(nodeId, receiver);
+    }
+
+    @Override
+    public void leave(String nodeId) {
+        hub.leave(nodeId);
+    }
+
+    @Override
+    public void send(String nodeId, ClusterEnvelope envelope) {
+        hub.send(nodeId, envelope);
+    }
+
+    @Override
+    public void publish(ClusterEnvelope envelope) {
+        hub.publish(envelope);
+    }
+}
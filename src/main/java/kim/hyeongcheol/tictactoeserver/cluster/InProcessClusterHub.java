@@ -0,0 +1,87 @@
+package kim.hyeongcheol.tictactoeserver.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+@Slf4j
+public class InProcessClusterHub implements DisposableBean {
+
+    private final Map<String, Member> members = new ConcurrentHashMap<>();
+
+    private record Member(ExecutorService inbox, Consumer<ClusterEnvelope> receiver) {
+    }
+
+    public synchronized void join(String nodeId, Consumer<ClusterEnvelope> receiver) {
+        ExecutorService inbox = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-inbox-" + nodeId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        Member joined = new Member(inbox, receiver);
+        Member previous = members.put(nodeId, joined);
+        if (previous != null) {
+            previous.inbox().shutdown();
+        }
+        members.forEach((memberId, member) -> {
+            if (!memberId.equals(nodeId)) {
+                deliver(member, ClusterEnvelope.membership(ClusterEnvelope.Type.MEMBER_JOINED, nodeId));
+                deliver(joined, ClusterEnvelope.membership(ClusterEnvelope.Type.MEMBER_JOINED, memberId));
+            }
+        });
+    }
+
+    public synchronized void leave(String nodeId) {
+        Member left = members.remove(nodeId);
+        if (left == null) {
+            return;
+        }
+        left.inbox().shutdown();
+        members.values().forEach(member -> deliver(member, ClusterEnvelope.membership(ClusterEnvelope.Type.MEMBER_LEFT, nodeId)));
+    }
+
+    public void send(String nodeId, ClusterEnvelope envelope) {
+        Member member = members.get(nodeId);
+        if (member == null) {
+            log.warn("Dropped cluster envelope for unknown node: nodeId={}, type={}", nodeId, envelope.type());
+            return;
+        }
+        deliver(member, envelope);
+    }
+
+    public void publish(ClusterEnvelope envelope) {
+        if (!members.containsKey(envelope.originNodeId())) {
+            return;
+        }
+        members.forEach((nodeId, member) -> {
+            if (!nodeId.equals(envelope.originNodeId())) {
+                deliver(member, envelope);
+            }
+        });
+    }
+
+    private void deliver(Member member, ClusterEnvelope envelope) {
+        try {
+            member.inbox().execute(() -> {
+                try {
+                    member.receiver().accept(envelope);
+                } catch (RuntimeException e) {
+                    log.error("Cluster envelope handling failed: type={}", envelope.type(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Dropped cluster envelope for a node that is leaving: type={}", envelope.type());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        members.keySet().forEach(this::leave);
+    }
+}
@@ -0,0 +1,22 @@
+package kim.hyeongcheol.tictactoeserver.cluster;
+
+import kim.hyeongcheol.tictactoeserver.dto.GameMessage;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum RoomCommand {
+    JOIN(true, String.class),
+    MESSAGE(true, GameMessage.class),
+    INVITE_AI(true, String.class),
+    RESYNC(true, null),
+    REJOIN(true, null),
+    SPECTATE(true, null),
+    STOP_SPECTATING(false, null),
+    DISCONNECT(false, null),
+    RELEASE_SEAT(false, null);
+
+    private final boolean roomScoped;
+    private final Class<?> argumentType;
+}
@@ -0,0 +1,138 @@
+package kim.hyeongcheol.tictactoeserver.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kim.hyeongcheol.tictactoeserver.advice.StompExceptionAdvice;
+import kim.hyeongcheol.tictactoeserver.dto.GameMessage;
+import kim.hyeongcheol.tictactoeserver.executor.RoomCommandExecutor;
+import kim.hyeongcheol.tictactoeserver.metrics.GameMetrics;
+import kim.hyeongcheol.tictactoeserver.repository.GameRoomRepository;
+import kim.hyeongcheol.tictactoeserver.service.GameService;
+import kim.hyeongcheol.tictactoeserver.service.RoomBroadcaster;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class RoomCommandRouter {
+
+    private final ClusterNode clusterNode;
+    private final ClusterMessageRelay clusterMessageRelay;
+    private final GameService gameService;
+    private final GameRoomRepository gameRoomRepository;
+    private final RoomCommandExecutor roomCommandExecutor;
+    private final RoomBroadcaster roomBroadcaster;
+    private final GameMetrics gameMetrics;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Set<String>> remoteNodeIdsByPlayerId = new ConcurrentHashMap<>();
+
+    public RoomCommandRouter(ClusterNode clusterNode,
+                             ClusterMessageRelay clusterMessageRelay,
+                             GameService gameService,
+                             GameRoomRepository gameRoomRepository,
+                             RoomCommandExecutor roomCommandExecutor,
+                             RoomBroadcaster roomBroadcaster,
+                             GameMetrics gameMetrics,
+                             ObjectMapper objectMapper) {
+        this.clusterNode = clusterNode;
+        this.clusterMessageRelay = clusterMessageRelay;
+        this.gameService = gameService;
+        this.gameRoomRepository = gameRoomRepository;
+        this.roomCommandExecutor = roomCommandExecutor;
+        this.roomBroadcaster = roomBroadcaster;
+        this.gameMetrics = gameMetrics;
+        this.objectMapper = objectMapper;
+        clusterNode.onEnvelope(ClusterEnvelope.Type.COMMAND, this::receive);
+    }
+
+    public void route(RoomCommand command, String roomId, String playerId, Object argument) {
+        long receivedAt = System.nanoTime();
+        if (!command.isRoomScoped()) {
+            dispatch(command, roomId, playerId, argument, receivedAt);
+            Set<String> remoteNodeIds = command == RoomCommand.DISCONNECT
+                    ? remoteNodeIdsByPlayerId.remove(playerId)
+                    : remoteNodeIdsByPlayerId.get(playerId);
+            if (remoteNodeIds != null) {
+                remoteNodeIds.forEach(nodeId -> forward(nodeId, command, roomId, playerId, argument));
+            }
+            return;
+        }
+        if (roomId == null || clusterNode.isLocal(roomId)) {
+            dispatch(command, roomId, playerId, argument, receivedAt);
+            return;
+        }
+        if (command == RoomCommand.JOIN && !gameRoomRepository.linkSessionToRoom(playerId, roomId)) {
+            gameService.sendError(playerId, "이미 참여 중인 방이 있습니다. 방을 나오신 후 다시 시도해주세요.");
+            return;
+        }
+        String ownerNodeId = clusterNode.ownerOf(roomId);
+        remoteNodeIdsByPlayerId.computeIfAbsent(playerId, id -> ConcurrentHashMap.newKeySet()).add(ownerNodeId);
+        forward(ownerNodeId, command, roomId, playerId, argument);
+    }
+
+    private void forward(String nodeId, RoomCommand command, String roomId, String playerId, Object argument) {
+        byte[] payload;
+        try {
+            payload = argument == null ? null : objectMapper.writeValueAsBytes(argument);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        clusterNode.send(nodeId, ClusterEnvelope.command(clusterNode.getNodeId(), command, roomId, playerId, payload));
+    }
+
+    private void receive(ClusterEnvelope envelope) {
+        RoomCommand command = envelope.command();
+        Object argument;
+        try {
+            argument = envelope.payload() == null ? null : objectMapper.readValue(envelope.payload(), command.getArgumentType());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (command == RoomCommand.DISCONNECT) {
+            clusterMessageRelay.forgetHome(envelope.playerId());
+        } else if (command != RoomCommand.RELEASE_SEAT) {
+            clusterMessageRelay.rememberHome(envelope.playerId(), envelope.originNodeId());
+        }
+        dispatch(command, envelope.roomId(), envelope.playerId(), argument, System.nanoTime());
+    }
+
+    private void dispatch(RoomCommand command, String roomId, String playerId, Object argument, long receivedAt) {
+        Runnable task = roomBroadcaster.coalescing(switch (command) {
+            case JOIN -> () -> {
+                gameService.joinRoom(roomId, (String) argument, playerId);
+                if (gameRoomRepository.findRoomIdBySessionId(playerId).filter(roomId::equals).isEmpty()) {
+                    clusterMessageRelay.releaseRemoteSeat(playerId, roomId);
+                }
+            };
+            case MESSAGE -> () -> gameService.processMessage(roomId, (GameMessage) argument, playerId);
+            case INVITE_AI -> () -> gameService.inviteAi(roomId, (String) argument, playerId);
+            case RESYNC -> () -> gameService.resync(roomId, playerId);
+            case REJOIN -> () -> gameService.rejoin(roomId, playerId);
+            case SPECTATE -> () -> gameService.spectate(roomId, playerId);
+            case STOP_SPECTATING -> () -> gameService.stopSpectating(playerId);
+            case DISCONNECT -> () -> gameRoomRepository.findRoomIdBySessionId(playerId).ifPresent(playerRoomId ->
+                    roomCommandExecutor.execute(playerRoomId, roomBroadcaster.coalescing(() -> gameService.handleDisconnect(playerId))));
+            case RELEASE_SEAT -> () -> gameRoomRepository.unlinkSessionFromRoom(playerId, roomId);
+        });
+        GameMessage.MessageType dispatchType = switch (command) {
+            case JOIN -> GameMessage.MessageType.JOIN;
+            case MESSAGE -> ((GameMessage) argument).getType();
+            case RESYNC -> GameMessage.MessageType.SYNC;
+            default -> null;
+        };
+        Runnable measured = dispatchType == null ? task : () -> {
+            task.run();
+            gameMetrics.recordDispatch(dispatchType, receivedAt);
+        };
+        if (command.isRoomScoped() && roomId != null) {
+            roomCommandExecutor.execute(roomId, measured,
+                    failure -> gameService.sendError(playerId, StompExceptionAdvice.UNEXPECTED_ERROR));
+        } else {
+            measured.run();
+        }
+    }
+}
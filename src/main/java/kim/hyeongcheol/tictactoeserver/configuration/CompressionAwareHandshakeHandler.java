@@ -0,0 +1,78 @@
+package kim.hyeongcheol.tictactoeserver.configuration;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.server.HandshakeFailureException;
+import org.springframework.web.socket.server.RequestUpgradeStrategy;
+import org.springframework.web.socket.server.standard.StandardWebSocketUpgradeStrategy;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.security.Principal;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+
+public class CompressionAwareHandshakeHandler extends DefaultHandshakeHandler {
+
+    public CompressionAwareHandshakeHandler(boolean compression) {
+        super(compression ? new StandardWebSocketUpgradeStrategy() : new UncompressedUpgradeStrategy(new StandardWebSocketUpgradeStrategy()));
+    }
+
+    private record UncompressedUpgradeStrategy(RequestUpgradeStrategy delegate) implements RequestUpgradeStrategy {
+
+        @Override
+        public String[] getSupportedVersions() {
+            return delegate.getSupportedVersions();
+        }
+
+        @Override
+        public List<WebSocketExtension> getSupportedExtensions(ServerHttpRequest request) {
+            return List.of();
+        }
+
+        @Override
+        public void upgrade(ServerHttpRequest request, ServerHttpResponse response, String selectedProtocol,
+                            List<WebSocketExtension> selectedExtensions, Principal user,
+                            WebSocketHandler wsHandler, Map<String, Object> attributes) throws HandshakeFailureException {
+            if (request instanceof ServletServerHttpRequest servletRequest) {
+                request = new ServletServerHttpRequest(new WithoutExtensionsRequest(servletRequest.getServletRequest()));
+            }
+            delegate.upgrade(request, response, selectedProtocol, selectedExtensions, user, wsHandler, attributes);
+        }
+    }
+
+    private static final class WithoutExtensionsRequest extends HttpServletRequestWrapper {
+
+        private WithoutExtensionsRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isExtensionsHeader(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isExtensionsHeader(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                    .filter(name -> !isExtensionsHeader(name))
+                    .toList());
+        }
+
+        private static boolean isExtensionsHeader(String name) {
+            return WebSocketHttpHeaders.SEC_WEBSOCKET_EXTENSIONS.equalsIgnoreCase(name);
+        }
+    }
+}
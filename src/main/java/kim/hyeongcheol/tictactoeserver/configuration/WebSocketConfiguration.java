@@ -1,25 +1,145 @@
 package kim.hyeongcheol.tictactoeserver.configuration;
 
+import kim.hyeongcheol.tictactoeserver.cluster.ClusterNode;
+import kim.hyeongcheol.tictactoeserver.cluster.ClusterSubscriptionTracker;
+import kim.hyeongcheol.tictactoeserver.messaging.CompactMessageConverter;
+import kim.hyeongcheol.tictactoeserver.messaging.CompactWireNegotiator;
+import kim.hyeongcheol.tictactoeserver.messaging.InboundRateLimiter;
+import kim.hyeongcheol.tictactoeserver.messaging.OutboundPayloadMetricsInterceptor;
+import kim.hyeongcheol.tictactoeserver.messaging.RoomSnapshotMessageConverter;
+import kim.hyeongcheol.tictactoeserver.messaging.SlowConsumerGuard;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.TaskExecutorRegistration;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.time.Duration;
+import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfiguration implements WebSocketMessageBrokerConfigurer {
 
+    private final OutboundPayloadMetricsInterceptor outboundPayloadMetricsInterceptor;
+    private final SlowConsumerGuard slowConsumerGuard;
+    private final InboundRateLimiter inboundRateLimiter;
+    private final ClusterNode clusterNode;
+    private final ClusterSubscriptionTracker clusterSubscriptionTracker;
+    private final CompactWireNegotiator compactWireNegotiator;
+
+    @Value("${game.websocket.executor:platform}")
+    private String channelExecutor;
+
+    @Value("${game.websocket.preserve-order:true}")
+    private boolean preserveOrder;
+
+    @Value("${game.websocket.native.compression:true}")
+    private boolean nativeCompression;
+
+    @Value("${game.websocket.send-time-limit:10s}")
+    private Duration sendTimeLimit;
+
+    @Value("${game.websocket.send-buffer-size-limit:512KB}")
+    private DataSize sendBufferSizeLimit;
+
+    @Value("${game.websocket.message-size-limit:64KB}")
+    private DataSize messageSizeLimit;
+
+    @Value("${game.websocket.inbound.core-pool-size:0}")
+    private int inboundCorePoolSize;
+
+    @Value("${game.websocket.inbound.max-pool-size:0}")
+    private int inboundMaxPoolSize;
+
+    @Value("${game.websocket.inbound.queue-capacity:0}")
+    private int inboundQueueCapacity;
+
+    @Value("${game.websocket.outbound.core-pool-size:0}")
+    private int outboundCorePoolSize;
+
+    @Value("${game.websocket.outbound.max-pool-size:0}")
+    private int outboundMaxPoolSize;
+
+    @Value("${game.websocket.outbound.queue-capacity:0}")
+    private int outboundQueueCapacity;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic", "/queue");
         config.setApplicationDestinationPrefixes("/app");
+        config.setPreservePublishOrder(preserveOrder);
+        config.configureBrokerChannel().interceptors(clusterNode);
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.setPreserveReceiveOrder(preserveOrder);
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
+        registry.addEndpoint("/ws-native")
+                .setAllowedOriginPatterns("*")
+                .setHandshakeHandler(new CompressionAwareHandshakeHandler(nativeCompression))
+                .addInterceptors(compactWireNegotiator);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit((int) sendTimeLimit.toMillis())
+                .setSendBufferSizeLimit((int) sendBufferSizeLimit.toBytes())
+                .setMessageSizeLimit((int) messageSizeLimit.toBytes())
+                .addDecoratorFactory(slowConsumerGuard);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        configureExecutor(registration, "clientInboundChannel-", inboundCorePoolSize, inboundMaxPoolSize, inboundQueueCapacity);
+        registration.interceptors(inboundRateLimiter, clusterSubscriptionTracker);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        configureExecutor(registration, "clientOutboundChannel-", outboundCorePoolSize, outboundMaxPoolSize, outboundQueueCapacity);
+        registration.interceptors(compactWireNegotiator, slowConsumerGuard, outboundPayloadMetricsInterceptor);
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        messageConverters.add(new CompactMessageConverter());
+        messageConverters.add(new RoomSnapshotMessageConverter());
+        return true;
+    }
+
+    private void configureExecutor(ChannelRegistration registration, String threadNamePrefix,
+                                   int corePoolSize, int maxPoolSize, int queueCapacity) {
+        if (channelExecutor.equals("virtual")) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+            executor.setVirtualThreads(true);
+            registration.executor(executor);
+            return;
+        }
+        if (!channelExecutor.equals("platform")) {
+            throw new IllegalArgumentException("game.websocket.executor must be platform or virtual: " + channelExecutor);
+        }
+        TaskExecutorRegistration executor = registration.taskExecutor();
+        if (corePoolSize > 0) {
+            executor.corePoolSize(corePoolSize);
+        }
+        if (maxPoolSize > 0) {
+            executor.maxPoolSize(maxPoolSize);
+        }
+        if (queueCapacity > 0) {
+            executor.queueCapacity(queueCapacity);
+        }
     }
-}
\ No newline at end of file
+}
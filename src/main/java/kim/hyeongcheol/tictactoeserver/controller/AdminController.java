@@ -0,0 +1,32 @@
+package kim.hyeongcheol.tictactoeserver.controller;
+
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import kim.hyeongcheol.tictactoeserver.service.RoomDumpService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "game.admin.enabled", havingValue = "true")
+public class AdminController {
+
+    private final RoomDumpService roomDumpService;
+
+    @GetMapping("/rooms")
+    public ResponseEntity<StreamingResponseBody> dumpRooms(@RequestParam(required = false) Set<GameRoom.GameState> state,
+                                                           @RequestParam(required = false) Integer players) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> roomDumpService.writeRooms(outputStream, state, players));
+    }
+}
@@ -1,15 +1,29 @@
 package kim.hyeongcheol.tictactoeserver.controller;
 
+import kim.hyeongcheol.tictactoeserver.cluster.RoomCommand;
+import kim.hyeongcheol.tictactoeserver.cluster.RoomCommandRouter;
 import kim.hyeongcheol.tictactoeserver.dto.GameMessage;
+import kim.hyeongcheol.tictactoeserver.dto.Leaderboard;
+import kim.hyeongcheol.tictactoeserver.dto.LeaderboardQuery;
+import kim.hyeongcheol.tictactoeserver.dto.LobbyQuery;
+import kim.hyeongcheol.tictactoeserver.dto.PlayerSessionInfo;
+import kim.hyeongcheol.tictactoeserver.dto.RoomInfo;
+import kim.hyeongcheol.tictactoeserver.dto.RoomPage;
 import kim.hyeongcheol.tictactoeserver.service.GameService;
+import kim.hyeongcheol.tictactoeserver.service.LobbyService;
+import kim.hyeongcheol.tictactoeserver.service.MatchmakingService;
+import kim.hyeongcheol.tictactoeserver.service.PlayerSessionService;
+import kim.hyeongcheol.tictactoeserver.service.RatingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
+import java.util.List;
 import java.util.Map;
 
 @Controller
@@ -17,34 +31,107 @@ import java.util.Map;
 public class GameController {
 
     private final GameService gameService;
+    private final LobbyService lobbyService;
+    private final MatchmakingService matchmakingService;
+    private final RoomCommandRouter roomCommandRouter;
+    private final PlayerSessionService playerSessionService;
+    private final RatingService ratingService;
 
     @MessageMapping("/requestSessionId")
     @SendToUser("/queue/session")
-    public String getSessionId(SimpMessageHeaderAccessor headerAccessor) {
-        return headerAccessor.getSessionId();
+    public PlayerSessionInfo getSessionId(@Payload(required = false) Map<String, String> payload, SimpMessageHeaderAccessor headerAccessor) {
+        String resumeToken = payload == null ? null : payload.get("resumeToken");
+        return playerSessionService.bind(headerAccessor.getSessionId(), resumeToken);
     }
 
     @MessageMapping("/lobby/rooms")
     public void getRoomList(SimpMessageHeaderAccessor headerAccessor) {
-        gameService.getRoomList(headerAccessor.getSessionId());
+        gameService.getRoomList(playerSessionId(headerAccessor));
+    }
+
+    @SubscribeMapping("/lobby/snapshot")
+    public List<RoomInfo> getLobbySnapshot() {
+        return lobbyService.snapshot();
+    }
+
+    @MessageMapping("/lobby/query")
+    @SendToUser("/queue/lobby/page")
+    public RoomPage queryRooms(@Payload LobbyQuery query, SimpMessageHeaderAccessor headerAccessor) {
+        return lobbyService.query(query, playerSessionId(headerAccessor));
     }
 
     @MessageMapping("/room/create")
     public void createRoom(@Payload Map<String, String> payload, SimpMessageHeaderAccessor headerAccessor) {
         String roomName = payload.get("roomName");
         String nickname = payload.get("nickname");
-        gameService.createRoom(roomName, nickname, headerAccessor.getSessionId());
+        gameService.createRoom(roomName, nickname, playerSessionId(headerAccessor));
     }
 
     @MessageMapping("/room/join")
     public void joinRoom(@Payload Map<String, String> payload, SimpMessageHeaderAccessor headerAccessor) {
-        String roomId = payload.get("roomId");
-        String nickname = payload.get("nickname");
-        gameService.joinRoom(roomId, nickname, headerAccessor.getSessionId());
+        roomCommandRouter.route(RoomCommand.JOIN, payload.get("roomId"), playerSessionId(headerAccessor), payload.get("nickname"));
+    }
+
+    @MessageMapping("/match/quick")
+    public void quickMatch(@Payload Map<String, String> payload, SimpMessageHeaderAccessor headerAccessor) {
+        matchmakingService.enqueue(payload.get("nickname"), playerSessionId(headerAccessor));
+    }
+
+    @MessageMapping("/match/cancel")
+    public void cancelQuickMatch(SimpMessageHeaderAccessor headerAccessor) {
+        matchmakingService.cancel(playerSessionId(headerAccessor));
     }
 
     @MessageMapping("/room/{roomId}")
     public void handleGameMessage(@DestinationVariable String roomId, @Payload GameMessage message, SimpMessageHeaderAccessor headerAccessor) {
-        gameService.processMessage(roomId, message, headerAccessor.getSessionId());
+        roomCommandRouter.route(RoomCommand.MESSAGE, roomId, playerSessionId(headerAccessor), message);
+    }
+
+    @MessageMapping("/history/recent")
+    public void getRecentGames(SimpMessageHeaderAccessor headerAccessor) {
+        gameService.getRecentGames(playerSessionId(headerAccessor));
+    }
+
+    @MessageMapping("/history/{gameId}")
+    public void replayGame(@DestinationVariable long gameId, SimpMessageHeaderAccessor headerAccessor) {
+        gameService.replayGame(gameId, playerSessionId(headerAccessor));
+    }
+
+    @MessageMapping("/leaderboard")
+    @SendToUser("/queue/leaderboard")
+    public Leaderboard getLeaderboard(@Payload(required = false) LeaderboardQuery query,
+                                      SimpMessageHeaderAccessor headerAccessor) {
+        return ratingService.leaderboard(playerSessionId(headerAccessor), query);
+    }
+
+    @MessageMapping("/room/{roomId}/ai")
+    public void inviteAi(@DestinationVariable String roomId, @Payload(required = false) Map<String, String> payload,
+                         SimpMessageHeaderAccessor headerAccessor) {
+        String difficulty = payload == null ? null : payload.get("difficulty");
+        roomCommandRouter.route(RoomCommand.INVITE_AI, roomId, playerSessionId(headerAccessor), difficulty);
+    }
+
+    @MessageMapping("/room/{roomId}/resync")
+    public void resyncRoom(@DestinationVariable String roomId, SimpMessageHeaderAccessor headerAccessor) {
+        roomCommandRouter.route(RoomCommand.RESYNC, roomId, playerSessionId(headerAccessor), null);
+    }
+
+    @MessageMapping("/room/{roomId}/rejoin")
+    public void rejoinRoom(@DestinationVariable String roomId, SimpMessageHeaderAccessor headerAccessor) {
+        roomCommandRouter.route(RoomCommand.REJOIN, roomId, playerSessionId(headerAccessor), null);
+    }
+
+    @MessageMapping("/room/{roomId}/spectate")
+    public void spectateRoom(@DestinationVariable String roomId, SimpMessageHeaderAccessor headerAccessor) {
+        roomCommandRouter.route(RoomCommand.SPECTATE, roomId, playerSessionId(headerAccessor), null);
+    }
+
+    @MessageMapping("/room/spectate/stop")
+    public void stopSpectating(SimpMessageHeaderAccessor headerAccessor) {
+        roomCommandRouter.route(RoomCommand.STOP_SPECTATING, null, playerSessionId(headerAccessor), null);
+    }
+
+    private String playerSessionId(SimpMessageHeaderAccessor headerAccessor) {
+        return playerSessionService.playerIdOf(headerAccessor.getSessionId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package kim.hyeongcheol.tictactoeserver.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class GameHistoryEntry {
+    private long gameId;
+    private String playerXSessionId;
+    private String playerXNickname;
+    private String playerOSessionId;
+    private String playerONickname;
+    private Result result;
+    private boolean forfeit;
+    private int[] moves;
+    private long endedAt;
+
+    public enum Result {
+        DRAW,
+        X_WIN,
+        O_WIN
+    }
+}
@@ -1,9 +1,12 @@
 package kim.hyeongcheol.tictactoeserver.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.List;
+
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @Data
 @Builder
@@ -21,6 +24,9 @@ public class GameMessage {
         GAME_START,
         GAME_UPDATE,
         GAME_END,
+        SYNC,
+        ROOM_CLOSED,
+        BATCH,
     }
 
     private MessageType type;
@@ -29,6 +35,11 @@ public class GameMessage {
     private String content;
     private PlayerRole senderRole;
     private MovePayload move;
-    private RoomStateDto roomState;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private RoomSnapshot roomState;
     private String kickTargetSessionId;
+    private Long sequence;
+    private Character mark;
+    private String nextPlayerSessionId;
+    private List<GameMessage> messages;
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package kim.hyeongcheol.tictactoeserver.dto;
+
+import lombok.Data;
+
+@Data
+public class LeaderboardQuery {
+    private Integer limit;
+}
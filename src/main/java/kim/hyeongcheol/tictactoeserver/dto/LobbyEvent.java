@@ -0,0 +1,21 @@
+package kim.hyeongcheol.tictactoeserver.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@Builder
+public class LobbyEvent {
+
+    public enum EventType {
+        ROOM_CREATED,
+        ROOM_UPDATED,
+        ROOM_REMOVED,
+    }
+
+    private EventType type;
+    private String roomId;
+    private RoomInfo room;
+}
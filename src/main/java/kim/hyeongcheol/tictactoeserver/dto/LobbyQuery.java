@@ -0,0 +1,18 @@
+package kim.hyeongcheol.tictactoeserver.dto;
+
+import lombok.Data;
+
+@Data
+public class LobbyQuery {
+
+    public enum Filter {
+        JOINABLE,
+        NEWEST,
+        NAME_PREFIX,
+    }
+
+    private Filter filter;
+    private String prefix;
+    private String cursor;
+    private Integer limit;
+}
@@ -1,8 +1,12 @@
 package kim.hyeongcheol.tictactoeserver.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class MovePayload {
     private int index;
 }
\ No newline at end of file
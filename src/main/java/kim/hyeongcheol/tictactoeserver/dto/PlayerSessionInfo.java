@@ -0,0 +1,15 @@
+package kim.hyeongcheol.tictactoeserver.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@Builder
+public class PlayerSessionInfo {
+    private String sessionId;
+    private String resumeToken;
+    private boolean resumed;
+    private String roomId;
+}
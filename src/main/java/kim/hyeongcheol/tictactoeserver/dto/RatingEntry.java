@@ -0,0 +1,16 @@
+package kim.hyeongcheol.tictactoeserver.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class RatingEntry {
+    private long rank;
+    private String playerId;
+    private String nickname;
+    private int rating;
+    private int wins;
+    private int losses;
+    private int draws;
+}
@@ -10,4 +10,5 @@ public class RoomInfo {
     private String roomName;
     private long playerCount;
     private String hostNickname;
+    private long version;
 }
\ No newline at end of file
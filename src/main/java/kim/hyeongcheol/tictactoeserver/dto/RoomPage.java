@@ -0,0 +1,16 @@
+package kim.hyeongcheol.tictactoeserver.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@Builder
+public class RoomPage {
+    private LobbyQuery.Filter filter;
+    private List<RoomInfo> rooms;
+    private String nextCursor;
+}
@@ -0,0 +1,46 @@
+package kim.hyeongcheol.tictactoeserver.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import lombok.Getter;
+
+import java.io.IOException;
+
+@Getter
+@JsonSerialize(using = RoomSnapshot.Serializer.class)
+public class RoomSnapshot {
+    private final long version;
+    private final RoomStateDto roomState;
+    private final SerializedString json;
+    private volatile byte[] compact;
+
+    public RoomSnapshot(long version, RoomStateDto roomState, String json) {
+        this.version = version;
+        this.roomState = roomState;
+        this.json = new SerializedString(json);
+        this.json.asUnquotedUTF8();
+    }
+
+    public byte[] toJsonBytes() {
+        return json.asUnquotedUTF8();
+    }
+
+    public void cacheCompact(byte[] compact) {
+        this.compact = compact;
+    }
+
+    static class Serializer extends StdSerializer<RoomSnapshot> {
+
+        Serializer() {
+            super(RoomSnapshot.class);
+        }
+
+        @Override
+        public void serialize(RoomSnapshot value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeRawValue(value.json);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package kim.hyeongcheol.tictactoeserver.executor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "game.executor.mode", havingValue = "direct")
+public class DirectRoomCommandExecutor implements RoomCommandExecutor {
+
+    @Override
+    public void execute(String roomId, Runnable command) {
+        command.run();
+    }
+
+    @Override
+    public void execute(String roomId, Runnable command, Consumer<RuntimeException> onFailure) {
+        try {
+            command.run();
+        } catch (RuntimeException e) {
+            onFailure.accept(e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package kim.hyeongcheol.tictactoeserver.executor;
+
+import java.util.function.Consumer;
+
+public interface RoomCommandExecutor {
+    void execute(String roomId, Runnable command);
+
+    void execute(String roomId, Runnable command, Consumer<RuntimeException> onFailure);
+}
@@ -0,0 +1,67 @@
+package kim.hyeongcheol.tictactoeserver.executor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "game.executor.mode", havingValue = "striped", matchIfMissing = true)
+public class StripedRoomCommandExecutor implements RoomCommandExecutor, DisposableBean {
+
+    private final ExecutorService[] lanes;
+
+    public StripedRoomCommandExecutor(@Value("${game.executor.lanes:0}") int lanes) {
+        int laneCount = lanes > 0 ? lanes : Runtime.getRuntime().availableProcessors();
+        AtomicInteger laneIndex = new AtomicInteger();
+        this.lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            this.lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "room-lane-" + laneIndex.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @Override
+    public void execute(String roomId, Runnable command) {
+        execute(roomId, command, failure -> {});
+    }
+
+    @Override
+    public void execute(String roomId, Runnable command, Consumer<RuntimeException> onFailure) {
+        laneOf(roomId).execute(() -> {
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                log.error("Room command failed: roomId={}", roomId, e);
+                try {
+                    onFailure.accept(e);
+                } catch (RuntimeException reportFailure) {
+                    log.error("Room command failure report failed: roomId={}", roomId, reportFailure);
+                }
+            }
+        });
+    }
+
+    private ExecutorService laneOf(String roomId) {
+        int hash = roomId.hashCode();
+        hash ^= (hash >>> 16);
+        return lanes[Math.floorMod(hash, lanes.length)];
+    }
+
+    @Override
+    public void destroy() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
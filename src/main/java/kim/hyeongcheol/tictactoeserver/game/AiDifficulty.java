@@ -0,0 +1,25 @@
+package kim.hyeongcheol.tictactoeserver.game;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@Getter
+@RequiredArgsConstructor
+public enum AiDifficulty {
+    EASY("쉬움", 0.6),
+    NORMAL("보통", 0.25),
+    HARD("어려움", 0.0);
+
+    private final String label;
+    private final double randomMoveRate;
+
+    public int chooseMove(TicTacToeGame game) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (randomMoveRate > 0 && random.nextDouble() < randomMoveRate) {
+            return PerfectPlayTable.randomMove(game.getXMask(), game.getOMask(), random);
+        }
+        return PerfectPlayTable.bestMove(game.getXMask(), game.getOMask(), random);
+    }
+}
@@ -1,7 +1,8 @@
 package kim.hyeongcheol.tictactoeserver.game;
 
+import kim.hyeongcheol.tictactoeserver.dto.RoomSnapshot;
+import kim.hyeongcheol.tictactoeserver.executor.HashedTimingWheel;
 import lombok.Getter;
-import lombok.Setter;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -15,12 +16,20 @@ public class GameRoom {
 
     private final Map<String, String> players = new ConcurrentHashMap<>();
 
-    private final Set<String> readyPlayerSessionIds = Collections.synchronizedSet(new HashSet<>());
+    private final Set<String> readyPlayerSessionIds = ConcurrentHashMap.newKeySet();
+    private final Set<String> spectatorSessionIds = ConcurrentHashMap.newKeySet();
     private TicTacToeGame game;
 
-    @Setter
     private GameState gameState = GameState.WAITING;
 
+    private long sequence;
+    private long version;
+    private RoomSnapshot snapshot;
+    private long lastActivityNanos = System.nanoTime();
+    private HashedTimingWheel.Timeout turnTimeout;
+    private String aiSessionId;
+    private AiDifficulty aiDifficulty;
+
     public enum GameState {
         WAITING,
         PLAYING,
@@ -35,15 +44,104 @@ public class GameRoom {
         players.put(hostSessionId, hostNickname);
     }
 
+    public static GameRoom restore(String roomId, String roomName, String hostNickname, String hostSessionId,
+                                   Map<String, String> players, Set<String> readyPlayerSessionIds, GameState gameState,
+                                   TicTacToeGame game, long sequence, long version) {
+        GameRoom room = new GameRoom(roomId, roomName, hostNickname, hostSessionId);
+        room.players.clear();
+        room.players.putAll(players);
+        room.readyPlayerSessionIds.addAll(readyPlayerSessionIds);
+        room.gameState = gameState;
+        room.game = game;
+        room.sequence = sequence;
+        room.version = version;
+        return room;
+    }
+
     public void addPlayer(String sessionId, String nickname) {
         if (players.size() < 2) {
             players.put(sessionId, nickname);
+            version++;
         }
     }
 
     public void removePlayer(String sessionId) {
         players.remove(sessionId);
         readyPlayerSessionIds.clear();
+        if (sessionId.equals(aiSessionId)) {
+            aiSessionId = null;
+            aiDifficulty = null;
+        }
+        version++;
+    }
+
+    public boolean seatAi(String sessionId, String nickname, AiDifficulty difficulty) {
+        if (players.size() != 1 || gameState == GameState.PLAYING) {
+            return false;
+        }
+        players.put(sessionId, nickname);
+        readyPlayerSessionIds.add(sessionId);
+        restoreAi(sessionId, difficulty);
+        version++;
+        return true;
+    }
+
+    public void restoreAi(String sessionId, AiDifficulty difficulty) {
+        this.aiSessionId = sessionId;
+        this.aiDifficulty = difficulty;
+    }
+
+    public boolean hasAi() {
+        return aiSessionId != null;
+    }
+
+    public boolean isAiTurn() {
+        return aiSessionId != null && game != null && !game.isGameOver()
+                && aiSessionId.equals(game.getCurrentPlayerSessionId());
+    }
+
+    public boolean addSpectator(String sessionId) {
+        return !players.containsKey(sessionId) && spectatorSessionIds.add(sessionId);
+    }
+
+    public void removeSpectator(String sessionId) {
+        spectatorSessionIds.remove(sessionId);
+    }
+
+    public Set<String> getReadyPlayerSessionIds() {
+        return Set.copyOf(readyPlayerSessionIds);
+    }
+
+    public int getReadyCount() {
+        return readyPlayerSessionIds.size();
+    }
+
+    public int getSpectatorCount() {
+        return spectatorSessionIds.size();
+    }
+
+    public void markReady(String sessionId) {
+        if (readyPlayerSessionIds.add(sessionId)) {
+            version++;
+        }
+    }
+
+    public void unmarkReady(String sessionId) {
+        if (readyPlayerSessionIds.remove(sessionId)) {
+            version++;
+        }
+    }
+
+    public void clearReady() {
+        if (!readyPlayerSessionIds.isEmpty()) {
+            readyPlayerSessionIds.clear();
+            version++;
+        }
+    }
+
+    public void setGameState(GameState gameState) {
+        this.gameState = gameState;
+        version++;
     }
 
     public void startGame() {
@@ -52,11 +150,48 @@ public class GameRoom {
             this.game = new TicTacToeGame(playerSessionIds[0], playerSessionIds[1]);
             this.gameState = GameState.PLAYING;
             this.readyPlayerSessionIds.clear();
+            version++;
+        }
+    }
+
+    public boolean makeMove(int index, String sessionId) {
+        if (game == null || !game.makeMove(index, sessionId)) {
+            return false;
         }
+        version++;
+        return true;
+    }
+
+    public boolean forfeit(String loserSessionId) {
+        if (game == null || !game.forfeit(loserSessionId)) {
+            return false;
+        }
+        version++;
+        return true;
+    }
+
+    public void touch() {
+        this.lastActivityNanos = System.nanoTime();
+    }
+
+    public void replaceTurnTimeout(HashedTimingWheel.Timeout turnTimeout) {
+        if (this.turnTimeout != null) {
+            this.turnTimeout.cancel();
+        }
+        this.turnTimeout = turnTimeout;
+    }
+
+    public long nextSequence() {
+        return ++sequence;
     }
 
     public void resetForRematch() {
         this.game = null;
         this.gameState = GameState.WAITING;
+        version++;
+    }
+
+    public void cacheSnapshot(RoomSnapshot snapshot) {
+        this.snapshot = snapshot;
     }
 }
\ No newline at end of file
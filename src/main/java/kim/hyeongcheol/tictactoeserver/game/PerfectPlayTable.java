@@ -0,0 +1,113 @@
+package kim.hyeongcheol.tictactoeserver.game;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+public final class PerfectPlayTable {
+
+    private static final int STATE_COUNT = 19683;
+    private static final int UNSOLVED = Integer.MIN_VALUE;
+
+    private static final int[] TERNARY = new int[TicTacToeGame.FULL_BOARD + 1];
+    private static final short[] OPTIMAL_MOVES = new short[STATE_COUNT];
+    private static final byte[] SCORES = new byte[STATE_COUNT];
+    private static final int DECISION_STATES;
+
+    static {
+        for (int mask = 0; mask <= TicTacToeGame.FULL_BOARD; mask++) {
+            int value = 0;
+            for (int cell = TicTacToeGame.CELL_COUNT - 1; cell >= 0; cell--) {
+                value = value * 3 + ((mask >> cell) & 1);
+            }
+            TERNARY[mask] = value;
+        }
+        int[] scores = new int[STATE_COUNT];
+        Arrays.fill(scores, UNSOLVED);
+        solve(0, 0, scores);
+        int decisions = 0;
+        for (int i = 0; i < STATE_COUNT; i++) {
+            if (scores[i] != UNSOLVED) {
+                SCORES[i] = (byte) scores[i];
+            }
+            if (OPTIMAL_MOVES[i] != 0) {
+                decisions++;
+            }
+        }
+        DECISION_STATES = decisions;
+    }
+
+    private PerfectPlayTable() {
+    }
+
+    public static int optimalMoves(int xMask, int oMask) {
+        return OPTIMAL_MOVES[indexOf(xMask, oMask)];
+    }
+
+    public static int score(int xMask, int oMask) {
+        return SCORES[indexOf(xMask, oMask)];
+    }
+
+    public static int bestMove(int xMask, int oMask, RandomGenerator random) {
+        return pick(optimalMoves(xMask, oMask), random);
+    }
+
+    public static int randomMove(int xMask, int oMask, RandomGenerator random) {
+        return pick(~(xMask | oMask) & TicTacToeGame.FULL_BOARD, random);
+    }
+
+    public static int decisionStates() {
+        return DECISION_STATES;
+    }
+
+    private static int indexOf(int xMask, int oMask) {
+        return TERNARY[xMask & TicTacToeGame.FULL_BOARD] + 2 * TERNARY[oMask & TicTacToeGame.FULL_BOARD];
+    }
+
+    private static int pick(int moves, RandomGenerator random) {
+        int count = Integer.bitCount(moves);
+        if (count == 0) {
+            return -1;
+        }
+        for (int skip = random.nextInt(count); skip > 0; skip--) {
+            moves &= moves - 1;
+        }
+        return Integer.numberOfTrailingZeros(moves);
+    }
+
+    private static int solve(int xMask, int oMask, int[] scores) {
+        int index = indexOf(xMask, oMask);
+        if (scores[index] != UNSOLVED) {
+            return scores[index];
+        }
+        int occupied = xMask | oMask;
+        boolean xToMove = Integer.bitCount(xMask) == Integer.bitCount(oMask);
+        int best = Integer.MIN_VALUE;
+        int bestMoves = 0;
+        if (!TicTacToeGame.isWinningMask(xMask) && !TicTacToeGame.isWinningMask(oMask) && occupied != TicTacToeGame.FULL_BOARD) {
+            for (int cell = 0; cell < TicTacToeGame.CELL_COUNT; cell++) {
+                int bit = 1 << cell;
+                if ((occupied & bit) != 0) {
+                    continue;
+                }
+                int nextX = xToMove ? xMask | bit : xMask;
+                int nextO = xToMove ? oMask : oMask | bit;
+                int mover = xToMove ? nextX : nextO;
+                int value = TicTacToeGame.isWinningMask(mover)
+                        ? TicTacToeGame.CELL_COUNT + 1 - Integer.bitCount(occupied)
+                        : -solve(nextX, nextO, scores);
+                if (value > best) {
+                    best = value;
+                    bestMoves = bit;
+                } else if (value == best) {
+                    bestMoves |= bit;
+                }
+            }
+        }
+        if (bestMoves == 0) {
+            best = 0;
+        }
+        scores[index] = best;
+        OPTIMAL_MOVES[index] = (short) bestMoves;
+        return best;
+    }
+}
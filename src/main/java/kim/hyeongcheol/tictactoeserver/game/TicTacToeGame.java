@@ -2,12 +2,35 @@ package kim.hyeongcheol.tictactoeserver.game;
 
 import lombok.Getter;
 
-import java.util.Arrays;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Getter
 public class TicTacToeGame {
-    private final Character[] board = new Character[9];
+    public static final int CELL_COUNT = 9;
+    public static final int FULL_BOARD = (1 << CELL_COUNT) - 1;
+    public static final int MOVE_BITS = 4;
+
+    private static final int[] WIN_MASKS = {
+            0b000_000_111, 0b000_111_000, 0b111_000_000,
+            0b001_001_001, 0b010_010_010, 0b100_100_100,
+            0b100_010_001, 0b001_010_100
+    };
+    private static final boolean[] WINNING_MASKS = new boolean[FULL_BOARD + 1];
+
+    static {
+        for (int mask = 0; mask <= FULL_BOARD; mask++) {
+            for (int winMask : WIN_MASKS) {
+                if ((mask & winMask) == winMask) {
+                    WINNING_MASKS[mask] = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    private int xMask;
+    private int oMask;
+    private long moveHistory;
     private final String playerXSessionId;
     private final String playerOSessionId;
     private String currentPlayerSessionId;
@@ -15,14 +38,8 @@ public class TicTacToeGame {
 
     private boolean gameOver;
 
-    private final int[][] winConditions = {
-            {0, 1, 2}, {3, 4, 5}, {6, 7, 8},
-            {0, 3, 6}, {1, 4, 7}, {2, 5, 8},
-            {0, 4, 8}, {2, 4, 6}
-    };
-
     public TicTacToeGame(String player1SessionId, String player2SessionId) {
-        if (new Random().nextBoolean()) {
+        if (ThreadLocalRandom.current().nextBoolean()) {
             this.playerXSessionId = player1SessionId;
             this.playerOSessionId = player2SessionId;
         } else {
@@ -30,37 +47,95 @@ public class TicTacToeGame {
             this.playerOSessionId = player1SessionId;
         }
         this.currentPlayerSessionId = this.playerXSessionId;
-        Arrays.fill(board, null);
+    }
+
+    private TicTacToeGame(String playerXSessionId, String playerOSessionId, String currentPlayerSessionId) {
+        this.playerXSessionId = playerXSessionId;
+        this.playerOSessionId = playerOSessionId;
+        this.currentPlayerSessionId = currentPlayerSessionId;
+    }
+
+    public static TicTacToeGame restore(String playerXSessionId, String playerOSessionId, int xMask, int oMask,
+                                        long moveHistory, String currentPlayerSessionId, String winnerSessionId,
+                                        boolean gameOver) {
+        TicTacToeGame game = new TicTacToeGame(playerXSessionId, playerOSessionId, currentPlayerSessionId);
+        game.xMask = xMask & FULL_BOARD;
+        game.oMask = oMask & FULL_BOARD;
+        game.moveHistory = moveHistory;
+        game.winnerSessionId = winnerSessionId;
+        game.gameOver = gameOver;
+        return game;
     }
 
     public boolean makeMove(int index, String sessionId) {
-        if (gameOver || board[index] != null || !sessionId.equals(currentPlayerSessionId)) {
+        if (gameOver || index < 0 || index >= CELL_COUNT || !sessionId.equals(currentPlayerSessionId)) {
+            return false;
+        }
+        int cell = 1 << index;
+        if (((xMask | oMask) & cell) != 0) {
             return false;
         }
 
-        board[index] = (sessionId.equals(playerXSessionId)) ? 'X' : 'O';
+        moveHistory |= (long) index << (MOVE_BITS * getMoveCount());
+        boolean isPlayerX = sessionId.equals(playerXSessionId);
+        int playerMask = isPlayerX ? (xMask |= cell) : (oMask |= cell);
 
-        if (checkWinner()) {
+        if (WINNING_MASKS[playerMask]) {
             this.winnerSessionId = sessionId;
             this.gameOver = true;
-        } else if (isBoardFull()) {
+        } else if ((xMask | oMask) == FULL_BOARD) {
             this.gameOver = true;
         } else {
-            this.currentPlayerSessionId = (currentPlayerSessionId.equals(playerXSessionId)) ? playerOSessionId : playerXSessionId;
+            this.currentPlayerSessionId = isPlayerX ? playerOSessionId : playerXSessionId;
         }
         return true;
     }
 
-    private boolean checkWinner() {
-        for (var condition : winConditions) {
-            if (board[condition[0]] != null && board[condition[0]] == board[condition[1]] && board[condition[1]] == board[condition[2]]) {
-                return true;
+    public boolean forfeit(String loserSessionId) {
+        if (gameOver) {
+            return false;
+        }
+        if (loserSessionId.equals(playerXSessionId)) {
+            this.winnerSessionId = playerOSessionId;
+        } else if (loserSessionId.equals(playerOSessionId)) {
+            this.winnerSessionId = playerXSessionId;
+        } else {
+            return false;
+        }
+        this.gameOver = true;
+        return true;
+    }
+
+    public Character[] getBoard() {
+        Character[] board = new Character[CELL_COUNT];
+        for (int i = 0; i < CELL_COUNT; i++) {
+            int cell = 1 << i;
+            if ((xMask & cell) != 0) {
+                board[i] = 'X';
+            } else if ((oMask & cell) != 0) {
+                board[i] = 'O';
             }
         }
-        return false;
+        return board;
+    }
+
+    public int getMoveCount() {
+        return Integer.bitCount(xMask | oMask);
+    }
+
+    public int[] getMoves() {
+        return decodeMoves(moveHistory, getMoveCount());
+    }
+
+    public static int[] decodeMoves(long moveHistory, int moveCount) {
+        int[] moves = new int[moveCount];
+        for (int i = 0; i < moveCount; i++) {
+            moves[i] = (int) (moveHistory >>> (MOVE_BITS * i)) & 0xF;
+        }
+        return moves;
     }
 
-    private boolean isBoardFull() {
-        return Arrays.stream(board).allMatch(cell -> cell != null);
+    public static boolean isWinningMask(int mask) {
+        return WINNING_MASKS[mask & FULL_BOARD];
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,11 @@
 package kim.hyeongcheol.tictactoeserver.listener;
 
-import kim.hyeongcheol.tictactoeserver.service.GameService;
+import kim.hyeongcheol.tictactoeserver.cluster.RoomCommand;
+import kim.hyeongcheol.tictactoeserver.cluster.RoomCommandRouter;
+import kim.hyeongcheol.tictactoeserver.service.MatchmakingService;
+import kim.hyeongcheol.tictactoeserver.service.PlayerSessionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.stereotype.Component;
@@ -11,7 +15,9 @@ import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 @RequiredArgsConstructor
 public class WebSocketEventListener {
 
-    private final GameService gameService;
+    private final RoomCommandRouter roomCommandRouter;
+    private final MatchmakingService matchmakingService;
+    private final PlayerSessionService playerSessionService;
 
     @EventListener
     public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
@@ -19,7 +25,19 @@ public class WebSocketEventListener {
         String sessionId = headerAccessor.getSessionId();
 
         if (sessionId != null) {
-            gameService.handleDisconnect(sessionId);
+            String playerSessionId = playerSessionService.playerIdOf(sessionId);
+            matchmakingService.cancel(playerSessionId);
+            roomCommandRouter.route(RoomCommand.STOP_SPECTATING, null, playerSessionId, null);
+            playerSessionService.detach(sessionId, this::disconnectExpired);
         }
     }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreDetachedSessions() {
+        playerSessionService.restoreDetachedSessions(this::disconnectExpired);
+    }
+
+    private void disconnectExpired(String expiredPlayerSessionId) {
+        roomCommandRouter.route(RoomCommand.DISCONNECT, null, expiredPlayerSessionId, null);
+    }
 }
\ No newline at end of file
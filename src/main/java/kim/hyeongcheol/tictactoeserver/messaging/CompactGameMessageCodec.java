@@ -0,0 +1,453 @@
+package kim.hyeongcheol.tictactoeserver.messaging;
+
+import kim.hyeongcheol.tictactoeserver.dto.GameMessage;
+import kim.hyeongcheol.tictactoeserver.dto.MovePayload;
+import kim.hyeongcheol.tictactoeserver.dto.PlayerInfo;
+import kim.hyeongcheol.tictactoeserver.dto.PlayerRole;
+import kim.hyeongcheol.tictactoeserver.dto.RoomSnapshot;
+import kim.hyeongcheol.tictactoeserver.dto.RoomStateDto;
+import kim.hyeongcheol.tictactoeserver.dto.TicTacToeGameDto;
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import kim.hyeongcheol.tictactoeserver.repository.CompactId;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+public final class CompactGameMessageCodec {
+
+    public static final MimeType MIME_TYPE = new MimeType(MimeTypeUtils.APPLICATION_OCTET_STREAM, Map.of("codec", "tictactoe"));
+
+    private static final GameMessage.MessageType[] TYPES = GameMessage.MessageType.values();
+    private static final PlayerRole[] ROLES = PlayerRole.values();
+    private static final GameRoom.GameState[] GAME_STATES = GameRoom.GameState.values();
+
+    private static final int ROOM_STATE_FRAME = 0x7F;
+
+    private static final int ROOM_ID = 1;
+    private static final int SENDER = 1 << 1;
+    private static final int CONTENT = 1 << 2;
+    private static final int SENDER_ROLE = 1 << 3;
+    private static final int MOVE = 1 << 4;
+    private static final int ROOM_STATE = 1 << 5;
+    private static final int KICK_TARGET = 1 << 6;
+    private static final int SEQUENCE = 1 << 7;
+    private static final int MARK = 1 << 8;
+    private static final int NEXT_PLAYER = 1 << 9;
+    private static final int MESSAGES = 1 << 10;
+    private static final int ALL_FIELDS = (MESSAGES << 1) - 1;
+    private static final int CLIENT_FIELDS = ALL_FIELDS & ~(ROOM_STATE | MESSAGES);
+
+    private static final int HAS_GAME = 1 << 2;
+    private static final int BOARD_BITS = 9;
+    private static final int CURRENT_O = 1 << 18;
+    private static final int HAS_CURRENT = 1 << 19;
+    private static final int WINNER_SHIFT = 20;
+    private static final int GAME_OVER = 1 << 22;
+
+    private CompactGameMessageCodec() {
+    }
+
+    public static boolean isCompact(MessageHeaders headers) {
+        Object header = headers.get(MessageHeaders.CONTENT_TYPE);
+        if (header == null) {
+            return false;
+        }
+        MimeType contentType = header instanceof MimeType mimeType ? mimeType : MimeTypeUtils.parseMimeType(header.toString());
+        return MIME_TYPE.equalsTypeAndSubtype(contentType) && MIME_TYPE.getParameter("codec").equals(contentType.getParameter("codec"));
+    }
+
+    public static boolean hasType(byte[] payload, GameMessage.MessageType type) {
+        return payload.length > 0 && payload[0] == type.ordinal();
+    }
+
+    public static boolean isRoomState(byte[] payload) {
+        return payload.length > 0 && payload[0] == ROOM_STATE_FRAME;
+    }
+
+    public static byte[] encode(GameMessage message) {
+        Writer out = new Writer(64);
+        writeMessage(out, message);
+        return out.toByteArray();
+    }
+
+    public static byte[] encode(RoomSnapshot snapshot) {
+        byte[] compact = snapshot.getCompact();
+        if (compact == null) {
+            Writer out = new Writer(96);
+            out.writeByte(ROOM_STATE_FRAME);
+            writeRoomState(out, snapshot.getRoomState());
+            compact = out.toByteArray();
+            snapshot.cacheCompact(compact);
+        }
+        return compact;
+    }
+
+    public static GameMessage decode(byte[] payload, Function<RoomStateDto, RoomSnapshot> snapshots) {
+        Reader in = new Reader(payload);
+        GameMessage message = readMessage(in, snapshots, ALL_FIELDS);
+        in.expectEnd();
+        return message;
+    }
+
+    public static GameMessage decodeClientMessage(byte[] payload) {
+        Reader in = new Reader(payload);
+        GameMessage message = readMessage(in, roomState -> null, CLIENT_FIELDS);
+        in.expectEnd();
+        return message;
+    }
+
+    public static RoomStateDto decodeRoomState(byte[] payload) {
+        Reader in = new Reader(payload);
+        if (in.readByte() != ROOM_STATE_FRAME) {
+            throw new IllegalArgumentException("Not a compact room state frame");
+        }
+        RoomStateDto roomState = readRoomState(in);
+        in.expectEnd();
+        return roomState;
+    }
+
+    private static void writeMessage(Writer out, GameMessage message) {
+        int fields = (message.getRoomId() != null ? ROOM_ID : 0)
+                | (message.getSender() != null ? SENDER : 0)
+                | (message.getContent() != null ? CONTENT : 0)
+                | (message.getSenderRole() != null ? SENDER_ROLE : 0)
+                | (message.getMove() != null ? MOVE : 0)
+                | (message.getRoomState() != null ? ROOM_STATE : 0)
+                | (message.getKickTargetSessionId() != null ? KICK_TARGET : 0)
+                | (message.getSequence() != null ? SEQUENCE : 0)
+                | (message.getMark() != null ? MARK : 0)
+                | (message.getNextPlayerSessionId() != null ? NEXT_PLAYER : 0)
+                | (message.getMessages() != null ? MESSAGES : 0);
+        out.writeByte(message.getType() == null ? TYPES.length : message.getType().ordinal());
+        out.writeVarLong(fields);
+        if ((fields & ROOM_ID) != 0) out.writeId(message.getRoomId());
+        if ((fields & SENDER) != 0) out.writeString(message.getSender());
+        if ((fields & CONTENT) != 0) out.writeString(message.getContent());
+        if ((fields & SENDER_ROLE) != 0) out.writeByte(message.getSenderRole().ordinal());
+        if ((fields & MOVE) != 0) out.writeVarLong(message.getMove().getIndex());
+        if ((fields & ROOM_STATE) != 0) {
+            byte[] roomState = encode(message.getRoomState());
+            out.writeBytes(roomState, 1, roomState.length - 1);
+        }
+        if ((fields & KICK_TARGET) != 0) out.writeId(message.getKickTargetSessionId());
+        if ((fields & SEQUENCE) != 0) out.writeVarLong(message.getSequence());
+        if ((fields & MARK) != 0) out.writeVarLong(message.getMark());
+        if ((fields & NEXT_PLAYER) != 0) out.writeId(message.getNextPlayerSessionId());
+        if ((fields & MESSAGES) != 0) {
+            out.writeVarLong(message.getMessages().size());
+            for (GameMessage nested : message.getMessages()) {
+                writeMessage(out, nested);
+            }
+        }
+    }
+
+    private static GameMessage readMessage(Reader in, Function<RoomStateDto, RoomSnapshot> snapshots, int allowedFields) {
+        int type = in.readByte();
+        long fields = in.readVarLong();
+        if ((fields & ~allowedFields) != 0) {
+            throw new IllegalArgumentException("Unexpected compact message fields: " + Long.toBinaryString(fields & ~allowedFields));
+        }
+        GameMessage.GameMessageBuilder message = GameMessage.builder()
+                .type(type == TYPES.length ? null : in.element(TYPES, type));
+        if ((fields & ROOM_ID) != 0) message.roomId(in.readId());
+        if ((fields & SENDER) != 0) message.sender(in.readString());
+        if ((fields & CONTENT) != 0) message.content(in.readString());
+        if ((fields & SENDER_ROLE) != 0) message.senderRole(in.element(ROLES, in.readByte()));
+        if ((fields & MOVE) != 0) message.move(new MovePayload((int) in.readVarLong()));
+        if ((fields & ROOM_STATE) != 0) message.roomState(snapshots.apply(readRoomState(in)));
+        if ((fields & KICK_TARGET) != 0) message.kickTargetSessionId(in.readId());
+        if ((fields & SEQUENCE) != 0) message.sequence(in.readVarLong());
+        if ((fields & MARK) != 0) message.mark((char) in.readVarLong());
+        if ((fields & NEXT_PLAYER) != 0) message.nextPlayerSessionId(in.readId());
+        if ((fields & MESSAGES) != 0) {
+            int count = in.readCount();
+            List<GameMessage> messages = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                messages.add(readMessage(in, snapshots, allowedFields & ~MESSAGES));
+            }
+            message.messages(messages);
+        }
+        return message.build();
+    }
+
+    private static void writeRoomState(Writer out, RoomStateDto roomState) {
+        TicTacToeGameDto game = roomState.getGame();
+        out.writeId(roomState.getRoomId());
+        out.writeString(roomState.getRoomName());
+        out.writeString(roomState.getHostNickname());
+        out.writeByte(roomState.getGameState().ordinal() | (game != null ? HAS_GAME : 0));
+
+        List<PlayerInfo> players = roomState.getPlayers();
+        Set<String> ready = roomState.getReadyPlayerSessionIds();
+        out.writeVarLong(players.size());
+        long readyMask = 0;
+        int readyPlayers = 0;
+        for (int i = 0; i < players.size(); i++) {
+            PlayerInfo player = players.get(i);
+            out.writeId(player.getSessionId());
+            out.writeString(player.getNickname());
+            out.writeByte(player.getRole().ordinal());
+            if (i < Long.SIZE && ready.contains(player.getSessionId())) {
+                readyMask |= 1L << i;
+                readyPlayers++;
+            }
+        }
+        out.writeVarLong(readyMask);
+        out.writeVarLong(ready.size() - readyPlayers);
+        if (ready.size() > readyPlayers) {
+            for (String sessionId : ready) {
+                if (!isReadyPlayer(players, readyMask, sessionId)) {
+                    out.writeId(sessionId);
+                }
+            }
+        }
+
+        if (game == null) return;
+
+        Character[] board = game.getBoard();
+        int xMask = 0;
+        int oMask = 0;
+        for (int i = 0; i < board.length; i++) {
+            if (board[i] == null) continue;
+            if (board[i] == 'X') xMask |= 1 << i;
+            else oMask |= 1 << i;
+        }
+        String current = game.getCurrentPlayerSessionId();
+        String winner = game.getWinnerSessionId();
+        if (current != null && markOf(game, current) == 0 || winner != null && markOf(game, winner) == 0) {
+            throw new IllegalArgumentException("Current player and winner must be seated: roomId=" + roomState.getRoomId());
+        }
+        int packed = xMask | oMask << BOARD_BITS
+                | (current != null ? HAS_CURRENT : 0)
+                | (markOf(game, current) == 2 ? CURRENT_O : 0)
+                | markOf(game, winner) << WINNER_SHIFT
+                | (game.isGameOver() ? GAME_OVER : 0);
+        out.writeByte(packed);
+        out.writeByte(packed >>> 8);
+        out.writeByte(packed >>> 16);
+        out.writeId(game.getPlayerXSessionId());
+        out.writeId(game.getPlayerOSessionId());
+    }
+
+    private static RoomStateDto readRoomState(Reader in) {
+        String roomId = in.readId();
+        String roomName = in.readString();
+        String hostNickname = in.readString();
+        int header = in.readByte();
+        int playerCount = in.readCount();
+        List<PlayerInfo> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            players.add(PlayerInfo.builder()
+                    .sessionId(in.readId())
+                    .nickname(in.readString())
+                    .role(in.element(ROLES, in.readByte()))
+                    .build());
+        }
+        long readyMask = in.readVarLong();
+        Set<String> ready = new LinkedHashSet<>();
+        for (int i = 0; i < players.size(); i++) {
+            if (i < Long.SIZE && (readyMask & 1L << i) != 0) {
+                ready.add(players.get(i).getSessionId());
+            }
+        }
+        int extraReady = in.readCount();
+        for (int i = 0; i < extraReady; i++) {
+            ready.add(in.readId());
+        }
+        RoomStateDto.RoomStateDtoBuilder roomState = RoomStateDto.builder()
+                .roomId(roomId)
+                .roomName(roomName)
+                .hostNickname(hostNickname)
+                .players(players)
+                .readyPlayerSessionIds(ready)
+                .gameState(in.element(GAME_STATES, header & ~HAS_GAME));
+        if ((header & HAS_GAME) == 0) {
+            return roomState.build();
+        }
+
+        int packed = in.readByte() | in.readByte() << 8 | in.readByte() << 16;
+        String playerX = in.readId();
+        String playerO = in.readId();
+        Character[] board = new Character[BOARD_BITS];
+        for (int i = 0; i < BOARD_BITS; i++) {
+            if ((packed & 1 << i) != 0) board[i] = 'X';
+            else if ((packed >>> BOARD_BITS & 1 << i) != 0) board[i] = 'O';
+        }
+        int winner = packed >>> WINNER_SHIFT & 0b11;
+        TicTacToeGameDto game = TicTacToeGameDto.builder()
+                .board(board)
+                .playerXSessionId(playerX)
+                .playerOSessionId(playerO)
+                .currentPlayerSessionId((packed & HAS_CURRENT) == 0 ? null : (packed & CURRENT_O) != 0 ? playerO : playerX)
+                .winnerSessionId(winner == 1 ? playerX : winner == 2 ? playerO : null)
+                .gameOver((packed & GAME_OVER) != 0)
+                .build();
+        return roomState.game(game).build();
+    }
+
+    private static int markOf(TicTacToeGameDto game, String sessionId) {
+        if (sessionId == null) return 0;
+        if (sessionId.equals(game.getPlayerXSessionId())) return 1;
+        if (sessionId.equals(game.getPlayerOSessionId())) return 2;
+        return 0;
+    }
+
+    private static boolean isReadyPlayer(List<PlayerInfo> players, long readyMask, String sessionId) {
+        for (int i = 0; i < players.size() && i < Long.SIZE; i++) {
+            if ((readyMask & 1L << i) != 0 && players.get(i).getSessionId().equals(sessionId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int length;
+
+        private Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void writeByte(int value) {
+            ensure(1);
+            buffer[length++] = (byte) value;
+        }
+
+        private void writeBytes(byte[] bytes) {
+            writeBytes(bytes, 0, bytes.length);
+        }
+
+        private void writeBytes(byte[] bytes, int offset, int count) {
+            ensure(count);
+            System.arraycopy(bytes, offset, buffer, length, count);
+            length += count;
+        }
+
+        private void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[length++] = (byte) (value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+            buffer[length++] = (byte) value;
+        }
+
+        private void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            writeBytes(bytes);
+        }
+
+        private void writeId(String id) {
+            long handle = CompactId.parse(id);
+            if (handle == CompactId.NONE) {
+                byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(bytes.length + 1L);
+                writeBytes(bytes);
+                return;
+            }
+            ensure(1 + Long.BYTES);
+            buffer[length++] = 0;
+            for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+                buffer[length++] = (byte) (handle >>> shift);
+            }
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, length);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        private Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private int readByte() {
+            require(1);
+            return buffer[position++] & 0xFF;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint at " + position);
+        }
+
+        private int readCount() {
+            long count = readVarLong();
+            if (count < 0 || count > buffer.length - position) {
+                throw new IllegalArgumentException("Invalid element count: " + count);
+            }
+            return (int) count;
+        }
+
+        private String readString() {
+            int length = readCount();
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private String readId() {
+            long tag = readVarLong();
+            if (tag != 0) {
+                int length = (int) (tag - 1);
+                require(length);
+                String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+                position += length;
+                return value;
+            }
+            require(Long.BYTES);
+            long handle = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                handle = handle << Byte.SIZE | buffer[position++] & 0xFF;
+            }
+            return CompactId.format(handle);
+        }
+
+        private <T> T element(T[] values, int ordinal) {
+            if (ordinal < 0 || ordinal >= values.length) {
+                throw new IllegalArgumentException("Invalid ordinal: " + ordinal);
+            }
+            return values[ordinal];
+        }
+
+        private void require(int count) {
+            if (count < 0 || count > buffer.length - position) {
+                throw new IllegalArgumentException("Truncated compact message at " + position);
+            }
+        }
+
+        private void expectEnd() {
+            if (position != buffer.length) {
+                throw new IllegalArgumentException("Trailing bytes after compact message: " + (buffer.length - position));
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package kim.hyeongcheol.tictactoeserver.messaging;
+
+import kim.hyeongcheol.tictactoeserver.dto.GameMessage;
+import kim.hyeongcheol.tictactoeserver.dto.RoomSnapshot;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.messaging.converter.MessageConversionException;
+
+public class CompactMessageConverter extends AbstractMessageConverter {
+
+    public CompactMessageConverter() {
+        super(CompactGameMessageCodec.MIME_TYPE);
+        setStrictContentTypeMatch(true);
+    }
+
+    public static boolean supportsPayload(Object payload) {
+        return payload instanceof GameMessage || payload instanceof RoomSnapshot;
+    }
+
+    @Override
+    protected boolean supportsMimeType(MessageHeaders headers) {
+        return CompactGameMessageCodec.isCompact(headers);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return GameMessage.class.isAssignableFrom(clazz) || RoomSnapshot.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canConvertFrom(Message<?> message, Class<?> targetClass) {
+        return GameMessage.class.equals(targetClass) && super.canConvertFrom(message, targetClass);
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+        if (!(message.getPayload() instanceof byte[] payload)) {
+            return null;
+        }
+        try {
+            return CompactGameMessageCodec.decodeClientMessage(payload);
+        } catch (IllegalArgumentException e) {
+            throw new MessageConversionException(message, "Malformed compact game message: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        return payload instanceof RoomSnapshot snapshot
+                ? CompactGameMessageCodec.encode(snapshot)
+                : CompactGameMessageCodec.encode((GameMessage) payload);
+    }
+}
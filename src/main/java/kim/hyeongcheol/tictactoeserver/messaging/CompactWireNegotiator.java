@@ -0,0 +1,100 @@
+package kim.hyeongcheol.tictactoeserver.messaging;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import kim.hyeongcheol.tictactoeserver.dto.GameMessage;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class CompactWireNegotiator implements ChannelInterceptor, HandshakeInterceptor {
+
+    public static final String COMPACT_PAYLOAD_HEADER = "compactPayload";
+    private static final String BINARY_FRAMES_ATTRIBUTE = "binaryFrames";
+
+    private final Set<String> compactSessionIds = ConcurrentHashMap.newKeySet();
+
+    public CompactWireNegotiator(MeterRegistry meterRegistry) {
+        Gauge.builder("game.stomp.sessions.compact", compactSessionIds, Set::size)
+                .description("Connected sessions that negotiated the compact binary wire format")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        attributes.put(BINARY_FRAMES_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    @EventListener
+    public void onConnect(SessionConnectEvent event) {
+        MessageHeaders headers = event.getMessage().getHeaders();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        Map<String, Object> attributes = SimpMessageHeaderAccessor.getSessionAttributes(headers);
+        if (sessionId != null && attributes != null && attributes.containsKey(BINARY_FRAMES_ATTRIBUTE)
+                && CompactGameMessageCodec.isCompact(headers)) {
+            compactSessionIds.add(sessionId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        compactSessionIds.remove(event.getSessionId());
+    }
+
+    public boolean isCompact(String sessionId) {
+        return sessionId != null && compactSessionIds.contains(sessionId);
+    }
+
+    public void applyContentType(SimpMessageHeaderAccessor headerAccessor, String sessionId, Object payload) {
+        if (isCompact(sessionId) && CompactMessageConverter.supportsPayload(payload)) {
+            headerAccessor.setContentType(CompactGameMessageCodec.MIME_TYPE);
+        }
+    }
+
+    public MessageHeaders broadcastHeaders(GameMessage message) {
+        if (compactSessionIds.isEmpty()) {
+            return null;
+        }
+        SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headerAccessor.setHeader(COMPACT_PAYLOAD_HEADER, CompactGameMessageCodec.encode(message));
+        headerAccessor.setLeaveMutable(true);
+        return headerAccessor.getMessageHeaders();
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!(message.getHeaders().get(COMPACT_PAYLOAD_HEADER) instanceof byte[] compact)
+                || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE
+                || !isCompact(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()))) {
+            return message;
+        }
+        SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.wrap(message);
+        headerAccessor.removeHeader(COMPACT_PAYLOAD_HEADER);
+        headerAccessor.setContentType(CompactGameMessageCodec.MIME_TYPE);
+        return MessageBuilder.createMessage(compact, headerAccessor.getMessageHeaders());
+    }
+}
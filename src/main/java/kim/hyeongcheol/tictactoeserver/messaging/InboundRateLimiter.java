@@ -0,0 +1,135 @@
+package kim.hyeongcheol.tictactoeserver.messaging;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import kim.hyeongcheol.tictactoeserver.dto.GameMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Component
+public class InboundRateLimiter implements ChannelInterceptor {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String APP_PREFIX = "/app/";
+
+    public enum Kind {
+        CHAT,
+        COMMAND
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final long[] emissionIntervalNanos = new long[Kind.values().length];
+    private final long[] burstToleranceNanos = new long[Kind.values().length];
+    private final Counter[] rejected = new Counter[Kind.values().length];
+    private final Map<String, AtomicLongArray> theoreticalArrivals = new ConcurrentHashMap<>();
+
+    public InboundRateLimiter(MeterRegistry meterRegistry,
+                              @Value("${game.rate-limit.chat.per-second:5}") double chatPerSecond,
+                              @Value("${game.rate-limit.chat.burst:10}") int chatBurst,
+                              @Value("${game.rate-limit.command.per-second:30}") double commandPerSecond,
+                              @Value("${game.rate-limit.command.burst:60}") int commandBurst) {
+        configure(Kind.CHAT, chatPerSecond, chatBurst);
+        configure(Kind.COMMAND, commandPerSecond, commandBurst);
+        for (Kind kind : Kind.values()) {
+            rejected[kind.ordinal()] = Counter.builder("game.stomp.inbound.rejected")
+                    .description("Client messages rejected by the per-session rate limiter")
+                    .tag("reason", "rate-limit")
+                    .tag("kind", kind.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null) {
+            return message;
+        }
+        if (messageType == SimpMessageType.DISCONNECT) {
+            theoreticalArrivals.remove(sessionId);
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (messageType != SimpMessageType.MESSAGE || destination == null || !destination.startsWith(APP_PREFIX)) {
+            return message;
+        }
+        Kind kind = message.getPayload() instanceof byte[] payload && isChat(message.getHeaders(), payload) ? Kind.CHAT : Kind.COMMAND;
+        if (tryAcquire(sessionId, kind)) {
+            return message;
+        }
+        rejected[kind.ordinal()].increment();
+        return null;
+    }
+
+    public boolean tryAcquire(String sessionId, Kind kind) {
+        int index = kind.ordinal();
+        long interval = emissionIntervalNanos[index];
+        if (interval == 0) {
+            return true;
+        }
+        AtomicLongArray arrivals = theoreticalArrivals.computeIfAbsent(sessionId, id -> new AtomicLongArray(Kind.values().length));
+        long now = System.nanoTime() - startNanos;
+        while (true) {
+            long arrival = arrivals.get(index);
+            long base = Math.max(arrival, now);
+            if (base - now > burstToleranceNanos[index]) {
+                return false;
+            }
+            if (arrivals.compareAndSet(index, arrival, base + interval)) {
+                return true;
+            }
+        }
+    }
+
+    public int trackedSessions() {
+        return theoreticalArrivals.size();
+    }
+
+    private void configure(Kind kind, double perSecond, int burst) {
+        if (perSecond <= 0) {
+            return;
+        }
+        long interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / perSecond));
+        emissionIntervalNanos[kind.ordinal()] = interval;
+        burstToleranceNanos[kind.ordinal()] = interval * (Math.max(burst, 1) - 1);
+    }
+
+    private static boolean isChat(MessageHeaders headers, byte[] payload) {
+        if (CompactGameMessageCodec.isCompact(headers)) {
+            return CompactGameMessageCodec.hasType(payload, GameMessage.MessageType.CHAT);
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            boolean chat = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean typeField = "type".equals(parser.currentName());
+                JsonToken value = parser.nextToken();
+                if (typeField && value == JsonToken.VALUE_STRING && GameMessage.MessageType.CHAT.name().equals(parser.getText())) {
+                    chat = true;
+                }
+                parser.skipChildren();
+            }
+            return chat;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package kim.hyeongcheol.tictactoeserver.messaging;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class OutboundPayloadMetricsInterceptor implements ChannelInterceptor {
+
+    private static final int MAX_DESTINATION_TAGS = 32;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public OutboundPayloadMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE
+                && message.getPayload() instanceof byte[] payload) {
+            String destination = destinationPrefix(subscribedDestination(message));
+            if (summaries.size() >= MAX_DESTINATION_TAGS && !summaries.containsKey(destination)) {
+                destination = "other";
+            }
+            summaries.computeIfAbsent(destination, this::payloadSize).record(payload.length);
+        }
+        return message;
+    }
+
+    private DistributionSummary payloadSize(String destination) {
+        return DistributionSummary.builder("game.stomp.outbound.payload.size")
+                .description("Serialized size of STOMP MESSAGE frames sent to clients")
+                .baseUnit("bytes")
+                .tag("destination", destination)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String subscribedDestination(Message<?> message) {
+        String originalDestination = NativeMessageHeaderAccessor.getFirstNativeHeader(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION, message.getHeaders());
+        return originalDestination != null ? originalDestination : SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+    }
+
+    private static String destinationPrefix(String destination) {
+        if (destination == null) return "none";
+
+        int segments = destination.startsWith("/user/") ? 3 : 2;
+        int end = 0;
+        for (int i = 0; i < segments; i++) {
+            end = destination.indexOf('/', end + 1);
+            if (end < 0) return destination;
+        }
+        return destination.substring(0, end);
+    }
+}
@@ -0,0 +1,29 @@
+package kim.hyeongcheol.tictactoeserver.messaging;
+
+import kim.hyeongcheol.tictactoeserver.dto.RoomSnapshot;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+
+public class RoomSnapshotMessageConverter extends AbstractMessageConverter {
+
+    public RoomSnapshotMessageConverter() {
+        super(MimeTypeUtils.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return RoomSnapshot.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canConvertFrom(Message<?> message, Class<?> targetClass) {
+        return false;
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        return ((RoomSnapshot) payload).toJsonBytes();
+    }
+}
@@ -0,0 +1,133 @@
+package kim.hyeongcheol.tictactoeserver.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+public class SlowConsumerGuard implements ChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    public static final String DROPPABLE_HEADER = "slowConsumerDroppable";
+
+    private final long congestionThresholdNanos;
+    private final long sendTimeLimitNanos;
+    private final Counter droppedFrames;
+    private final Counter closedSessions;
+    private final Map<String, SendTracker> trackers = new ConcurrentHashMap<>();
+
+    public SlowConsumerGuard(MeterRegistry meterRegistry,
+                             @Value("${game.websocket.slow-consumer.congestion-threshold:500ms}") Duration congestionThreshold,
+                             @Value("${game.websocket.send-time-limit:10s}") Duration sendTimeLimit) {
+        this.congestionThresholdNanos = congestionThreshold.toNanos();
+        this.sendTimeLimitNanos = sendTimeLimit.toNanos();
+        this.droppedFrames = Counter.builder("game.stomp.outbound.dropped")
+                .description("Non-critical frames dropped for clients that are not keeping up")
+                .tag("reason", "slow-consumer")
+                .register(meterRegistry);
+        this.closedSessions = Counter.builder("game.stomp.sessions.closed")
+                .description("Sessions closed because a single send exceeded the send time limit")
+                .tag("reason", "slow-consumer")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                SendTracker tracker = new SendTracker(session);
+                trackers.put(session.getId(), tracker);
+                super.afterConnectionEstablished(tracker);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                trackers.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        SendTracker tracker = trackers.get(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+        long stalledNanos = tracker == null ? 0 : tracker.stalledNanos();
+        if (stalledNanos > sendTimeLimitNanos) {
+            closeStalled(tracker, stalledNanos);
+            return null;
+        }
+        if (stalledNanos > congestionThresholdNanos && Boolean.TRUE.equals(message.getHeaders().get(DROPPABLE_HEADER))) {
+            droppedFrames.increment();
+            return null;
+        }
+        return message;
+    }
+
+    private void closeStalled(SendTracker tracker, long stalledNanos) {
+        if (!tracker.markClosing()) {
+            return;
+        }
+        closedSessions.increment();
+        log.warn("Closing slow consumer: sessionId={}, stalledMs={}", tracker.getId(), Duration.ofNanos(stalledNanos).toMillis());
+        Thread.ofVirtual().name("slow-consumer-close").start(() -> {
+            try {
+                tracker.getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                log.debug("Failed to close slow consumer: sessionId={}", tracker.getId(), e);
+            }
+        });
+    }
+
+    private static final class SendTracker extends WebSocketSessionDecorator {
+        private final AtomicBoolean closing = new AtomicBoolean();
+        private volatile long sendStartedNanos;
+        private volatile boolean sending;
+
+        private SendTracker(WebSocketSession session) {
+            super(session);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            sendStartedNanos = System.nanoTime();
+            sending = true;
+            try {
+                super.sendMessage(message);
+            } finally {
+                sending = false;
+            }
+        }
+
+        private long stalledNanos() {
+            return sending ? System.nanoTime() - sendStartedNanos : 0;
+        }
+
+        private boolean markClosing() {
+            return closing.compareAndSet(false, true);
+        }
+    }
+}
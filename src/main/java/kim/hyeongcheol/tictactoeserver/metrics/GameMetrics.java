@@ -0,0 +1,66 @@
+package kim.hyeongcheol.tictactoeserver.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import kim.hyeongcheol.tictactoeserver.dto.GameMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class GameMetrics {
+
+    private final Map<GameMessage.MessageType, Timer> dispatchTimers = new EnumMap<>(GameMessage.MessageType.class);
+    private final Counter rejectedMoves;
+    private final Counter sentErrors;
+    private final DistributionSummary flushedBatchSizes;
+    private final DistributionSummary coalescedDispatchSizes;
+
+    public GameMetrics(MeterRegistry meterRegistry) {
+        for (GameMessage.MessageType type : GameMessage.MessageType.values()) {
+            dispatchTimers.put(type, Timer.builder("game.message.dispatch")
+                    .description("Time from receiving a room command to handing its broadcasts to the broker")
+                    .tag("type", type.name())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        this.rejectedMoves = Counter.builder("game.moves.rejected")
+                .description("Moves rejected because of turn order, occupied cells or game state")
+                .register(meterRegistry);
+        this.sentErrors = Counter.builder("game.errors.sent")
+                .description("Error messages sent to players")
+                .register(meterRegistry);
+        this.flushedBatchSizes = DistributionSummary.builder("game.broadcast.batch.size")
+                .description("Room broadcasts coalesced into one frame for spectated rooms")
+                .register(meterRegistry);
+        this.coalescedDispatchSizes = DistributionSummary.builder("game.broadcast.dispatch.coalesced")
+                .description("Room broadcasts from one command sent as a single frame")
+                .register(meterRegistry);
+    }
+
+    public void recordDispatch(GameMessage.MessageType type, long startNanos) {
+        if (type == null) return;
+
+        dispatchTimers.get(type).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void moveRejected() {
+        rejectedMoves.increment();
+    }
+
+    public void errorSent() {
+        sentErrors.increment();
+    }
+
+    public void broadcastFlushed(int messages) {
+        flushedBatchSizes.record(messages);
+    }
+
+    public void dispatchCoalesced(int messages) {
+        coalescedDispatchSizes.record(messages);
+    }
+}
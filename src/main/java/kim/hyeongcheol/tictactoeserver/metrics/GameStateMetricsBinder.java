@@ -0,0 +1,54 @@
+package kim.hyeongcheol.tictactoeserver.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import kim.hyeongcheol.tictactoeserver.executor.HashedTimingWheel;
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import kim.hyeongcheol.tictactoeserver.repository.GameRoomRepository;
+import kim.hyeongcheol.tictactoeserver.service.PlayerSessionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.util.function.ToIntFunction;
+
+@Component
+@RequiredArgsConstructor
+public class GameStateMetricsBinder implements MeterBinder {
+
+    private final GameRoomRepository gameRoomRepository;
+    private final PlayerSessionService playerSessionService;
+    private final HashedTimingWheel timingWheel;
+    private final WebSocketMessageBrokerStats webSocketMessageBrokerStats;
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("game.rooms", gameRoomRepository, GameRoomRepository::count)
+                .description("Live game rooms")
+                .register(meterRegistry);
+        for (GameRoom.GameState gameState : GameRoom.GameState.values()) {
+            Gauge.builder("game.rooms.state", gameRoomRepository, repository -> repository.countByGameState(gameState))
+                    .description("Live game rooms by game state")
+                    .tag("state", gameState.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("game.players.bound", playerSessionService, PlayerSessionService::boundSessionCount)
+                .description("STOMP sessions bound to a resumable player")
+                .register(meterRegistry);
+        Gauge.builder("game.timer.pending", timingWheel, HashedTimingWheel::pendingTimeouts)
+                .description("Idle, turn and resume timeouts waiting on the timing wheel")
+                .register(meterRegistry);
+        registerSessionGauge(meterRegistry, "websocket", SubProtocolWebSocketHandler.Stats::getWebSocketSessions);
+        registerSessionGauge(meterRegistry, "http-streaming", SubProtocolWebSocketHandler.Stats::getHttpStreamingSessions);
+        registerSessionGauge(meterRegistry, "http-polling", SubProtocolWebSocketHandler.Stats::getHttpPollingSessions);
+    }
+
+    private void registerSessionGauge(MeterRegistry meterRegistry, String transport, ToIntFunction<SubProtocolWebSocketHandler.Stats> sessions) {
+        Gauge.builder("game.stomp.sessions", webSocketMessageBrokerStats, stats -> sessions.applyAsInt(stats.getWebSocketSessionStats()))
+                .description("Open STOMP sessions by transport")
+                .tag("transport", transport)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,44 @@
+package kim.hyeongcheol.tictactoeserver.repository;
+
+import java.security.SecureRandom;
+
+public final class CompactId {
+
+    public static final long NONE = 0;
+    public static final int LENGTH = 13;
+    private static final int RADIX = 36;
+    private static final long MAX_DIGIT_PREFIX = Long.MAX_VALUE / RADIX;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private CompactId() {
+    }
+
+    public static String newId() {
+        long handle;
+        do {
+            handle = RANDOM.nextLong() & Long.MAX_VALUE;
+        } while (handle == NONE);
+        return format(handle);
+    }
+
+    public static String format(long handle) {
+        String digits = Long.toString(handle, RADIX);
+        return digits.length() >= LENGTH ? digits : "0".repeat(LENGTH - digits.length()) + digits;
+    }
+
+    public static long parse(String id) {
+        if (id == null || id.length() != LENGTH) {
+            return NONE;
+        }
+        long handle = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            char c = id.charAt(i);
+            int digit = c >= '0' && c <= '9' ? c - '0' : c >= 'a' && c <= 'z' ? c - 'a' + 10 : -1;
+            if (digit < 0 || handle > MAX_DIGIT_PREFIX || handle * RADIX > Long.MAX_VALUE - digit) {
+                return NONE;
+            }
+            handle = handle * RADIX + digit;
+        }
+        return handle;
+    }
+}
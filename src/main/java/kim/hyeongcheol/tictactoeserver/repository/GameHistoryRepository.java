@@ -0,0 +1,439 @@
+package kim.hyeongcheol.tictactoeserver.repository;
+
+import kim.hyeongcheol.tictactoeserver.dto.GameHistoryEntry;
+import kim.hyeongcheol.tictactoeserver.game.TicTacToeGame;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+@Slf4j
+@Repository
+public class GameHistoryRepository implements DisposableBean {
+
+    static final int SPILL_RECORD_BYTES = 256;
+    private static final int SPILL_STRING_BYTES = 56;
+
+    private static final int MOVE_COUNT_SHIFT = TicTacToeGame.MOVE_BITS * TicTacToeGame.CELL_COUNT;
+    private static final int RESULT_SHIFT = MOVE_COUNT_SHIFT + 4;
+    private static final long FORFEIT_BIT = 1L << (RESULT_SHIFT + 2);
+    private static final long MOVES_MASK = (1L << MOVE_COUNT_SHIFT) - 1;
+
+    private final int capacity;
+    private final long[] packedGames;
+    private final int[] endedAtSeconds;
+    private final int[] playerXHandles;
+    private final int[] playerOHandles;
+
+    private final Map<Participant, Integer> handles = new HashMap<>();
+    private final Deque<Integer> freeHandles = new ArrayDeque<>();
+    private Participant[] participants = new Participant[64];
+    private int[] referenceCounts = new int[64];
+    private int nextHandle;
+
+    private final int recentPerPlayer;
+    private final Map<String, RecentGames> recentByPlayer = new HashMap<>();
+
+    private final StampedLock lock = new StampedLock();
+    private final long firstGameId;
+    private long nextGameId;
+
+    private final FileChannel spill;
+    private final ExecutorService spillWriter;
+    private final long spillMaxRecords;
+
+    public GameHistoryRepository(@Value("${game.history.capacity:262144}") int capacity,
+                                 @Value("${game.history.spill-file:}") String spillFile,
+                                 @Value("${game.history.spill-max-records:1048576}") long spillMaxRecords,
+                                 @Value("${game.history.recent-limit:20}") int recentPerPlayer) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (spillMaxRecords <= 0) {
+            throw new IllegalArgumentException("spillMaxRecords must be positive");
+        }
+        if (recentPerPlayer <= 0) {
+            throw new IllegalArgumentException("recentPerPlayer must be positive");
+        }
+        this.capacity = capacity;
+        this.recentPerPlayer = recentPerPlayer;
+        this.spillMaxRecords = spillMaxRecords;
+        this.packedGames = new long[capacity];
+        this.endedAtSeconds = new int[capacity];
+        this.playerXHandles = new int[capacity];
+        this.playerOHandles = new int[capacity];
+        if (spillFile == null || spillFile.isBlank()) {
+            this.spill = null;
+            this.spillWriter = null;
+            this.firstGameId = 0;
+        } else {
+            try {
+                Path path = Path.of(spillFile);
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                this.spill = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                if (spill.size() > spillMaxRecords * SPILL_RECORD_BYTES) {
+                    spill.truncate(spillMaxRecords * SPILL_RECORD_BYTES);
+                }
+                this.firstGameId = recoverNextGameId();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open game history spill file: " + spillFile, e);
+            }
+            this.spillWriter = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "game-history-spill");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        this.nextGameId = firstGameId;
+    }
+
+    public long record(TicTacToeGame game, String playerXNickname, String playerONickname, boolean forfeit) {
+        long packed = pack(game, forfeit);
+        int endedAt = (int) (System.currentTimeMillis() / 1000);
+        long stamp = lock.writeLock();
+        try {
+            long gameId = nextGameId;
+            int slot = slotOf(gameId);
+            if (gameId - firstGameId >= capacity) {
+                evict(gameId - capacity, slot);
+            }
+            packedGames[slot] = packed;
+            endedAtSeconds[slot] = endedAt;
+            playerXHandles[slot] = acquire(new Participant(game.getPlayerXSessionId(), playerXNickname));
+            playerOHandles[slot] = acquire(new Participant(game.getPlayerOSessionId(), playerONickname));
+            indexRecent(game.getPlayerXSessionId(), gameId);
+            if (!game.getPlayerOSessionId().equals(game.getPlayerXSessionId())) {
+                indexRecent(game.getPlayerOSessionId(), gameId);
+            }
+            nextGameId = gameId + 1;
+            return gameId;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public Optional<GameHistoryEntry> findById(long gameId) {
+        long stamp = lock.tryOptimisticRead();
+        long newestGameId = nextGameId;
+        int slot = slotOf(gameId);
+        long packed = packedGames[slot];
+        int endedAt = endedAtSeconds[slot];
+        Participant playerX = participantAt(participants, playerXHandles[slot]);
+        Participant playerO = participantAt(participants, playerOHandles[slot]);
+        GameHistoryEntry entry;
+        if (lock.validate(stamp)) {
+            entry = inRing(gameId, newestGameId) && playerX != null && playerO != null
+                    ? toEntry(gameId, packed, endedAt, playerX, playerO) : null;
+        } else {
+            stamp = lock.readLock();
+            try {
+                entry = inMemory(gameId);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+        return gameId >= 0 && gameId < nextGameId ? readSpilled(gameId) : Optional.empty();
+    }
+
+    public List<GameHistoryEntry> findRecentByPlayer(String playerId, int limit) {
+        long stamp = lock.readLock();
+        try {
+            RecentGames recent = recentByPlayer.get(playerId);
+            if (recent == null) {
+                return List.of();
+            }
+            int count = Math.min(limit, recent.size);
+            List<GameHistoryEntry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long gameId = recent.newest(i);
+                entries.add(entryAt(gameId, slotOf(gameId)));
+            }
+            return entries;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public long size() {
+        long stamp = lock.readLock();
+        try {
+            return Math.min(nextGameId - firstGameId, capacity);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (spill == null) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            for (long gameId = Math.max(firstGameId, nextGameId - capacity); gameId < nextGameId; gameId++) {
+                writeSpilled(gameId, slotOf(gameId));
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        spillWriter.shutdown();
+        if (!spillWriter.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Game history spill writer did not finish in time");
+        }
+        spill.force(true);
+        spill.close();
+    }
+
+    private GameHistoryEntry inMemory(long gameId) {
+        if (!inRing(gameId, nextGameId)) {
+            return null;
+        }
+        int slot = slotOf(gameId);
+        Participant playerX = participantAt(participants, playerXHandles[slot]);
+        Participant playerO = participantAt(participants, playerOHandles[slot]);
+        if (playerX == null || playerO == null) {
+            return null;
+        }
+        return toEntry(gameId, packedGames[slot], endedAtSeconds[slot], playerX, playerO);
+    }
+
+    private boolean inRing(long gameId, long newestGameId) {
+        return gameId >= Math.max(firstGameId, newestGameId - capacity) && gameId < newestGameId;
+    }
+
+    private static Participant participantAt(Participant[] table, int handle) {
+        return handle >= 0 && handle < table.length ? table[handle] : null;
+    }
+
+    private GameHistoryEntry entryAt(long gameId, int slot) {
+        return toEntry(gameId, packedGames[slot], endedAtSeconds[slot],
+                participants[playerXHandles[slot]], participants[playerOHandles[slot]]);
+    }
+
+    private void evict(long gameId, int slot) {
+        if (spill != null) {
+            writeSpilled(gameId, slot);
+        }
+        forgetRecent(participants[playerXHandles[slot]].playerId(), gameId);
+        forgetRecent(participants[playerOHandles[slot]].playerId(), gameId);
+        release(playerXHandles[slot]);
+        release(playerOHandles[slot]);
+    }
+
+    private void indexRecent(String playerId, long gameId) {
+        recentByPlayer.computeIfAbsent(playerId, id -> new RecentGames(recentPerPlayer)).add(gameId);
+    }
+
+    private void forgetRecent(String playerId, long gameId) {
+        RecentGames recent = recentByPlayer.get(playerId);
+        if (recent != null && recent.removeOldest(gameId) && recent.size == 0) {
+            recentByPlayer.remove(playerId);
+        }
+    }
+
+    private int acquire(Participant participant) {
+        Integer handle = handles.get(participant);
+        if (handle == null) {
+            handle = freeHandles.isEmpty() ? nextHandle++ : freeHandles.pop();
+            if (handle >= participants.length) {
+                participants = Arrays.copyOf(participants, participants.length * 2);
+                referenceCounts = Arrays.copyOf(referenceCounts, referenceCounts.length * 2);
+            }
+            participants[handle] = participant;
+            handles.put(participant, handle);
+        }
+        referenceCounts[handle]++;
+        return handle;
+    }
+
+    private void release(int handle) {
+        if (--referenceCounts[handle] == 0) {
+            handles.remove(participants[handle]);
+            participants[handle] = null;
+            freeHandles.push(handle);
+        }
+    }
+
+    private void writeSpilled(long gameId, int slot) {
+        Participant playerX = participants[playerXHandles[slot]];
+        Participant playerO = participants[playerOHandles[slot]];
+        ByteBuffer buffer = ByteBuffer.allocate(SPILL_RECORD_BYTES);
+        buffer.putLong(gameId);
+        buffer.putLong(packedGames[slot]);
+        buffer.putInt(endedAtSeconds[slot]);
+        putString(buffer, playerX.playerId());
+        putString(buffer, playerX.nickname());
+        putString(buffer, playerO.playerId());
+        putString(buffer, playerO.nickname());
+        buffer.clear();
+        long position = spillPosition(gameId);
+        spillWriter.execute(() -> {
+            try {
+                while (buffer.hasRemaining()) {
+                    spill.write(buffer, position + buffer.position());
+                }
+            } catch (IOException e) {
+                log.error("Failed to spill game {}", gameId, e);
+            }
+        });
+    }
+
+    private Optional<GameHistoryEntry> readSpilled(long gameId) {
+        if (spill == null) {
+            return Optional.empty();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(SPILL_RECORD_BYTES);
+        long position = spillPosition(gameId);
+        try {
+            while (buffer.hasRemaining()) {
+                if (spill.read(buffer, position + buffer.position()) < 0) {
+                    return Optional.empty();
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to read spilled game {}", gameId, e);
+            return Optional.empty();
+        }
+        buffer.flip();
+        if (buffer.getLong() != gameId) {
+            return Optional.empty();
+        }
+        long packed = buffer.getLong();
+        int endedAt = buffer.getInt();
+        Participant playerX = new Participant(getString(buffer), getString(buffer));
+        Participant playerO = new Participant(getString(buffer), getString(buffer));
+        return Optional.of(toEntry(gameId, packed, endedAt, playerX, playerO));
+    }
+
+    private long recoverNextGameId() throws IOException {
+        long records = (spill.size() + SPILL_RECORD_BYTES - 1) / SPILL_RECORD_BYTES;
+        if (records < spillMaxRecords) {
+            return records;
+        }
+        long newestLap = spilledGameIdAt(0);
+        long low = 0;
+        long high = records - 1;
+        while (low < high) {
+            long middle = (low + high + 1) >>> 1;
+            if (spilledGameIdAt(middle) >= newestLap) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return spilledGameIdAt(low) + 1;
+    }
+
+    private long spilledGameIdAt(long record) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        while (buffer.hasRemaining()) {
+            if (spill.read(buffer, record * SPILL_RECORD_BYTES + buffer.position()) < 0) {
+                return -1;
+            }
+        }
+        return buffer.flip().getLong();
+    }
+
+    private long spillPosition(long gameId) {
+        return gameId % spillMaxRecords * SPILL_RECORD_BYTES;
+    }
+
+    private int slotOf(long gameId) {
+        return (int) Math.floorMod(gameId, (long) capacity);
+    }
+
+    private static long pack(TicTacToeGame game, boolean forfeit) {
+        GameHistoryEntry.Result result = game.getWinnerSessionId() == null ? GameHistoryEntry.Result.DRAW
+                : game.getWinnerSessionId().equals(game.getPlayerXSessionId()) ? GameHistoryEntry.Result.X_WIN
+                : GameHistoryEntry.Result.O_WIN;
+        long packed = game.getMoveHistory() & MOVES_MASK
+                | (long) game.getMoveCount() << MOVE_COUNT_SHIFT
+                | (long) result.ordinal() << RESULT_SHIFT;
+        return forfeit ? packed | FORFEIT_BIT : packed;
+    }
+
+    private static GameHistoryEntry toEntry(long gameId, long packed, int endedAt, Participant playerX, Participant playerO) {
+        int moveCount = (int) (packed >>> MOVE_COUNT_SHIFT) & 0xF;
+        return GameHistoryEntry.builder()
+                .gameId(gameId)
+                .playerXSessionId(playerX.playerId())
+                .playerXNickname(playerX.nickname())
+                .playerOSessionId(playerO.playerId())
+                .playerONickname(playerO.nickname())
+                .result(GameHistoryEntry.Result.values()[(int) (packed >>> RESULT_SHIFT) & 0x3])
+                .forfeit((packed & FORFEIT_BIT) != 0)
+                .moves(TicTacToeGame.decodeMoves(packed & MOVES_MASK, moveCount))
+                .endedAt(TimeUnit.SECONDS.toMillis(Integer.toUnsignedLong(endedAt)))
+                .build();
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, SPILL_STRING_BYTES);
+        buffer.putShort((short) length);
+        buffer.put(bytes, 0, length);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record Participant(String playerId, String nickname) {
+    }
+
+    private static final class RecentGames {
+        private final long[] gameIds;
+        private int head;
+        private int size;
+
+        private RecentGames(int capacity) {
+            this.gameIds = new long[capacity];
+        }
+
+        private void add(long gameId) {
+            gameIds[head] = gameId;
+            head = (head + 1) % gameIds.length;
+            size = Math.min(size + 1, gameIds.length);
+        }
+
+        private long newest(int index) {
+            return gameIds[Math.floorMod(head - 1 - index, gameIds.length)];
+        }
+
+        private boolean removeOldest(long gameId) {
+            if (size == 0 || newest(size - 1) != gameId) {
+                return false;
+            }
+            size--;
+            return true;
+        }
+    }
+}
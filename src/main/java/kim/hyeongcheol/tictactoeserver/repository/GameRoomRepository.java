@@ -2,16 +2,28 @@ package kim.hyeongcheol.tictactoeserver.repository;
 
 import kim.hyeongcheol.tictactoeserver.game.GameRoom;
 
-import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface GameRoomRepository {
     GameRoom save(GameRoom gameRoom);
     Optional<GameRoom> findById(String roomId);
-    List<GameRoom> findAll();
+    Stream<GameRoom> streamAll();
     void deleteById(String roomId);
+    long count();
+    long countByGameState(GameRoom.GameState gameState);
+
+    RoomSlice findJoinable(String cursor, int limit);
+    RoomSlice findNewest(String cursor, int limit);
+    RoomSlice findByRoomNamePrefix(String prefix, String cursor, int limit);
 
     Optional<String> findRoomIdBySessionId(String sessionId);
-    void linkSessionToRoom(String sessionId, String roomId);
+    boolean linkSessionToRoom(String sessionId, String roomId);
     void unlinkSessionFromRoom(String sessionId);
-}
\ No newline at end of file
+    boolean unlinkSessionFromRoom(String sessionId, String roomId);
+
+    void saveResumeToken(String playerId, String tokenDigest);
+    void deleteResumeToken(String playerId);
+    Map<String, String> findResumeTokens();
+}
@@ -0,0 +1,463 @@
+package kim.hyeongcheol.tictactoeserver.repository;
+
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "game.repository.type", havingValue = "journal")
+public class JournalGameRoomRepository implements GameRoomRepository, DisposableBean {
+
+    private static final Pattern SEGMENT_FILE = Pattern.compile("journal-(\\d{16})\\.log");
+    private static final Pattern SNAPSHOT_FILE = Pattern.compile("snapshot-(\\d{16})\\.bin");
+
+    private final MemoryGameRoomRepository memory = new MemoryGameRoomRepository();
+    private final Map<String, byte[]> latestRoomRecords = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final boolean fsync;
+    private final long compactBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hasPending = lock.newCondition();
+    private final Condition committed = lock.newCondition();
+    private List<byte[]> pending = new ArrayList<>();
+    private long appendedSequence;
+    private long durableSequence;
+    private IOException failure;
+    private boolean closed;
+
+    private final Thread writer;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private FileChannel segment;
+    private long segmentIndex;
+    private long segmentBytes;
+
+    public JournalGameRoomRepository(@Value("${game.repository.journal.dir:data/journal}") String directory,
+                                     @Value("${game.repository.journal.fsync:true}") boolean fsync,
+                                     @Value("${game.repository.journal.compact-bytes:67108864}") long compactBytes) {
+        this.directory = Path.of(directory);
+        this.fsync = fsync;
+        this.compactBytes = compactBytes;
+        try {
+            Files.createDirectories(this.directory);
+            recover();
+            openSegment(segmentIndex);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open room journal: " + this.directory, e);
+        }
+        this.writer = new Thread(this::writeLoop, "journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public GameRoom save(GameRoom gameRoom) {
+        memory.save(gameRoom);
+        byte[] record = RoomJournalCodec.roomPut(gameRoom);
+        latestRoomRecords.put(gameRoom.getRoomId(), record);
+        append(record);
+        return gameRoom;
+    }
+
+    @Override
+    public Optional<GameRoom> findById(String roomId) {
+        return memory.findById(roomId);
+    }
+
+    @Override
+    public Stream<GameRoom> streamAll() {
+        return memory.streamAll();
+    }
+
+    @Override
+    public void deleteById(String roomId) {
+        memory.deleteById(roomId);
+        latestRoomRecords.remove(roomId);
+        append(RoomJournalCodec.roomDelete(roomId));
+    }
+
+    @Override
+    public long count() {
+        return memory.count();
+    }
+
+    @Override
+    public long countByGameState(GameRoom.GameState gameState) {
+        return memory.countByGameState(gameState);
+    }
+
+    @Override
+    public RoomSlice findJoinable(String cursor, int limit) {
+        return memory.findJoinable(cursor, limit);
+    }
+
+    @Override
+    public RoomSlice findNewest(String cursor, int limit) {
+        return memory.findNewest(cursor, limit);
+    }
+
+    @Override
+    public RoomSlice findByRoomNamePrefix(String prefix, String cursor, int limit) {
+        return memory.findByRoomNamePrefix(prefix, cursor, limit);
+    }
+
+    @Override
+    public Optional<String> findRoomIdBySessionId(String sessionId) {
+        return memory.findRoomIdBySessionId(sessionId);
+    }
+
+    @Override
+    public boolean linkSessionToRoom(String sessionId, String roomId) {
+        if (!memory.linkSessionToRoom(sessionId, roomId)) {
+            return false;
+        }
+        append(RoomJournalCodec.sessionLink(sessionId, roomId));
+        return true;
+    }
+
+    @Override
+    public void unlinkSessionFromRoom(String sessionId) {
+        memory.unlinkSessionFromRoom(sessionId);
+        append(RoomJournalCodec.sessionUnlink(sessionId));
+    }
+
+    @Override
+    public boolean unlinkSessionFromRoom(String sessionId, String roomId) {
+        if (!memory.unlinkSessionFromRoom(sessionId, roomId)) {
+            return false;
+        }
+        append(RoomJournalCodec.sessionUnlink(sessionId));
+        return true;
+    }
+
+    @Override
+    public void saveResumeToken(String playerId, String tokenDigest) {
+        memory.saveResumeToken(playerId, tokenDigest);
+        append(RoomJournalCodec.resumeTokenPut(playerId, tokenDigest));
+    }
+
+    @Override
+    public void deleteResumeToken(String playerId) {
+        memory.deleteResumeToken(playerId);
+        append(RoomJournalCodec.resumeTokenDelete(playerId));
+    }
+
+    @Override
+    public Map<String, String> findResumeTokens() {
+        return memory.findResumeTokens();
+    }
+
+    private void append(byte[] record) {
+        long sequence;
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Room journal is closed");
+            }
+            if (failure != null) {
+                throw new UncheckedIOException("Room journal is unavailable", failure);
+            }
+            pending.add(record);
+            sequence = ++appendedSequence;
+            hasPending.signal();
+            if (!fsync) {
+                return;
+            }
+            while (durableSequence < sequence && failure == null) {
+                committed.awaitUninterruptibly();
+            }
+            if (durableSequence < sequence) {
+                throw new UncheckedIOException("Room journal write failed", failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            List<byte[]> batch;
+            long batchEnd;
+            lock.lock();
+            try {
+                while (pending.isEmpty() && !closed) {
+                    hasPending.awaitUninterruptibly();
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+                batchEnd = appendedSequence;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                writeBatch(batch);
+            } catch (IOException e) {
+                log.error("Room journal write failed: segment={}", segmentIndex, e);
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durableSequence = batchEnd;
+                }
+                committed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            if (error == null && segmentBytes >= compactBytes && compacting.compareAndSet(false, true)) {
+                rotateAndCompact();
+            }
+        }
+    }
+
+    private void writeBatch(List<byte[]> batch) throws IOException {
+        ByteBuffer[] buffers = new ByteBuffer[batch.size()];
+        long bytes = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = ByteBuffer.wrap(batch.get(i));
+            bytes += buffers[i].remaining();
+        }
+        long written = 0;
+        while (written < bytes) {
+            written += segment.write(buffers);
+        }
+        if (fsync) {
+            segment.force(false);
+        }
+        segmentBytes += bytes;
+    }
+
+    private void rotateAndCompact() {
+        long snapshotIndex;
+        try {
+            segment.force(false);
+            segment.close();
+            snapshotIndex = segmentIndex + 1;
+            openSegment(snapshotIndex);
+        } catch (IOException e) {
+            log.error("Room journal rotation failed: segment={}", segmentIndex, e);
+            compacting.set(false);
+            return;
+        }
+        compactor.execute(() -> {
+            try {
+                writeSnapshot(snapshotIndex);
+            } catch (IOException e) {
+                log.error("Room journal compaction failed: snapshot={}", snapshotIndex, e);
+            } finally {
+                compacting.set(false);
+            }
+        });
+    }
+
+    private void writeSnapshot(long snapshotIndex) throws IOException {
+        Path temporary = directory.resolve(snapshotFileName(snapshotIndex) + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16)) {
+            for (GameRoom room : memory.roomsInCreationOrder()) {
+                byte[] record = latestRoomRecords.get(room.getRoomId());
+                if (record != null) {
+                    out.write(record);
+                }
+            }
+            for (Map.Entry<String, String> link : memory.sessionLinks().entrySet()) {
+                out.write(RoomJournalCodec.sessionLink(link.getKey(), link.getValue()));
+            }
+            for (Map.Entry<String, String> token : memory.findResumeTokens().entrySet()) {
+                out.write(RoomJournalCodec.resumeTokenPut(token.getKey(), token.getValue()));
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(snapshotFileName(snapshotIndex)), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        deleteFilesBefore(snapshotIndex);
+        log.info("Room journal compacted: snapshot={}, rooms={}", snapshotIndex, latestRoomRecords.size());
+    }
+
+    private void recover() throws IOException {
+        long snapshotIndex = latestIndex(SNAPSHOT_FILE);
+        if (snapshotIndex > 0) {
+            replay(directory.resolve(snapshotFileName(snapshotIndex)), false);
+        }
+        List<Long> segments = indexes(SEGMENT_FILE).stream().filter(index -> index >= snapshotIndex).toList();
+        for (int i = 0; i < segments.size(); i++) {
+            replay(directory.resolve(segmentFileName(segments.get(i))), i == segments.size() - 1);
+        }
+        long lastSegment = segments.isEmpty() ? 0 : segments.get(segments.size() - 1);
+        segmentIndex = Math.max(lastSegment, snapshotIndex) + 1;
+        deleteFilesBefore(snapshotIndex);
+        log.info("Room journal recovered: rooms={}, snapshot={}, segments={}", latestRoomRecords.size(), snapshotIndex, segments.size());
+    }
+
+    private void replay(Path file, boolean truncateTornTail) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size == 0) {
+                return;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int position = 0;
+            while (true) {
+                int valid = readRecord(buffer, position);
+                if (valid < 0) {
+                    break;
+                }
+                position = valid;
+            }
+            if (position < size) {
+                log.warn("Room journal has a torn tail: file={}, valid={}, size={}", file.getFileName(), position, size);
+                if (truncateTornTail) {
+                    channel.truncate(position);
+                }
+            }
+        }
+    }
+
+    private int readRecord(ByteBuffer buffer, int position) throws IOException {
+        if (buffer.limit() - position < RoomJournalCodec.HEADER_BYTES) {
+            return -1;
+        }
+        int bodyLength = buffer.getInt(position);
+        int recordLength = RoomJournalCodec.HEADER_BYTES + bodyLength + RoomJournalCodec.TRAILER_BYTES;
+        if (bodyLength <= 0 || bodyLength > RoomJournalCodec.MAX_RECORD_BYTES || buffer.limit() - position < recordLength) {
+            return -1;
+        }
+        ByteBuffer body = buffer.slice(position + RoomJournalCodec.HEADER_BYTES, bodyLength);
+        if (!RoomJournalCodec.checksumMatches(body, buffer.getInt(position + RoomJournalCodec.HEADER_BYTES + bodyLength))) {
+            return -1;
+        }
+        byte[] record = new byte[recordLength];
+        buffer.get(position, record);
+        apply(record);
+        return position + recordLength;
+    }
+
+    private void apply(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record, RoomJournalCodec.HEADER_BYTES,
+                record.length - RoomJournalCodec.HEADER_BYTES - RoomJournalCodec.TRAILER_BYTES));
+        switch (in.readByte()) {
+            case RoomJournalCodec.ROOM_PUT -> {
+                GameRoom room = RoomJournalCodec.readRoom(in);
+                memory.save(room);
+                latestRoomRecords.put(room.getRoomId(), record);
+            }
+            case RoomJournalCodec.ROOM_DELETE -> {
+                String roomId = in.readUTF();
+                memory.deleteById(roomId);
+                latestRoomRecords.remove(roomId);
+            }
+            case RoomJournalCodec.SESSION_LINK -> memory.linkSessionToRoom(in.readUTF(), in.readUTF());
+            case RoomJournalCodec.SESSION_UNLINK -> memory.unlinkSessionFromRoom(in.readUTF());
+            case RoomJournalCodec.RESUME_TOKEN_PUT -> memory.saveResumeToken(in.readUTF(), in.readUTF());
+            case RoomJournalCodec.RESUME_TOKEN_DELETE -> memory.deleteResumeToken(in.readUTF());
+            default -> throw new IOException("Unknown room journal record type");
+        }
+    }
+
+    private void openSegment(long index) throws IOException {
+        segment = FileChannel.open(directory.resolve(segmentFileName(index)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentIndex = index;
+        segmentBytes = segment.size();
+    }
+
+    private void deleteFilesBefore(long snapshotIndex) throws IOException {
+        for (long index : indexes(SEGMENT_FILE)) {
+            if (index < snapshotIndex) {
+                Files.deleteIfExists(directory.resolve(segmentFileName(index)));
+            }
+        }
+        for (long index : indexes(SNAPSHOT_FILE)) {
+            if (index < snapshotIndex) {
+                Files.deleteIfExists(directory.resolve(snapshotFileName(index)));
+            }
+        }
+    }
+
+    private long latestIndex(Pattern pattern) throws IOException {
+        List<Long> indexes = indexes(pattern);
+        return indexes.isEmpty() ? 0 : indexes.get(indexes.size() - 1);
+    }
+
+    private List<Long> indexes(Pattern pattern) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> pattern.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String segmentFileName(long index) {
+        return String.format("journal-%016d.log", index);
+    }
+
+    private static String snapshotFileName(long index) {
+        return String.format("snapshot-%016d.bin", index);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        lock.lock();
+        try {
+            closed = true;
+            hasPending.signal();
+        } finally {
+            lock.unlock();
+        }
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        compactor.shutdown();
+        compactor.awaitTermination(10, TimeUnit.SECONDS);
+        segment.force(true);
+        segment.close();
+    }
+}
@@ -1,22 +1,71 @@
 package kim.hyeongcheol.tictactoeserver.repository;
 
 import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Repository
+@ConditionalOnProperty(name = "game.repository.type", havingValue = "memory", matchIfMissing = true)
 public class MemoryGameRoomRepository implements GameRoomRepository{
     private final Map<String, GameRoom> gameRooms = new ConcurrentHashMap<>();
     private final Map<String, String> userSessionToRoomId = new ConcurrentHashMap<>();
+    private final Map<String, String> resumeTokenDigests = new ConcurrentHashMap<>();
+
+    private final Map<String, IndexEntry> indexEntries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, GameRoom> roomsByCreation = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, GameRoom> joinableRooms = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, GameRoom> roomsByName = new ConcurrentSkipListMap<>();
+    private final AtomicLong creationSequence = new AtomicLong();
+    private final Map<String, GameRoom.GameState> indexedStates = new ConcurrentHashMap<>();
+    private final Map<GameRoom.GameState, AtomicLong> stateCounts = new EnumMap<>(GameRoom.GameState.class);
+
+    public MemoryGameRoomRepository() {
+        for (GameRoom.GameState gameState : GameRoom.GameState.values()) {
+            stateCounts.put(gameState, new AtomicLong());
+        }
+    }
+
+    private record IndexEntry(long order, String nameKey) {
+    }
 
     @Override
     public GameRoom save(GameRoom gameRoom) {
+        IndexEntry entry = indexEntries.computeIfAbsent(gameRoom.getRoomId(), roomId -> {
+            long order = creationSequence.incrementAndGet();
+            return new IndexEntry(order, nameKey(gameRoom.getRoomName(), order));
+        });
         gameRooms.put(gameRoom.getRoomId(), gameRoom);
+        roomsByCreation.put(entry.order(), gameRoom);
+        roomsByName.put(entry.nameKey(), gameRoom);
+        if (gameRoom.getPlayers().size() < 2) {
+            joinableRooms.put(entry.order(), gameRoom);
+        } else {
+            joinableRooms.remove(entry.order());
+        }
+        GameRoom.GameState previousState = indexedStates.put(gameRoom.getRoomId(), gameRoom.getGameState());
+        if (previousState != gameRoom.getGameState()) {
+            stateCounts.get(gameRoom.getGameState()).incrementAndGet();
+            if (previousState != null) {
+                stateCounts.get(previousState).decrementAndGet();
+            }
+        }
         return gameRoom;
     }
 
@@ -28,16 +77,68 @@ public class MemoryGameRoomRepository implements GameRoomRepository{
     @Override
     public void deleteById(String roomId) {
         gameRooms.remove(roomId);
+        IndexEntry entry = indexEntries.remove(roomId);
+        if (entry != null) {
+            roomsByCreation.remove(entry.order());
+            joinableRooms.remove(entry.order());
+            roomsByName.remove(entry.nameKey());
+        }
+        GameRoom.GameState previousState = indexedStates.remove(roomId);
+        if (previousState != null) {
+            stateCounts.get(previousState).decrementAndGet();
+        }
+    }
+
+    @Override
+    public long count() {
+        return gameRooms.size();
+    }
+
+    @Override
+    public long countByGameState(GameRoom.GameState gameState) {
+        return stateCounts.get(gameState).get();
+    }
+
+    @Override
+    public Stream<GameRoom> streamAll() {
+        return gameRooms.values().stream();
+    }
+
+    @Override
+    public RoomSlice findJoinable(String cursor, int limit) {
+        Long order = cursor == null ? null : decodeOrder(cursor);
+        if (cursor != null && order == null) {
+            return RoomSlice.EMPTY;
+        }
+        NavigableMap<Long, GameRoom> view = order == null ? joinableRooms : joinableRooms.tailMap(order, false);
+        return slice(view, limit, MemoryGameRoomRepository::encodeOrder);
+    }
+
+    @Override
+    public RoomSlice findNewest(String cursor, int limit) {
+        Long order = cursor == null ? null : decodeOrder(cursor);
+        if (cursor != null && order == null) {
+            return RoomSlice.EMPTY;
+        }
+        NavigableMap<Long, GameRoom> view = order == null ? roomsByCreation : roomsByCreation.headMap(order, false);
+        return slice(view.descendingMap(), limit, MemoryGameRoomRepository::encodeOrder);
     }
 
     @Override
-    public List<GameRoom> findAll() {
-        return new ArrayList<>(gameRooms.values());
+    public RoomSlice findByRoomNamePrefix(String prefix, String cursor, int limit) {
+        String normalizedPrefix = prefix.toLowerCase(Locale.ROOT);
+        String upperBound = normalizedPrefix + Character.MAX_VALUE;
+        String from = cursor == null ? normalizedPrefix : decodeNameKey(cursor);
+        if (from == null || from.compareTo(normalizedPrefix) < 0 || from.compareTo(upperBound) >= 0) {
+            return RoomSlice.EMPTY;
+        }
+        NavigableMap<String, GameRoom> view = roomsByName.subMap(from, cursor == null, upperBound, false);
+        return slice(view, limit, MemoryGameRoomRepository::encodeNameKey);
     }
 
     @Override
-    public void linkSessionToRoom(String sessionId, String roomId) {
-        userSessionToRoomId.put(sessionId, roomId);
+    public boolean linkSessionToRoom(String sessionId, String roomId) {
+        return userSessionToRoomId.putIfAbsent(sessionId, roomId) == null;
     }
 
     @Override
@@ -49,4 +150,73 @@ public class MemoryGameRoomRepository implements GameRoomRepository{
     public void unlinkSessionFromRoom(String sessionId) {
         userSessionToRoomId.remove(sessionId);
     }
+
+    @Override
+    public boolean unlinkSessionFromRoom(String sessionId, String roomId) {
+        return userSessionToRoomId.remove(sessionId, roomId);
+    }
+
+    @Override
+    public void saveResumeToken(String playerId, String tokenDigest) {
+        resumeTokenDigests.put(playerId, tokenDigest);
+    }
+
+    @Override
+    public void deleteResumeToken(String playerId) {
+        resumeTokenDigests.remove(playerId);
+    }
+
+    @Override
+    public Map<String, String> findResumeTokens() {
+        return Map.copyOf(resumeTokenDigests);
+    }
+
+    Collection<GameRoom> roomsInCreationOrder() {
+        return Collections.unmodifiableCollection(roomsByCreation.values());
+    }
+
+    Map<String, String> sessionLinks() {
+        return Collections.unmodifiableMap(userSessionToRoomId);
+    }
+
+    private static <K> RoomSlice slice(NavigableMap<K, GameRoom> view, int limit, Function<K, String> cursorEncoder) {
+        List<GameRoom> rooms = new ArrayList<>(limit);
+        K lastKey = null;
+        for (Map.Entry<K, GameRoom> entry : view.entrySet()) {
+            if (rooms.size() == limit) {
+                return new RoomSlice(rooms, cursorEncoder.apply(lastKey));
+            }
+            rooms.add(entry.getValue());
+            lastKey = entry.getKey();
+        }
+        return new RoomSlice(rooms, null);
+    }
+
+    private static String nameKey(String roomName, long order) {
+        return roomName.toLowerCase(Locale.ROOT) + '\u0000' + String.format("%016x", order);
+    }
+
+    private static String encodeOrder(long order) {
+        return Long.toString(order, 36);
+    }
+
+    private static Long decodeOrder(String cursor) {
+        try {
+            return Long.parseLong(cursor, 36);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String encodeNameKey(String nameKey) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(nameKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeNameKey(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,15 @@
+package kim.hyeongcheol.tictactoeserver.repository;
+
+public record PlayerRating(String playerId, String nickname, int rating, int wins, int losses, int draws) {
+
+    public PlayerRating withResult(String nickname, int rating, double score) {
+        return new PlayerRating(playerId, nickname, rating,
+                score == 1.0 ? wins + 1 : wins,
+                score == 0.0 ? losses + 1 : losses,
+                score == 0.5 ? draws + 1 : draws);
+    }
+
+    public int games() {
+        return wins + losses + draws;
+    }
+}
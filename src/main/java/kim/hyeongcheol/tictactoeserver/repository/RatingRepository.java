@@ -0,0 +1,127 @@
+package kim.hyeongcheol.tictactoeserver.repository;
+
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+@Repository
+public class RatingRepository {
+
+    public static final int MAX_RATING = 4095;
+
+    private final Map<String, Row> ratings = new ConcurrentHashMap<>();
+    private final AtomicLong saves = new AtomicLong();
+    private final List<Set<String>> buckets = IntStream.rangeClosed(0, MAX_RATING)
+            .<Set<String>>mapToObj(rating -> ConcurrentHashMap.newKeySet())
+            .toList();
+    private final AtomicLongArray ratingTree = new AtomicLongArray(MAX_RATING + 2);
+
+    public Optional<PlayerRating> findByPlayerId(String playerId) {
+        Row row = ratings.get(playerId);
+        return row == null ? Optional.empty() : Optional.of(row.rating());
+    }
+
+    public void save(PlayerRating rating) {
+        if (rating.rating() < 0 || rating.rating() > MAX_RATING) {
+            throw new IllegalArgumentException("rating must be between 0 and " + MAX_RATING + ": " + rating.rating());
+        }
+        Row previousRow = ratings.put(rating.playerId(), new Row(rating, saves.incrementAndGet()));
+        PlayerRating previous = previousRow == null ? null : previousRow.rating();
+        if (previous != null && previous.rating() == rating.rating()) {
+            return;
+        }
+        buckets.get(rating.rating()).add(rating.playerId());
+        addCount(rating.rating(), 1);
+        if (previous != null) {
+            buckets.get(previous.rating()).remove(previous.playerId());
+            addCount(previous.rating(), -1);
+        }
+    }
+
+    public void deleteByPlayerId(String playerId) {
+        Row row = ratings.remove(playerId);
+        if (row == null) {
+            return;
+        }
+        buckets.get(row.rating().rating()).remove(playerId);
+        addCount(row.rating().rating(), -1);
+    }
+
+    public List<String> findLeastActive(int limit, int provisionalGames) {
+        return ratings.values().stream()
+                .sorted(Comparator.comparing((Row row) -> row.rating().games() >= provisionalGames)
+                        .thenComparingLong(Row::savedAt))
+                .limit(limit)
+                .map(row -> row.rating().playerId())
+                .toList();
+    }
+
+    public List<PlayerRating> findTop(int limit) {
+        List<PlayerRating> top = new ArrayList<>(limit);
+        long remaining = countUpTo(MAX_RATING);
+        int rating = MAX_RATING + 1;
+        while (top.size() < limit && remaining > 0) {
+            rating = Math.min(ratingAt(remaining), rating - 1);
+            if (rating < 0) {
+                break;
+            }
+            for (String playerId : buckets.get(rating)) {
+                if (top.size() >= limit) {
+                    break;
+                }
+                Row row = ratings.get(playerId);
+                if (row != null && row.rating().rating() == rating) {
+                    top.add(row.rating());
+                }
+            }
+            remaining = countUpTo(rating - 1);
+        }
+        return top;
+    }
+
+    public long rankOf(int rating) {
+        return 1 + countUpTo(MAX_RATING) - countUpTo(rating);
+    }
+
+    public long count() {
+        return ratings.size();
+    }
+
+    private void addCount(int rating, long delta) {
+        for (int index = rating + 1; index < ratingTree.length(); index += index & -index) {
+            ratingTree.addAndGet(index, delta);
+        }
+    }
+
+    private long countUpTo(int rating) {
+        long count = 0;
+        for (int index = rating + 1; index > 0; index -= index & -index) {
+            count += ratingTree.get(index);
+        }
+        return count;
+    }
+
+    private int ratingAt(long position) {
+        int index = 0;
+        for (int step = Integer.highestOneBit(ratingTree.length() - 1); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next < ratingTree.length() && ratingTree.get(next) < position) {
+                index = next;
+                position -= ratingTree.get(next);
+            }
+        }
+        return Math.min(index, MAX_RATING);
+    }
+
+    private record Row(PlayerRating rating, long savedAt) {
+    }
+}
@@ -0,0 +1,182 @@
+package kim.hyeongcheol.tictactoeserver.repository;
+
+import kim.hyeongcheol.tictactoeserver.game.AiDifficulty;
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import kim.hyeongcheol.tictactoeserver.game.TicTacToeGame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32C;
+
+final class RoomJournalCodec {
+
+    static final byte ROOM_PUT = 1;
+    static final byte ROOM_DELETE = 2;
+    static final byte SESSION_LINK = 3;
+    static final byte SESSION_UNLINK = 4;
+    static final byte RESUME_TOKEN_PUT = 5;
+    static final byte RESUME_TOKEN_DELETE = 6;
+
+    static final int HEADER_BYTES = Integer.BYTES;
+    static final int TRAILER_BYTES = Integer.BYTES;
+    static final int MAX_RECORD_BYTES = 1 << 20;
+
+    private RoomJournalCodec() {
+    }
+
+    static byte[] roomPut(GameRoom room) {
+        return record(ROOM_PUT, out -> {
+            out.writeUTF(room.getRoomId());
+            out.writeUTF(room.getRoomName());
+            out.writeUTF(room.getHostNickname());
+            out.writeUTF(room.getHostSessionId());
+            Map<String, String> players = Map.copyOf(room.getPlayers());
+            out.writeByte(players.size());
+            for (Map.Entry<String, String> player : players.entrySet()) {
+                out.writeUTF(player.getKey());
+                out.writeUTF(player.getValue());
+            }
+            Set<String> ready = room.getReadyPlayerSessionIds();
+            out.writeByte(ready.size());
+            for (String sessionId : ready) {
+                out.writeUTF(sessionId);
+            }
+            out.writeByte(room.getGameState().ordinal());
+            out.writeLong(room.getSequence());
+            out.writeLong(room.getVersion());
+            TicTacToeGame game = room.getGame();
+            out.writeBoolean(game != null);
+            if (game != null) {
+                out.writeUTF(game.getPlayerXSessionId());
+                out.writeUTF(game.getPlayerOSessionId());
+                out.writeShort(game.getXMask());
+                out.writeShort(game.getOMask());
+                writeNullable(out, game.getCurrentPlayerSessionId());
+                writeNullable(out, game.getWinnerSessionId());
+                out.writeBoolean(game.isGameOver());
+                out.writeLong(game.getMoveHistory());
+            }
+            writeNullable(out, room.getAiSessionId());
+            if (room.hasAi()) {
+                out.writeByte(room.getAiDifficulty().ordinal());
+            }
+        });
+    }
+
+    static byte[] roomDelete(String roomId) {
+        return record(ROOM_DELETE, out -> out.writeUTF(roomId));
+    }
+
+    static byte[] sessionLink(String sessionId, String roomId) {
+        return record(SESSION_LINK, out -> {
+            out.writeUTF(sessionId);
+            out.writeUTF(roomId);
+        });
+    }
+
+    static byte[] sessionUnlink(String sessionId) {
+        return record(SESSION_UNLINK, out -> out.writeUTF(sessionId));
+    }
+
+    static byte[] resumeTokenPut(String playerId, String tokenDigest) {
+        return record(RESUME_TOKEN_PUT, out -> {
+            out.writeUTF(playerId);
+            out.writeUTF(tokenDigest);
+        });
+    }
+
+    static byte[] resumeTokenDelete(String playerId) {
+        return record(RESUME_TOKEN_DELETE, out -> out.writeUTF(playerId));
+    }
+
+    static GameRoom readRoom(DataInputStream in) throws IOException {
+        String roomId = in.readUTF();
+        String roomName = in.readUTF();
+        String hostNickname = in.readUTF();
+        String hostSessionId = in.readUTF();
+        int playerCount = in.readUnsignedByte();
+        Map<String, String> players = new HashMap<>();
+        for (int i = 0; i < playerCount; i++) {
+            players.put(in.readUTF(), in.readUTF());
+        }
+        int readyCount = in.readUnsignedByte();
+        Set<String> ready = new HashSet<>();
+        for (int i = 0; i < readyCount; i++) {
+            ready.add(in.readUTF());
+        }
+        GameRoom.GameState gameState = GameRoom.GameState.values()[in.readUnsignedByte()];
+        long sequence = in.readLong();
+        long version = in.readLong();
+        boolean hasGame = in.readBoolean();
+        String playerXSessionId = hasGame ? in.readUTF() : null;
+        String playerOSessionId = hasGame ? in.readUTF() : null;
+        int xMask = hasGame ? in.readUnsignedShort() : 0;
+        int oMask = hasGame ? in.readUnsignedShort() : 0;
+        String currentPlayerSessionId = hasGame ? readNullable(in) : null;
+        String winnerSessionId = hasGame ? readNullable(in) : null;
+        boolean gameOver = hasGame && in.readBoolean();
+        long moveHistory = hasGame ? in.readLong() : 0;
+        String aiSessionId = readNullable(in);
+        AiDifficulty aiDifficulty = aiSessionId != null ? AiDifficulty.values()[in.readUnsignedByte()] : null;
+        TicTacToeGame game = hasGame
+                ? TicTacToeGame.restore(playerXSessionId, playerOSessionId, xMask, oMask, moveHistory,
+                        currentPlayerSessionId, winnerSessionId, gameOver)
+                : null;
+        GameRoom room = GameRoom.restore(roomId, roomName, hostNickname, hostSessionId, players, ready, gameState, game, sequence, version);
+        if (aiSessionId != null) {
+            room.restoreAi(aiSessionId, aiDifficulty);
+        }
+        return room;
+    }
+
+    static boolean checksumMatches(ByteBuffer body, int expected) {
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+        return (int) crc.getValue() == expected;
+    }
+
+    private static byte[] record(byte type, PayloadWriter writer) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0);
+            out.writeByte(type);
+            writer.write(out);
+            out.writeInt(0);
+            byte[] record = bytes.toByteArray();
+            int bodyLength = record.length - HEADER_BYTES - TRAILER_BYTES;
+            CRC32C crc = new CRC32C();
+            crc.update(record, HEADER_BYTES, bodyLength);
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            buffer.putInt(0, bodyLength);
+            buffer.putInt(record.length - TRAILER_BYTES, (int) crc.getValue());
+            return record;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    @FunctionalInterface
+    private interface PayloadWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,10 @@
+package kim.hyeongcheol.tictactoeserver.repository;
+
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+
+import java.util.List;
+
+public record RoomSlice(List<GameRoom> rooms, String nextCursor) {
+
+    public static final RoomSlice EMPTY = new RoomSlice(List.of(), null);
+}
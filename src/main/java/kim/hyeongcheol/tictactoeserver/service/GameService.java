@@ -1,20 +1,35 @@
 package kim.hyeongcheol.tictactoeserver.service;
 
+import kim.hyeongcheol.tictactoeserver.cluster.ClusterMessageRelay;
+import kim.hyeongcheol.tictactoeserver.cluster.ClusterNode;
+import kim.hyeongcheol.tictactoeserver.dto.GameHistoryEntry;
+import kim.hyeongcheol.tictactoeserver.game.AiDifficulty;
 import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import kim.hyeongcheol.tictactoeserver.game.TicTacToeGame;
 import kim.hyeongcheol.tictactoeserver.dto.GameMessage;
-import kim.hyeongcheol.tictactoeserver.dto.PlayerInfo;
+import kim.hyeongcheol.tictactoeserver.dto.MovePayload;
 import kim.hyeongcheol.tictactoeserver.dto.PlayerRole;
 import kim.hyeongcheol.tictactoeserver.dto.RoomInfo;
-import kim.hyeongcheol.tictactoeserver.dto.RoomStateDto;
-import kim.hyeongcheol.tictactoeserver.dto.TicTacToeGameDto;
+import kim.hyeongcheol.tictactoeserver.dto.RoomSnapshot;
+import kim.hyeongcheol.tictactoeserver.executor.HashedTimingWheel;
+import kim.hyeongcheol.tictactoeserver.executor.RoomCommandExecutor;
+import kim.hyeongcheol.tictactoeserver.messaging.CompactWireNegotiator;
+import kim.hyeongcheol.tictactoeserver.metrics.GameMetrics;
+import kim.hyeongcheol.tictactoeserver.repository.CompactId;
+import kim.hyeongcheol.tictactoeserver.repository.GameHistoryRepository;
 import kim.hyeongcheol.tictactoeserver.repository.GameRoomRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
@@ -22,44 +37,41 @@ public class GameService {
 
     private final SimpMessagingTemplate messagingTemplate;
     private final GameRoomRepository gameRoomRepository;
+    private final RoomSnapshotMapper roomSnapshotMapper;
+    private final LobbyService lobbyService;
+    private final HashedTimingWheel timingWheel;
+    private final RoomCommandExecutor roomCommandExecutor;
+    private final PlayerSessionService playerSessionService;
+    private final GameMetrics gameMetrics;
+    private final RoomBroadcaster roomBroadcaster;
+    private final GameHistoryRepository gameHistoryRepository;
+    private final ClusterNode clusterNode;
+    private final ClusterMessageRelay clusterMessageRelay;
+    private final CompactWireNegotiator compactWireNegotiator;
+    private final RatingService ratingService;
+    private final Map<String, String> spectatedRoomIds = new ConcurrentHashMap<>();
 
-    private RoomStateDto mapToRoomStateDto(GameRoom room) {
-        if (room == null) return null;
-
-        List<PlayerInfo> playerInfos = room.getPlayers().entrySet().stream()
-                .map(entry -> {
-                    String sessionId = entry.getKey();
-                    String nickname = entry.getValue();
-                    PlayerRole role = sessionId.equals(room.getHostSessionId()) ? PlayerRole.HOST : PlayerRole.GUEST;
-                    return PlayerInfo.builder()
-                            .sessionId(sessionId)
-                            .nickname(nickname)
-                            .role(role)
-                            .build();
-                })
-                .toList();
+    @Value("${game.broadcast.delta-updates:true}")
+    private boolean deltaUpdates;
 
-        return RoomStateDto.builder()
-                .roomId(room.getRoomId())
-                .roomName(room.getRoomName())
-                .hostNickname(room.getHostNickname())
-                .players(playerInfos)
-                .readyPlayerSessionIds(room.getReadyPlayerSessionIds())
-                .game(TicTacToeGameDto.of(room.getGame()))
-                .gameState(room.getGameState())
-                .build();
-    }
+    @Value("${game.room.idle-ttl:10m}")
+    private Duration idleTtl;
+
+    @Value("${game.turn.timeout:30s}")
+    private Duration turnTimeout;
+
+    @Value("${game.spectate.max-per-room:5000}")
+    private int maxSpectatorsPerRoom;
+
+    @Value("${game.ai.move-delay:500ms}")
+    private Duration aiMoveDelay;
+
+    @Value("${game.history.recent-limit:20}")
+    private int recentGamesLimit;
 
     public void getRoomList(String sessionId) {
-        List<RoomInfo> roomInfos = gameRoomRepository.findAll().stream()
-                .map(room -> RoomInfo.builder()
-                        .roomId(room.getRoomId())
-                        .roomName(room.getRoomName())
-                        .playerCount((long) room.getPlayers().size())
-                        .hostNickname(room.getHostNickname())
-                        .build())
-                .toList();
-        messagingTemplate.convertAndSendToUser(sessionId, "/queue/lobby/rooms", roomInfos, createHeaders(sessionId));
+        List<RoomInfo> roomInfos = lobbyService.snapshot();
+        sendToPlayer(sessionId, "/queue/lobby/rooms", roomInfos);
     }
 
     public void createRoom(String roomName, String nickname, String sessionId) {
@@ -71,15 +83,44 @@ public class GameService {
             sendError(sessionId, "방 제목은 1자 이상 50자 이하로 입력해주세요.");
             return;
         }
-        if (gameRoomRepository.findRoomIdBySessionId(sessionId).isPresent()) {
+        String roomId = clusterNode.newRoomId();
+        if (!gameRoomRepository.linkSessionToRoom(sessionId, roomId)) {
             sendError(sessionId, "이미 참여 중인 방이 있습니다. 방을 나오신 후 다시 시도해주세요.");
             return;
         }
-        String roomId = UUID.randomUUID().toString();
+        stopSpectating(sessionId);
         GameRoom room = new GameRoom(roomId, roomName, nickname, sessionId);
+        RoomSnapshot roomState = roomSnapshotMapper.snapshotOf(room);
         gameRoomRepository.save(room);
-        gameRoomRepository.linkSessionToRoom(sessionId, roomId);
-        messagingTemplate.convertAndSendToUser(sessionId, "/queue/room/created", mapToRoomStateDto(room), createHeaders(sessionId));
+        sendToPlayer(sessionId, "/queue/room/created", roomState);
+        lobbyService.roomCreated(room);
+        scheduleIdleCheck(roomId, idleTtl);
+    }
+
+    public void createMatchedRoom(String roomId, String hostNickname, String hostSessionId, String guestNickname, String guestSessionId) {
+        boolean hostLinked = gameRoomRepository.linkSessionToRoom(hostSessionId, roomId);
+        boolean guestLinked = gameRoomRepository.linkSessionToRoom(guestSessionId, roomId);
+        if (!hostLinked || !guestLinked) {
+            if (hostLinked) {
+                gameRoomRepository.unlinkSessionFromRoom(hostSessionId);
+                sendError(hostSessionId, "매칭 상대를 찾지 못했습니다. 다시 시도해주세요.");
+            }
+            if (guestLinked) {
+                gameRoomRepository.unlinkSessionFromRoom(guestSessionId);
+                sendError(guestSessionId, "매칭 상대를 찾지 못했습니다. 다시 시도해주세요.");
+            }
+            return;
+        }
+        stopSpectating(hostSessionId);
+        stopSpectating(guestSessionId);
+        GameRoom room = new GameRoom(roomId, hostNickname + " vs " + guestNickname, hostNickname, hostSessionId);
+        room.addPlayer(guestSessionId, guestNickname);
+        RoomSnapshot roomState = roomSnapshotMapper.snapshotOf(room);
+        gameRoomRepository.save(room);
+        sendToPlayer(hostSessionId, "/queue/room/joined", roomState);
+        sendToPlayer(guestSessionId, "/queue/room/joined", roomState);
+        lobbyService.roomCreated(room);
+        scheduleIdleCheck(roomId, idleTtl);
     }
 
     public void joinRoom(String roomId, String nickname, String sessionId) {
@@ -87,36 +128,95 @@ public class GameService {
             sendError(sessionId, "닉네임은 1자 이상 15자 이하로 입력해주세요.");
             return;
         }
-        GameRoom room = gameRoomRepository.findById(roomId).orElse(null);
+        GameRoom room = roomId == null ? null : gameRoomRepository.findById(roomId).orElse(null);
         if (room == null) {
             sendError(sessionId, "존재하지 않는 방입니다.");
             return;
         }
-        if (gameRoomRepository.findRoomIdBySessionId(sessionId).isPresent()) {
-            sendError(sessionId, "이미 참여 중인 방이 있습니다. 방을 나오신 후 다시 시도해주세요.");
-            return;
-        }
         if (room.getPlayers().size() >= 2) {
             sendError(sessionId, "방이 꽉 찼습니다.");
             return;
         }
+        if (!gameRoomRepository.linkSessionToRoom(sessionId, roomId)) {
+            sendError(sessionId, "이미 참여 중인 방이 있습니다. 방을 나오신 후 다시 시도해주세요.");
+            return;
+        }
+        stopSpectating(sessionId);
         room.addPlayer(sessionId, nickname);
-        gameRoomRepository.linkSessionToRoom(sessionId, roomId);
-        messagingTemplate.convertAndSendToUser(sessionId, "/queue/room/joined", mapToRoomStateDto(room), createHeaders(sessionId));
+        room.touch();
+        gameRoomRepository.save(room);
+        sendToPlayer(sessionId, "/queue/room/joined", roomSnapshotMapper.snapshotOf(room));
+        GameMessage broadcastMessage = GameMessage.builder()
+                .type(GameMessage.MessageType.JOIN)
+                .sequence(room.nextSequence())
+                .sender(nickname)
+                .content(nickname + "님이 입장했습니다.")
+                .roomState(roomSnapshotMapper.snapshotOf(room))
+                .build();
+        roomBroadcaster.broadcast(room, broadcastMessage);
+        lobbyService.playerCountChanged(room);
+    }
+
+    public void getRecentGames(String sessionId) {
+        List<GameHistoryEntry> games = gameHistoryRepository.findRecentByPlayer(sessionId, recentGamesLimit);
+        sendToPlayer(sessionId, "/queue/history", games);
+    }
+
+    public void replayGame(long gameId, String sessionId) {
+        gameHistoryRepository.findById(gameId).ifPresentOrElse(
+                game -> sendToPlayer(sessionId, "/queue/history/replay", game),
+                () -> sendError(sessionId, "존재하지 않는 게임 기록입니다."));
+    }
+
+    public void inviteAi(String roomId, String difficultyName, String sessionId) {
+        GameRoom room = gameRoomRepository.findById(roomId).orElse(null);
+        if (room == null) {
+            sendError(sessionId, "존재하지 않는 방입니다.");
+            return;
+        }
+        if (!sessionId.equals(room.getHostSessionId())) {
+            sendError(sessionId, "방장만 AI 상대를 부를 수 있습니다.");
+            return;
+        }
+        AiDifficulty difficulty;
+        try {
+            difficulty = difficultyName == null ? AiDifficulty.NORMAL : AiDifficulty.valueOf(difficultyName);
+        } catch (IllegalArgumentException e) {
+            sendError(sessionId, "알 수 없는 AI 난이도입니다.");
+            return;
+        }
+        String nickname = "AI (" + difficulty.getLabel() + ")";
+        if (!room.seatAi(CompactId.newId(), nickname, difficulty)) {
+            sendError(sessionId, "AI 상대는 혼자 대기 중인 방에서만 부를 수 있습니다.");
+            return;
+        }
+        room.resetForRematch();
+        room.touch();
+        gameRoomRepository.save(room);
         GameMessage broadcastMessage = GameMessage.builder()
+                .roomId(roomId)
                 .type(GameMessage.MessageType.JOIN)
+                .sequence(room.nextSequence())
                 .sender(nickname)
                 .content(nickname + "님이 입장했습니다.")
-                .roomState(mapToRoomStateDto(room))
+                .roomState(roomSnapshotMapper.snapshotOf(room))
                 .build();
-        messagingTemplate.convertAndSend("/topic/room/" + roomId, broadcastMessage);
+        roomBroadcaster.broadcast(room, broadcastMessage);
+        lobbyService.playerCountChanged(room);
+        startGameIfReady(room);
     }
 
     public void processMessage(String roomId, GameMessage message, String sessionId) {
         gameRoomRepository.findById(roomId).ifPresent(room -> {
             String nickname = room.getPlayers().get(sessionId);
             if (nickname == null) return;
+            if (message.getType() == null
+                    || message.getType() == GameMessage.MessageType.MOVE && message.getMove() == null) {
+                sendError(sessionId, "잘못된 요청입니다.");
+                return;
+            }
 
+            room.touch();
             switch (message.getType()) {
                 case CHAT -> handleChatMessage(room, message, nickname, sessionId);
                 case READY, UNREADY -> handleReady(room, sessionId, message.getType());
@@ -126,6 +226,66 @@ public class GameService {
         });
     }
 
+    public void resync(String roomId, String sessionId) {
+        gameRoomRepository.findById(roomId).ifPresent(room -> {
+            if (!room.getPlayers().containsKey(sessionId) && !room.getSpectatorSessionIds().contains(sessionId)) return;
+
+            GameMessage syncMessage = GameMessage.builder()
+                    .roomId(roomId)
+                    .type(GameMessage.MessageType.SYNC)
+                    .sequence(room.getSequence())
+                    .roomState(roomSnapshotMapper.snapshotOf(room))
+                    .build();
+            sendToPlayer(sessionId, "/queue/room/state", syncMessage);
+        });
+    }
+
+    public void rejoin(String roomId, String sessionId) {
+        gameRoomRepository.findById(roomId).ifPresent(room -> {
+            if (!room.getPlayers().containsKey(sessionId)) return;
+
+            room.touch();
+            sendToPlayer(sessionId, "/queue/room/joined", roomSnapshotMapper.snapshotOf(room));
+        });
+    }
+
+    public void spectate(String roomId, String sessionId) {
+        GameRoom room = gameRoomRepository.findById(roomId).orElse(null);
+        if (room == null) {
+            sendError(sessionId, "존재하지 않는 방입니다.");
+            return;
+        }
+        if (gameRoomRepository.findRoomIdBySessionId(sessionId).isPresent()) {
+            sendError(sessionId, "게임에 참여 중인 방이 있어 관전할 수 없습니다.");
+            return;
+        }
+        if (room.getSpectatorCount() >= maxSpectatorsPerRoom) {
+            sendError(sessionId, "관전 인원이 가득 찼습니다.");
+            return;
+        }
+        String previousRoomId = spectatedRoomIds.put(sessionId, roomId);
+        if (previousRoomId != null && !previousRoomId.equals(roomId)) {
+            roomCommandExecutor.execute(previousRoomId, () ->
+                    gameRoomRepository.findById(previousRoomId).ifPresent(previous -> previous.removeSpectator(sessionId)));
+        }
+        room.addSpectator(sessionId);
+        GameMessage syncMessage = GameMessage.builder()
+                .roomId(roomId)
+                .type(GameMessage.MessageType.SYNC)
+                .sequence(room.getSequence())
+                .roomState(roomSnapshotMapper.snapshotOf(room))
+                .build();
+        sendToPlayer(sessionId, "/queue/room/spectating", syncMessage);
+    }
+
+    public void stopSpectating(String sessionId) {
+        String roomId = spectatedRoomIds.remove(sessionId);
+        if (roomId == null) return;
+
+        roomCommandExecutor.execute(roomId, () ->
+                gameRoomRepository.findById(roomId).ifPresent(room -> room.removeSpectator(sessionId)));
+    }
+
     public void handleDisconnect(String sessionId) {
         gameRoomRepository.findRoomIdBySessionId(sessionId).ifPresent(roomId -> {
             gameRoomRepository.unlinkSessionFromRoom(sessionId);
@@ -135,40 +295,56 @@ public class GameService {
             String nickname = room.getPlayers().get(sessionId);
             if (nickname == null) return;
 
+            room.touch();
+            room.replaceTurnTimeout(null);
             if (sessionId.equals(room.getHostSessionId())) {
+                if (room.getGameState() == GameRoom.GameState.PLAYING && room.forfeit(sessionId)) {
+                    recordFinishedGame(room, true);
+                }
                 gameRoomRepository.deleteById(roomId);
+                forgetSpectators(room);
                 room.getPlayers().keySet().stream()
                         .filter(sid -> !sid.equals(sessionId))
-                        .forEach(gameRoomRepository::unlinkSessionFromRoom);
+                        .forEach(sid -> releaseSeat(sid, roomId));
                 GameMessage message = GameMessage.builder()
                         .roomId(roomId)
                         .type(GameMessage.MessageType.LEAVE)
+                        .sequence(room.nextSequence())
                         .content("방장이 나가서 방이 사라졌습니다.")
                         .sender("SYSTEM")
                         .build();
-                messagingTemplate.convertAndSend("/topic/room/" + roomId, message);
+                roomBroadcaster.broadcast(room, message);
+                lobbyService.roomRemoved(roomId);
             } else {
                 if (room.getGameState() == GameRoom.GameState.PLAYING) {
+                    if (room.forfeit(sessionId)) {
+                        recordFinishedGame(room, true);
+                    }
                     room.setGameState(GameRoom.GameState.FINISHED);
-                    room.getReadyPlayerSessionIds().clear();
+                    room.clearReady();
+                    gameRoomRepository.save(room);
                     GameMessage winMessage = GameMessage.builder()
                             .roomId(roomId)
                             .type(GameMessage.MessageType.GAME_END)
+                            .sequence(room.nextSequence())
                             .content("상대방이 나가서 승리했습니다!")
-                            .roomState(mapToRoomStateDto(room))
+                            .roomState(roomSnapshotMapper.snapshotOf(room))
                             .build();
-                    messagingTemplate.convertAndSend("/topic/room/" + roomId, winMessage);
+                    roomBroadcaster.broadcast(room, winMessage);
                 }
                 room.removePlayer(sessionId);
                 room.resetForRematch();
+                gameRoomRepository.save(room);
                 GameMessage leaveMessage = GameMessage.builder()
                         .roomId(roomId)
                         .type(GameMessage.MessageType.LEAVE)
+                        .sequence(room.nextSequence())
                         .content(nickname + "님이 나갔습니다.")
                         .sender(nickname)
-                        .roomState(mapToRoomStateDto(room))
+                        .roomState(roomSnapshotMapper.snapshotOf(room))
                         .build();
-                messagingTemplate.convertAndSend("/topic/room/" + roomId, leaveMessage);
+                roomBroadcaster.broadcast(room, leaveMessage);
+                lobbyService.playerCountChanged(room);
             }
         });
     }
@@ -181,28 +357,36 @@ public class GameService {
         PlayerRole senderRole = sessionId.equals(room.getHostSessionId()) ? PlayerRole.HOST : PlayerRole.GUEST;
         message.setSenderRole(senderRole);
         message.setSender(nickname);
-        messagingTemplate.convertAndSend("/topic/room/" + room.getRoomId(), message);
+        message.setSequence(null);
+        roomBroadcaster.broadcastChat(room, message);
     }
 
     private void handleReady(GameRoom room, String sessionId, GameMessage.MessageType type) {
         if (type == GameMessage.MessageType.READY) {
-            room.getReadyPlayerSessionIds().add(sessionId);
+            room.markReady(sessionId);
         } else {
-            room.getReadyPlayerSessionIds().remove(sessionId);
+            room.unmarkReady(sessionId);
         }
+        gameRoomRepository.save(room);
         String nickname = room.getPlayers().get(sessionId);
         GameMessage statusUpdate = GameMessage.builder()
                 .roomId(room.getRoomId())
                 .type(GameMessage.MessageType.READY)
+                .sequence(room.nextSequence())
                 .sender(nickname)
-                .roomState(mapToRoomStateDto(room))
+                .roomState(roomSnapshotMapper.snapshotOf(room))
                 .build();
-        messagingTemplate.convertAndSend("/topic/room/" + room.getRoomId(), statusUpdate);
-        if (room.getPlayers().size() == 2 && room.getReadyPlayerSessionIds().size() == 2) {
+        roomBroadcaster.broadcast(room, statusUpdate);
+        startGameIfReady(room);
+    }
+
+    private void startGameIfReady(GameRoom room) {
+        if (room.getPlayers().size() == 2 && room.getReadyCount() == 2) {
             if (room.getGameState() == GameRoom.GameState.FINISHED) {
                 room.resetForRematch();
             }
             room.startGame();
+            gameRoomRepository.save(room);
             String currentPlayerSessionId = room.getGame().getCurrentPlayerSessionId();
             String currentPlayerNickname = room.getPlayers().get(currentPlayerSessionId);
             PlayerRole startPlayerRole = currentPlayerSessionId.equals(room.getHostSessionId()) ? PlayerRole.HOST : PlayerRole.GUEST;
@@ -211,34 +395,183 @@ public class GameService {
             GameMessage startMessage = GameMessage.builder()
                     .roomId(room.getRoomId())
                     .type(GameMessage.MessageType.GAME_START)
+                    .sequence(room.nextSequence())
                     .content(startContent)
-                    .roomState(mapToRoomStateDto(room))
+                    .roomState(roomSnapshotMapper.snapshotOf(room))
                     .build();
-            messagingTemplate.convertAndSend("/topic/room/" + room.getRoomId(), startMessage);
+            roomBroadcaster.broadcast(room, startMessage);
+            scheduleTurnTimeout(room);
+            scheduleAiMove(room);
         }
     }
 
     private void handleMove(GameRoom room, String sessionId, int index) {
-        if (room.getGame() == null || room.getGameState() != GameRoom.GameState.PLAYING) return;
-        boolean moveResult = room.getGame().makeMove(index, sessionId);
-        if (moveResult) {
-            GameMessage.GameMessageBuilder gameUpdateBuilder = GameMessage.builder().roomId(room.getRoomId());
-            if (room.getGame().isGameOver()) {
-                room.setGameState(GameRoom.GameState.FINISHED);
-                room.getReadyPlayerSessionIds().clear();
-                String winnerNickname = null;
-                if (room.getGame().getWinnerSessionId() != null) {
-                    winnerNickname = room.getPlayers().get(room.getGame().getWinnerSessionId());
-                }
-                gameUpdateBuilder.type(GameMessage.MessageType.GAME_END)
-                        .content(winnerNickname != null ? winnerNickname + "님의 승리!" : "무승부입니다!");
-            } else {
-                gameUpdateBuilder.type(GameMessage.MessageType.GAME_UPDATE);
+        if (room.getGame() == null || room.getGameState() != GameRoom.GameState.PLAYING) {
+            gameMetrics.moveRejected();
+            return;
+        }
+        TicTacToeGame game = room.getGame();
+        boolean moveResult = room.makeMove(index, sessionId);
+        if (!moveResult) {
+            gameMetrics.moveRejected();
+            sendError(sessionId, "지금은 당신의 턴이 아니거나, 둘 수 없는 위치입니다.");
+            return;
+        }
+        if (game.isGameOver()) {
+            room.replaceTurnTimeout(null);
+            room.setGameState(GameRoom.GameState.FINISHED);
+            room.clearReady();
+            readyAi(room);
+            recordFinishedGame(room, false);
+        }
+        gameRoomRepository.save(room);
+        GameMessage.GameMessageBuilder gameUpdateBuilder = GameMessage.builder().roomId(room.getRoomId());
+        if (game.isGameOver()) {
+            String winnerNickname = null;
+            if (game.getWinnerSessionId() != null) {
+                winnerNickname = room.getPlayers().get(game.getWinnerSessionId());
             }
-            GameMessage gameUpdate = gameUpdateBuilder.roomState(mapToRoomStateDto(room)).build();
-            messagingTemplate.convertAndSend("/topic/room/" + room.getRoomId(), gameUpdate);
+            gameUpdateBuilder.type(GameMessage.MessageType.GAME_END)
+                    .content(winnerNickname != null ? winnerNickname + "님의 승리!" : "무승부입니다!")
+                    .sequence(room.nextSequence())
+                    .roomState(roomSnapshotMapper.snapshotOf(room));
+        } else if (deltaUpdates) {
+            gameUpdateBuilder.type(GameMessage.MessageType.GAME_UPDATE)
+                    .sequence(room.nextSequence())
+                    .move(new MovePayload(index))
+                    .mark(sessionId.equals(game.getPlayerXSessionId()) ? 'X' : 'O')
+                    .nextPlayerSessionId(game.getCurrentPlayerSessionId());
         } else {
-            sendError(sessionId, "지금은 당신의 턴이 아니거나, 둘 수 없는 위치입니다.");
+            gameUpdateBuilder.type(GameMessage.MessageType.GAME_UPDATE)
+                    .sequence(room.nextSequence())
+                    .roomState(roomSnapshotMapper.snapshotOf(room));
+        }
+        roomBroadcaster.broadcast(room, gameUpdateBuilder.build());
+        if (!game.isGameOver()) {
+            scheduleTurnTimeout(room);
+            scheduleAiMove(room);
+        }
+    }
+
+    public void playAiMove(String roomId, TicTacToeGame expectedGame, int expectedMoveCount) {
+        GameRoom room = gameRoomRepository.findById(roomId).orElse(null);
+        if (room == null || room.getGame() != expectedGame || expectedGame.getMoveCount() != expectedMoveCount) return;
+        if (room.getGameState() != GameRoom.GameState.PLAYING || !room.isAiTurn()) return;
+
+        room.touch();
+        handleMove(room, room.getAiSessionId(), room.getAiDifficulty().chooseMove(expectedGame));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeRestoredRooms() {
+        gameRoomRepository.streamAll().map(GameRoom::getRoomId).forEach(roomId ->
+                roomCommandExecutor.execute(roomId, () -> gameRoomRepository.findById(roomId).ifPresent(restored -> {
+                    scheduleIdleCheck(roomId, idleTtl);
+                    if (restored.getGameState() == GameRoom.GameState.PLAYING) {
+                        scheduleTurnTimeout(restored);
+                        scheduleAiMove(restored);
+                    }
+                })));
+    }
+
+    public void expireTurn(String roomId, TicTacToeGame expectedGame, int expectedMoveCount) {
+        GameRoom room = gameRoomRepository.findById(roomId).orElse(null);
+        if (room == null || room.getGameState() != GameRoom.GameState.PLAYING || room.getGame() != expectedGame) return;
+        if (expectedGame.getMoveCount() != expectedMoveCount) return;
+
+        String loserSessionId = room.getGame().getCurrentPlayerSessionId();
+        if (!room.forfeit(loserSessionId)) return;
+
+        room.replaceTurnTimeout(null);
+        room.setGameState(GameRoom.GameState.FINISHED);
+        room.clearReady();
+        readyAi(room);
+        recordFinishedGame(room, true);
+        gameRoomRepository.save(room);
+        GameMessage endMessage = GameMessage.builder()
+                .roomId(roomId)
+                .type(GameMessage.MessageType.GAME_END)
+                .sequence(room.nextSequence())
+                .content("시간 초과로 " + room.getPlayers().get(loserSessionId) + "님이 패배했습니다.")
+                .roomState(roomSnapshotMapper.snapshotOf(room))
+                .build();
+        roomBroadcaster.broadcast(room, endMessage);
+    }
+
+    public void expireIdleRoom(String roomId) {
+        GameRoom room = gameRoomRepository.findById(roomId).orElse(null);
+        if (room == null) return;
+
+        if (room.getGameState() == GameRoom.GameState.PLAYING) {
+            scheduleIdleCheck(roomId, idleTtl);
+            return;
+        }
+        long idleNanos = System.nanoTime() - room.getLastActivityNanos();
+        if (idleNanos < idleTtl.toNanos()) {
+            scheduleIdleCheck(roomId, idleTtl.minusNanos(idleNanos));
+            return;
+        }
+        gameRoomRepository.deleteById(roomId);
+        forgetSpectators(room);
+        room.getPlayers().keySet().forEach(sid -> releaseSeat(sid, roomId));
+        GameMessage message = GameMessage.builder()
+                .roomId(roomId)
+                .type(GameMessage.MessageType.ROOM_CLOSED)
+                .sequence(room.nextSequence())
+                .content("오랫동안 활동이 없어 방이 닫혔습니다.")
+                .sender("SYSTEM")
+                .build();
+        roomBroadcaster.broadcast(room, message);
+        lobbyService.roomRemoved(roomId);
+    }
+
+    private void scheduleIdleCheck(String roomId, Duration delay) {
+        if (!idleTtl.isPositive()) return;
+
+        timingWheel.schedule(delay, () -> roomCommandExecutor.execute(roomId, () -> expireIdleRoom(roomId)));
+    }
+
+    private void scheduleTurnTimeout(GameRoom room) {
+        if (!turnTimeout.isPositive()) return;
+
+        String roomId = room.getRoomId();
+        TicTacToeGame game = room.getGame();
+        int moveCount = game.getMoveCount();
+        room.replaceTurnTimeout(timingWheel.schedule(turnTimeout,
+                () -> roomCommandExecutor.execute(roomId, () -> expireTurn(roomId, game, moveCount))));
+    }
+
+    private void scheduleAiMove(GameRoom room) {
+        if (!room.isAiTurn()) return;
+
+        String roomId = room.getRoomId();
+        TicTacToeGame game = room.getGame();
+        int moveCount = game.getMoveCount();
+        if (!aiMoveDelay.isPositive()) {
+            playAiMove(roomId, game, moveCount);
+            return;
+        }
+        timingWheel.schedule(aiMoveDelay,
+                () -> roomCommandExecutor.execute(roomId, () -> playAiMove(roomId, game, moveCount)));
+    }
+
+    private void recordFinishedGame(GameRoom room, boolean forfeit) {
+        TicTacToeGame game = room.getGame();
+        String playerXNickname = room.getPlayers().get(game.getPlayerXSessionId());
+        String playerONickname = room.getPlayers().get(game.getPlayerOSessionId());
+        gameHistoryRepository.record(game, playerXNickname, playerONickname, forfeit);
+        if (!room.hasAi()) {
+            String winnerSessionId = game.getWinnerSessionId();
+            double playerXScore = winnerSessionId == null ? 0.5
+                    : winnerSessionId.equals(game.getPlayerXSessionId()) ? 1.0 : 0.0;
+            ratingService.recordGame(game.getPlayerXSessionId(), playerXNickname, game.getPlayerOSessionId(), playerONickname,
+                    playerXScore);
+        }
+    }
+
+    private void readyAi(GameRoom room) {
+        if (room.hasAi()) {
+            room.markReady(room.getAiSessionId());
         }
     }
 
@@ -255,35 +588,59 @@ public class GameService {
                     .type(GameMessage.MessageType.KICK)
                     .content("방장에 의해 방에서 내보내졌습니다.")
                     .build();
-            messagingTemplate.convertAndSendToUser(targetSessionId, "/queue/events", kickedUserMessage, createHeaders(targetSessionId));
+            sendToPlayer(targetSessionId, "/queue/events", kickedUserMessage);
 
             room.removePlayer(targetSessionId);
-            gameRoomRepository.unlinkSessionFromRoom(targetSessionId);
+            releaseSeat(targetSessionId, room.getRoomId());
             room.resetForRematch();
+            gameRoomRepository.save(room);
 
             GameMessage leaveMessage = GameMessage.builder()
                     .type(GameMessage.MessageType.LEAVE)
+                    .sequence(room.nextSequence())
                     .sender(kickerNickname)
                     .content(targetNickname + "님이 방장에 의해 강퇴당했습니다.")
-                    .roomState(mapToRoomStateDto(room))
+                    .roomState(roomSnapshotMapper.snapshotOf(room))
                     .build();
-            messagingTemplate.convertAndSend("/topic/room/" + room.getRoomId(), leaveMessage);
+            roomBroadcaster.broadcast(room, leaveMessage);
+            lobbyService.playerCountChanged(room);
         }
     }
 
-    private void sendError(String sessionId, String content) {
+    private void releaseSeat(String sessionId, String roomId) {
+        gameRoomRepository.unlinkSessionFromRoom(sessionId);
+        clusterMessageRelay.releaseRemoteSeat(sessionId, roomId);
+    }
+
+    private void forgetSpectators(GameRoom room) {
+        room.getSpectatorSessionIds().forEach(sid -> spectatedRoomIds.remove(sid, room.getRoomId()));
+    }
+
+    public void sendError(String sessionId, String content) {
+        gameMetrics.errorSent();
         GameMessage errorMsg = GameMessage.builder()
                 .type(GameMessage.MessageType.ERROR)
                 .content(content)
                 .build();
-        messagingTemplate.convertAndSendToUser(sessionId, "/queue/errors", errorMsg, createHeaders(sessionId));
+        sendToPlayer(sessionId, "/queue/errors", errorMsg);
+    }
+
+    private void sendToPlayer(String playerSessionId, String destination, Object payload) {
+        roomBroadcaster.flushDispatchCycle();
+        if (clusterMessageRelay.sendToRemotePlayer(playerSessionId, destination, payload)) return;
+
+        String sessionId = playerSessionService.sessionIdOf(playerSessionId);
+        if (sessionId == null) return;
+
+        messagingTemplate.convertAndSendToUser(sessionId, destination, payload, createHeaders(sessionId, payload));
     }
 
-    private org.springframework.messaging.MessageHeaders createHeaders(String sessionId) {
+    private org.springframework.messaging.MessageHeaders createHeaders(String sessionId, Object payload) {
         SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(org.springframework.messaging.simp.SimpMessageType.MESSAGE);
         if (sessionId != null) {
             headerAccessor.setSessionId(sessionId);
         }
+        compactWireNegotiator.applyContentType(headerAccessor, sessionId, payload);
         headerAccessor.setLeaveMutable(true);
         return headerAccessor.getMessageHeaders();
     }
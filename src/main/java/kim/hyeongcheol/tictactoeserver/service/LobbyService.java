@@ -0,0 +1,247 @@
+package kim.hyeongcheol.tictactoeserver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kim.hyeongcheol.tictactoeserver.cluster.ClusterEnvelope;
+import kim.hyeongcheol.tictactoeserver.cluster.ClusterMessageRelay;
+import kim.hyeongcheol.tictactoeserver.cluster.ClusterNode;
+import kim.hyeongcheol.tictactoeserver.dto.LobbyEvent;
+import kim.hyeongcheol.tictactoeserver.dto.LobbyQuery;
+import kim.hyeongcheol.tictactoeserver.dto.RoomInfo;
+import kim.hyeongcheol.tictactoeserver.dto.RoomPage;
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import kim.hyeongcheol.tictactoeserver.repository.GameRoomRepository;
+import kim.hyeongcheol.tictactoeserver.repository.RoomSlice;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+@Service
+public class LobbyService {
+
+    public static final String LOBBY_TOPIC = "/topic/lobby";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final String LOBBY_PAGE_DESTINATION = "/queue/lobby/page";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final GameRoomRepository gameRoomRepository;
+    private final ClusterNode clusterNode;
+    private final ClusterMessageRelay clusterMessageRelay;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Map<String, RoomInfo>> remoteRoomsByNodeId = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> removedBeforeSnapshotByNodeId = new ConcurrentHashMap<>();
+
+    public LobbyService(SimpMessagingTemplate messagingTemplate,
+                        GameRoomRepository gameRoomRepository,
+                        ClusterNode clusterNode,
+                        ClusterMessageRelay clusterMessageRelay,
+                        ObjectMapper objectMapper) {
+        this.messagingTemplate = messagingTemplate;
+        this.gameRoomRepository = gameRoomRepository;
+        this.clusterNode = clusterNode;
+        this.clusterMessageRelay = clusterMessageRelay;
+        this.objectMapper = objectMapper;
+        clusterMessageRelay.onTopicMessage(LOBBY_TOPIC, this::applyRemoteEvent);
+        clusterNode.onRemoteInterest(LOBBY_TOPIC, this::sendSnapshotTo);
+        clusterNode.onMemberJoined(nodeId -> removedBeforeSnapshotByNodeId.put(nodeId, new HashSet<>()));
+        clusterNode.onMemberLeft(this::forgetRoomsOf);
+        clusterNode.onEnvelope(ClusterEnvelope.Type.LOBBY_SNAPSHOT, this::applyRemoteSnapshot);
+        clusterNode.onEnvelope(ClusterEnvelope.Type.LOBBY_QUERY, this::answerRemoteQuery);
+    }
+
+    public List<RoomInfo> snapshot() {
+        Stream<RoomInfo> localRooms = gameRoomRepository.streamAll().map(LobbyService::toRoomInfo);
+        if (remoteRoomsByNodeId.isEmpty()) {
+            return localRooms.toList();
+        }
+        return Stream.concat(localRooms, remoteRoomsByNodeId.values().stream().flatMap(rooms -> rooms.values().stream())).toList();
+    }
+
+    public RoomPage query(LobbyQuery query, String playerId) {
+        if (!clusterNode.isClustered()) {
+            return queryLocal(query, query.getCursor());
+        }
+        return queryCluster(query, clusterNode.getNodeId(), playerId);
+    }
+
+    private RoomPage queryCluster(LobbyQuery query, String homeNodeId, String playerId) {
+        List<String> nodeIds = clusterNode.getNodeIds();
+        String cursor = query.getCursor() == null ? "" : query.getCursor();
+        int separator = cursor.indexOf('.');
+        int nodeIndex = separator < 0 ? 0 : nodeIndexOf(cursor.substring(0, separator));
+        String localCursor = separator < 0 ? null : cursor.substring(separator + 1);
+        for (; nodeIndex < nodeIds.size(); nodeIndex++, localCursor = null) {
+            String nodeId = nodeIds.get(nodeIndex);
+            if (!clusterNode.isReachable(nodeId) || (playerId == null && !nodeId.equals(clusterNode.getNodeId()))) {
+                continue;
+            }
+            if (!nodeId.equals(clusterNode.getNodeId())) {
+                query.setCursor(nodeIndex + "." + (localCursor == null ? "" : localCursor));
+                clusterNode.send(nodeId, ClusterEnvelope.lobbyQuery(homeNodeId, playerId, write(query)));
+                return null;
+            }
+            RoomPage page = queryLocal(query, localCursor);
+            if (!page.getRooms().isEmpty() || page.getNextCursor() != null) {
+                page.setNextCursor(page.getNextCursor() != null ? nodeIndex + "." + page.getNextCursor()
+                        : nodeIndex + 1 < nodeIds.size() ? (nodeIndex + 1) + "." : null);
+                return page;
+            }
+        }
+        return RoomPage.builder()
+                .filter(query.getFilter() != null ? query.getFilter() : LobbyQuery.Filter.NEWEST)
+                .rooms(List.of())
+                .build();
+    }
+
+    private static int nodeIndexOf(String cursor) {
+        try {
+            return Math.max(Integer.parseInt(cursor), 0);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private RoomPage queryLocal(LobbyQuery query, String cursor) {
+        LobbyQuery.Filter filter = query.getFilter() != null ? query.getFilter() : LobbyQuery.Filter.NEWEST;
+        int limit = query.getLimit() == null ? DEFAULT_PAGE_SIZE : Math.clamp(query.getLimit(), 1, MAX_PAGE_SIZE);
+        String sliceCursor = cursor == null || cursor.isEmpty() ? null : cursor;
+        RoomSlice slice = switch (filter) {
+            case JOINABLE -> gameRoomRepository.findJoinable(sliceCursor, limit);
+            case NEWEST -> gameRoomRepository.findNewest(sliceCursor, limit);
+            case NAME_PREFIX -> gameRoomRepository.findByRoomNamePrefix(query.getPrefix() == null ? "" : query.getPrefix(), sliceCursor, limit);
+        };
+        return RoomPage.builder()
+                .filter(filter)
+                .rooms(slice.rooms().stream().map(LobbyService::toRoomInfo).toList())
+                .nextCursor(slice.nextCursor())
+                .build();
+    }
+
+    public void roomCreated(GameRoom room) {
+        publish(LobbyEvent.builder()
+                .type(LobbyEvent.EventType.ROOM_CREATED)
+                .roomId(room.getRoomId())
+                .room(toRoomInfo(room))
+                .build());
+    }
+
+    public void playerCountChanged(GameRoom room) {
+        publish(LobbyEvent.builder()
+                .type(LobbyEvent.EventType.ROOM_UPDATED)
+                .roomId(room.getRoomId())
+                .room(toRoomInfo(room))
+                .build());
+    }
+
+    public void roomRemoved(String roomId) {
+        publish(LobbyEvent.builder()
+                .type(LobbyEvent.EventType.ROOM_REMOVED)
+                .roomId(roomId)
+                .build());
+    }
+
+    public static RoomInfo toRoomInfo(GameRoom room) {
+        return RoomInfo.builder()
+                .roomId(room.getRoomId())
+                .roomName(room.getRoomName())
+                .playerCount((long) room.getPlayers().size())
+                .hostNickname(room.getHostNickname())
+                .version(room.getVersion())
+                .build();
+    }
+
+    private void applyRemoteEvent(byte[] payload) {
+        LobbyEvent event = read(payload, LobbyEvent.class);
+        String ownerNodeId = clusterNode.ownerOf(event.getRoomId());
+        if (event.getType() == LobbyEvent.EventType.ROOM_REMOVED) {
+            Set<String> removedBeforeSnapshot = removedBeforeSnapshotByNodeId.get(ownerNodeId);
+            if (removedBeforeSnapshot != null) {
+                removedBeforeSnapshot.add(event.getRoomId());
+            }
+            Map<String, RoomInfo> rooms = remoteRoomsByNodeId.get(ownerNodeId);
+            if (rooms != null) {
+                rooms.remove(event.getRoomId());
+            }
+        } else {
+            remoteRoomsOf(ownerNodeId).merge(event.getRoomId(), event.getRoom(), LobbyService::newer);
+        }
+    }
+
+    private void sendSnapshotTo(String nodeId) {
+        RoomInfo[] rooms = gameRoomRepository.streamAll().map(LobbyService::toRoomInfo).toArray(RoomInfo[]::new);
+        clusterNode.send(nodeId, ClusterEnvelope.lobbySnapshot(clusterNode.getNodeId(), write(rooms)));
+    }
+
+    private void applyRemoteSnapshot(ClusterEnvelope envelope) {
+        Set<String> removedBeforeSnapshot = removedBeforeSnapshotByNodeId.remove(envelope.originNodeId());
+        Map<String, RoomInfo> rooms = remoteRoomsOf(envelope.originNodeId());
+        for (RoomInfo room : read(envelope.payload(), RoomInfo[].class)) {
+            if (removedBeforeSnapshot != null && removedBeforeSnapshot.contains(room.getRoomId())) {
+                continue;
+            }
+            RoomInfo merged = rooms.merge(room.getRoomId(), room, LobbyService::newer);
+            if (merged == room) {
+                clusterMessageRelay.sendToLocalSubscribers(LOBBY_TOPIC, LobbyEvent.builder()
+                        .type(LobbyEvent.EventType.ROOM_UPDATED)
+                        .roomId(room.getRoomId())
+                        .room(room)
+                        .build());
+            }
+        }
+    }
+
+    private void forgetRoomsOf(String nodeId) {
+        removedBeforeSnapshotByNodeId.remove(nodeId);
+        Map<String, RoomInfo> rooms = remoteRoomsByNodeId.remove(nodeId);
+        if (rooms == null) {
+            return;
+        }
+        rooms.keySet().forEach(roomId -> clusterMessageRelay.sendToLocalSubscribers(LOBBY_TOPIC, LobbyEvent.builder()
+                .type(LobbyEvent.EventType.ROOM_REMOVED)
+                .roomId(roomId)
+                .build()));
+    }
+
+    private void answerRemoteQuery(ClusterEnvelope envelope) {
+        RoomPage page = queryCluster(read(envelope.payload(), LobbyQuery.class), envelope.originNodeId(), envelope.playerId());
+        if (page != null) {
+            clusterMessageRelay.sendToPlayerOn(envelope.originNodeId(), envelope.playerId(), LOBBY_PAGE_DESTINATION, page);
+        }
+    }
+
+    private Map<String, RoomInfo> remoteRoomsOf(String nodeId) {
+        return remoteRoomsByNodeId.computeIfAbsent(nodeId, key -> new ConcurrentHashMap<>());
+    }
+
+    private static RoomInfo newer(RoomInfo current, RoomInfo candidate) {
+        return candidate.getVersion() >= current.getVersion() ? candidate : current;
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T read(byte[] payload, Class<T> type) {
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void publish(LobbyEvent event) {
+        messagingTemplate.convertAndSend(LOBBY_TOPIC, event);
+    }
+}
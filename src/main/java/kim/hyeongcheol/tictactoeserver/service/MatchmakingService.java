@@ -0,0 +1,137 @@
+package kim.hyeongcheol.tictactoeserver.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import kim.hyeongcheol.tictactoeserver.cluster.ClusterNode;
+import kim.hyeongcheol.tictactoeserver.executor.RoomCommandExecutor;
+import kim.hyeongcheol.tictactoeserver.repository.GameRoomRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class MatchmakingService implements DisposableBean {
+
+    private final GameService gameService;
+    private final GameRoomRepository gameRoomRepository;
+    private final RoomCommandExecutor roomCommandExecutor;
+    private final ClusterNode clusterNode;
+
+    private final ConcurrentLinkedQueue<MatchTicket> queue = new ConcurrentLinkedQueue<>();
+    private final Map<String, MatchTicket> waitingTickets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService pairingLoop;
+    private final Timer timeToMatch;
+
+    private MatchTicket unpaired;
+
+    private record MatchTicket(String sessionId, String nickname, long enqueuedAt) {
+    }
+
+    public MatchmakingService(GameService gameService,
+                              GameRoomRepository gameRoomRepository,
+                              RoomCommandExecutor roomCommandExecutor,
+                              ClusterNode clusterNode,
+                              MeterRegistry meterRegistry,
+                              @Value("${game.matchmaking.pairing-interval-ms:50}") long pairingIntervalMs) {
+        this.gameService = gameService;
+        this.gameRoomRepository = gameRoomRepository;
+        this.roomCommandExecutor = roomCommandExecutor;
+        this.clusterNode = clusterNode;
+        this.timeToMatch = Timer.builder("game.matchmaking.time.to.match")
+                .description("Time a quick-match ticket waited before it was paired")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("game.matchmaking.queue.depth", waitingTickets, Map::size)
+                .description("Sessions waiting for a quick match")
+                .register(meterRegistry);
+        this.pairingLoop = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "matchmaking");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pairingLoop.scheduleWithFixedDelay(this::pairWaitingPlayers, pairingIntervalMs, pairingIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void enqueue(String nickname, String sessionId) {
+        if (nickname == null || nickname.trim().isEmpty() || nickname.length() > 15) {
+            gameService.sendError(sessionId, "닉네임은 1자 이상 15자 이하로 입력해주세요.");
+            return;
+        }
+        if (gameRoomRepository.findRoomIdBySessionId(sessionId).isPresent()) {
+            gameService.sendError(sessionId, "이미 참여 중인 방이 있습니다. 방을 나오신 후 다시 시도해주세요.");
+            return;
+        }
+        MatchTicket ticket = new MatchTicket(sessionId, nickname, System.nanoTime());
+        if (waitingTickets.putIfAbsent(sessionId, ticket) == null) {
+            queue.offer(ticket);
+        }
+    }
+
+    public void cancel(String sessionId) {
+        waitingTickets.remove(sessionId);
+    }
+
+    private void pairWaitingPlayers() {
+        try {
+            MatchTicket ticket;
+            while ((ticket = queue.poll()) != null) {
+                if (!isWaiting(ticket)) continue;
+                if (unpaired == null || !isWaiting(unpaired)) {
+                    unpaired = ticket;
+                    continue;
+                }
+                MatchTicket host = unpaired;
+                unpaired = null;
+                if (!waitingTickets.remove(host.sessionId(), host)) {
+                    unpaired = ticket;
+                    continue;
+                }
+                if (!waitingTickets.remove(ticket.sessionId(), ticket)) {
+                    if (waitingTickets.putIfAbsent(host.sessionId(), host) == null) {
+                        unpaired = host;
+                    }
+                    continue;
+                }
+                startMatch(host, ticket);
+            }
+        } catch (RuntimeException e) {
+            log.error("Matchmaking pairing failed", e);
+        }
+    }
+
+    private boolean isWaiting(MatchTicket ticket) {
+        if (waitingTickets.get(ticket.sessionId()) != ticket) {
+            return false;
+        }
+        if (gameRoomRepository.findRoomIdBySessionId(ticket.sessionId()).isPresent()) {
+            waitingTickets.remove(ticket.sessionId(), ticket);
+            return false;
+        }
+        return true;
+    }
+
+    private void startMatch(MatchTicket host, MatchTicket guest) {
+        long now = System.nanoTime();
+        timeToMatch.record(Duration.ofNanos(now - host.enqueuedAt()));
+        timeToMatch.record(Duration.ofNanos(now - guest.enqueuedAt()));
+        String roomId = clusterNode.newRoomId();
+        roomCommandExecutor.execute(roomId, () -> gameService.createMatchedRoom(
+                roomId, host.nickname(), host.sessionId(), guest.nickname(), guest.sessionId()));
+    }
+
+    @Override
+    public void destroy() {
+        pairingLoop.shutdownNow();
+    }
+}
@@ -0,0 +1,201 @@
+package kim.hyeongcheol.tictactoeserver.service;
+
+import kim.hyeongcheol.tictactoeserver.dto.PlayerSessionInfo;
+import kim.hyeongcheol.tictactoeserver.executor.HashedTimingWheel;
+import kim.hyeongcheol.tictactoeserver.repository.CompactId;
+import kim.hyeongcheol.tictactoeserver.repository.GameRoomRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+@Service
+public class PlayerSessionService {
+
+    private static final String UNBOUND_PREFIX = "session:";
+
+    private final GameRoomRepository gameRoomRepository;
+    private final HashedTimingWheel timingWheel;
+    private final Duration resumeGrace;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Map<String, PlayerSession> playersById = new ConcurrentHashMap<>();
+    private final Map<String, String> playerIdBySessionId = new ConcurrentHashMap<>();
+    private final Map<String, String> playerIdByToken = new ConcurrentHashMap<>();
+
+    private static final class PlayerSession {
+        private final String playerId;
+        private final String tokenDigest;
+        private volatile String resumeToken;
+        private volatile String sessionId;
+        private long epoch;
+
+        private PlayerSession(String playerId, String resumeToken, String tokenDigest, String sessionId) {
+            this.playerId = playerId;
+            this.resumeToken = resumeToken;
+            this.tokenDigest = tokenDigest;
+            this.sessionId = sessionId;
+        }
+    }
+
+    public PlayerSessionService(GameRoomRepository gameRoomRepository,
+                                HashedTimingWheel timingWheel,
+                                @Value("${game.session.resume-grace:20s}") Duration resumeGrace) {
+        this.gameRoomRepository = gameRoomRepository;
+        this.timingWheel = timingWheel;
+        this.resumeGrace = resumeGrace;
+    }
+
+    public PlayerSessionInfo bind(String sessionId, String resumeToken) {
+        String resumedPlayerId = resumeToken == null ? null : playerIdByToken.get(digest(resumeToken));
+        if (resumedPlayerId != null && !resumedPlayerId.equals(playerIdOf(sessionId))
+                && rebind(resumedPlayerId, sessionId, resumeToken)) {
+            return PlayerSessionInfo.builder()
+                    .sessionId(resumedPlayerId)
+                    .resumeToken(resumeToken)
+                    .resumed(true)
+                    .roomId(gameRoomRepository.findRoomIdBySessionId(resumedPlayerId).orElse(null))
+                    .build();
+        }
+        String boundPlayerId = playerIdBySessionId.get(sessionId);
+        String playerId = boundPlayerId != null ? boundPlayerId : CompactId.newId();
+        boolean[] created = {false};
+        PlayerSession session = playersById.computeIfAbsent(playerId, id -> {
+            String token = newResumeToken();
+            PlayerSession fresh = new PlayerSession(id, token, digest(token), sessionId);
+            playerIdByToken.put(fresh.tokenDigest, id);
+            created[0] = true;
+            return fresh;
+        });
+        if (created[0]) {
+            gameRoomRepository.saveResumeToken(playerId, session.tokenDigest);
+        }
+        playerIdBySessionId.put(sessionId, playerId);
+        return PlayerSessionInfo.builder()
+                .sessionId(playerId)
+                .resumeToken(session.resumeToken)
+                .resumed(false)
+                .build();
+    }
+
+    public String playerIdOf(String sessionId) {
+        String playerId = playerIdBySessionId.get(sessionId);
+        return playerId != null ? playerId : UNBOUND_PREFIX + sessionId;
+    }
+
+    public String sessionIdOf(String playerId) {
+        if (playerId.startsWith(UNBOUND_PREFIX)) {
+            return playerId.substring(UNBOUND_PREFIX.length());
+        }
+        PlayerSession session = playersById.get(playerId);
+        return session == null ? null : session.sessionId;
+    }
+
+    public int boundSessionCount() {
+        return playerIdBySessionId.size();
+    }
+
+    public void detach(String sessionId, Consumer<String> onExpired) {
+        String playerId = playerIdBySessionId.remove(sessionId);
+        if (playerId == null) {
+            onExpired.accept(UNBOUND_PREFIX + sessionId);
+            return;
+        }
+        long[] detachedEpoch = {-1};
+        playersById.computeIfPresent(playerId, (id, session) -> {
+            if (sessionId.equals(session.sessionId)) {
+                session.sessionId = null;
+                detachedEpoch[0] = ++session.epoch;
+            }
+            return session;
+        });
+        if (detachedEpoch[0] < 0) return;
+
+        scheduleExpiry(playerId, detachedEpoch[0], onExpired);
+    }
+
+    public void restoreDetachedSessions(Consumer<String> onExpired) {
+        gameRoomRepository.findResumeTokens().forEach((playerId, tokenDigest) -> {
+            if (gameRoomRepository.findRoomIdBySessionId(playerId).isEmpty()) {
+                gameRoomRepository.deleteResumeToken(playerId);
+                return;
+            }
+            if (playersById.putIfAbsent(playerId, new PlayerSession(playerId, null, tokenDigest, null)) != null) return;
+
+            playerIdByToken.put(tokenDigest, playerId);
+            scheduleExpiry(playerId, 0, onExpired);
+        });
+    }
+
+    private void scheduleExpiry(String playerId, long epoch, Consumer<String> onExpired) {
+        if (!resumeGrace.isPositive()) {
+            expire(playerId, epoch, onExpired);
+            return;
+        }
+        timingWheel.schedule(resumeGrace, () -> expire(playerId, epoch, onExpired));
+    }
+
+    private boolean rebind(String playerId, String sessionId, String resumeToken) {
+        String[] previousSessionId = {null};
+        PlayerSession session = playersById.computeIfPresent(playerId, (id, current) -> {
+            previousSessionId[0] = current.sessionId;
+            current.sessionId = sessionId;
+            current.resumeToken = resumeToken;
+            current.epoch++;
+            return current;
+        });
+        if (session == null) return false;
+
+        if (previousSessionId[0] != null) {
+            playerIdBySessionId.remove(previousSessionId[0], playerId);
+        }
+        String ownPlayerId = playerIdBySessionId.put(sessionId, playerId);
+        if (ownPlayerId != null && !ownPlayerId.equals(playerId)) {
+            PlayerSession abandoned = playersById.remove(ownPlayerId);
+            if (abandoned != null) {
+                playerIdByToken.remove(abandoned.tokenDigest);
+                gameRoomRepository.deleteResumeToken(ownPlayerId);
+            }
+        }
+        return true;
+    }
+
+    private void expire(String playerId, long epoch, Consumer<String> onExpired) {
+        boolean[] expired = {false};
+        playersById.computeIfPresent(playerId, (id, session) -> {
+            if (session.sessionId != null || session.epoch != epoch) {
+                return session;
+            }
+            playerIdByToken.remove(session.tokenDigest);
+            expired[0] = true;
+            return null;
+        });
+        if (expired[0]) {
+            gameRoomRepository.deleteResumeToken(playerId);
+            onExpired.accept(playerId);
+        }
+    }
+
+    private String newResumeToken() {
+        byte[] token = new byte[32];
+        secureRandom.nextBytes(token);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    private static String digest(String resumeToken) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(resumeToken.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package kim.hyeongcheol.tictactoeserver.service;
+
+import kim.hyeongcheol.tictactoeserver.dto.Leaderboard;
+import kim.hyeongcheol.tictactoeserver.dto.LeaderboardQuery;
+import kim.hyeongcheol.tictactoeserver.dto.RatingEntry;
+import kim.hyeongcheol.tictactoeserver.repository.PlayerRating;
+import kim.hyeongcheol.tictactoeserver.repository.RatingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class RatingService {
+
+    private final RatingRepository ratingRepository;
+    private final int initialRating;
+    private final int kFactor;
+    private final int leaderboardLimit;
+    private final int maxPlayers;
+    private final int provisionalGames;
+    private final ReentrantLock[] stripes;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    public RatingService(RatingRepository ratingRepository,
+                         @Value("${game.rating.initial:1200}") int initialRating,
+                         @Value("${game.rating.k-factor:32}") int kFactor,
+                         @Value("${game.rating.leaderboard-limit:100}") int leaderboardLimit,
+                         @Value("${game.rating.lock-stripes:64}") int lockStripes,
+                         @Value("${game.rating.max-players:100000}") int maxPlayers,
+                         @Value("${game.rating.provisional-games:5}") int provisionalGames) {
+        if (initialRating < 0 || initialRating > RatingRepository.MAX_RATING) {
+            throw new IllegalArgumentException("game.rating.initial must be between 0 and " + RatingRepository.MAX_RATING);
+        }
+        this.ratingRepository = ratingRepository;
+        this.initialRating = initialRating;
+        this.kFactor = kFactor;
+        this.leaderboardLimit = leaderboardLimit;
+        this.maxPlayers = maxPlayers;
+        this.provisionalGames = provisionalGames;
+        this.stripes = new ReentrantLock[Math.max(1, lockStripes)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public void recordGame(String playerXId, String playerXNickname, String playerOId, String playerONickname,
+                           double playerXScore) {
+        if (playerXId == null || playerOId == null || playerXId.equals(playerOId)) {
+            return;
+        }
+        int first = stripeOf(playerXId);
+        int second = stripeOf(playerOId);
+        ReentrantLock outer = stripes[Math.min(first, second)];
+        ReentrantLock inner = stripes[Math.max(first, second)];
+        outer.lock();
+        inner.lock();
+        try {
+            PlayerRating playerX = ratingOf(playerXId);
+            PlayerRating playerO = ratingOf(playerOId);
+            int delta = (int) Math.round(kFactor * (playerXScore - expectedScore(playerX.rating(), playerO.rating())));
+            ratingRepository.save(playerX.withResult(playerXNickname, clamp(playerX.rating() + delta), playerXScore));
+            ratingRepository.save(playerO.withResult(playerONickname, clamp(playerO.rating() - delta), 1.0 - playerXScore));
+        } finally {
+            inner.unlock();
+            outer.unlock();
+        }
+        if (maxPlayers > 0 && ratingRepository.count() > maxPlayers) {
+            evictLeastActive();
+        }
+    }
+
+    public Leaderboard leaderboard(String playerId, LeaderboardQuery query) {
+        int limit = query == null || query.getLimit() == null
+                ? leaderboardLimit
+                : Math.clamp(query.getLimit(), 1, leaderboardLimit);
+        List<RatingEntry> top = ratingRepository.findTop(limit).stream()
+                .map(this::toEntry)
+                .toList();
+        RatingEntry me = playerId == null ? null
+                : ratingRepository.findByPlayerId(playerId).map(this::toEntry).orElse(null);
+        return Leaderboard.builder()
+                .top(top)
+                .me(me)
+                .players(ratingRepository.count())
+                .build();
+    }
+
+    private void evictLeastActive() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int excess = (int) (ratingRepository.count() - (maxPlayers - maxPlayers / 10));
+            if (excess <= 0) {
+                return;
+            }
+            for (String playerId : ratingRepository.findLeastActive(excess, provisionalGames)) {
+                ReentrantLock stripe = stripes[stripeOf(playerId)];
+                stripe.lock();
+                try {
+                    ratingRepository.deleteByPlayerId(playerId);
+                } finally {
+                    stripe.unlock();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private PlayerRating ratingOf(String playerId) {
+        return ratingRepository.findByPlayerId(playerId)
+                .orElseGet(() -> new PlayerRating(playerId, null, initialRating, 0, 0, 0));
+    }
+
+    private RatingEntry toEntry(PlayerRating rating) {
+        return RatingEntry.builder()
+                .rank(ratingRepository.rankOf(rating.rating()))
+                .playerId(rating.playerId())
+                .nickname(rating.nickname())
+                .rating(rating.rating())
+                .wins(rating.wins())
+                .losses(rating.losses())
+                .draws(rating.draws())
+                .build();
+    }
+
+    private int stripeOf(String playerId) {
+        int hash = playerId.hashCode();
+        hash ^= (hash >>> 16);
+        return Math.floorMod(hash, stripes.length);
+    }
+
+    private static double expectedScore(int rating, int opponentRating) {
+        return 1.0 / (1.0 + Math.pow(10, (opponentRating - rating) / 400.0));
+    }
+
+    private static int clamp(int rating) {
+        return Math.clamp(rating, 0, RatingRepository.MAX_RATING);
+    }
+}
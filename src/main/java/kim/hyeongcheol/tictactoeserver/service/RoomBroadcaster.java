@@ -0,0 +1,247 @@
+package kim.hyeongcheol.tictactoeserver.service;
+
+import kim.hyeongcheol.tictactoeserver.dto.GameMessage;
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import kim.hyeongcheol.tictactoeserver.messaging.CompactWireNegotiator;
+import kim.hyeongcheol.tictactoeserver.messaging.SlowConsumerGuard;
+import kim.hyeongcheol.tictactoeserver.metrics.GameMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class RoomBroadcaster implements DisposableBean {
+
+    private static final String ROOM_TOPIC = "/topic/room/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final GameMetrics gameMetrics;
+    private final CompactWireNegotiator compactWireNegotiator;
+    private final int coalesceThreshold;
+    private final long chatBatchWindowNanos;
+    private final boolean dispatchCoalescing;
+    private final ThreadLocal<DispatchCycle> dispatchCycles = new ThreadLocal<>();
+    private final Map<String, PendingBatch> pendingBatches = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    public RoomBroadcaster(SimpMessagingTemplate messagingTemplate,
+                           GameMetrics gameMetrics,
+                           CompactWireNegotiator compactWireNegotiator,
+                           @Value("${game.spectate.coalesce-threshold:32}") int coalesceThreshold,
+                           @Value("${game.spectate.coalesce-interval:50ms}") Duration coalesceInterval,
+                           @Value("${game.chat.batch-window:0ms}") Duration chatBatchWindow,
+                           @Value("${game.broadcast.dispatch-coalescing:true}") boolean dispatchCoalescing) {
+        this.messagingTemplate = messagingTemplate;
+        this.gameMetrics = gameMetrics;
+        this.compactWireNegotiator = compactWireNegotiator;
+        this.coalesceThreshold = coalesceThreshold;
+        this.chatBatchWindowNanos = chatBatchWindow.toNanos();
+        this.dispatchCoalescing = dispatchCoalescing;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "room-broadcast-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalNanos = coalesceInterval.toNanos();
+        flusher.scheduleAtFixedRate(this::flushAll, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public Runnable coalescing(Runnable command) {
+        if (!dispatchCoalescing) {
+            return command;
+        }
+        return () -> {
+            if (dispatchCycles.get() != null) {
+                command.run();
+                return;
+            }
+            DispatchCycle cycle = new DispatchCycle();
+            dispatchCycles.set(cycle);
+            try {
+                command.run();
+            } finally {
+                dispatchCycles.remove();
+                flush(cycle);
+            }
+        };
+    }
+
+    public void flushDispatchCycle() {
+        DispatchCycle cycle = dispatchCycles.get();
+        if (cycle != null) {
+            flush(cycle);
+        }
+    }
+
+    public void broadcast(GameRoom room, GameMessage message) {
+        DispatchCycle cycle = dispatchCycles.get();
+        if (cycle != null) {
+            cycle.add(room, message);
+            return;
+        }
+        broadcast(room, List.of(message));
+    }
+
+    private void broadcast(GameRoom room, List<GameMessage> messages) {
+        String roomId = room.getRoomId();
+        if (coalesceThreshold > 0 && room.getSpectatorCount() >= coalesceThreshold) {
+            messages.forEach(message -> enqueue(roomId, message));
+            return;
+        }
+        PendingBatch pending = pendingBatches.get(roomId);
+        if (pending != null) {
+            synchronized (pending) {
+                flush(roomId, pending);
+            }
+        }
+        send(roomId, messages);
+    }
+
+    public void broadcastChat(GameRoom room, GameMessage message) {
+        if (chatBatchWindowNanos <= 0) {
+            broadcast(room, message);
+            return;
+        }
+        String roomId = room.getRoomId();
+        if (enqueue(roomId, message) == 1) {
+            flusher.schedule(() -> flushRoom(roomId), chatBatchWindowNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private int enqueue(String roomId, GameMessage message) {
+        while (true) {
+            int pendingCount = pendingBatches.computeIfAbsent(roomId, id -> new PendingBatch()).offer(message);
+            if (pendingCount > 0) {
+                return pendingCount;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private void flushRoom(String roomId) {
+        PendingBatch pending = pendingBatches.get(roomId);
+        if (pending == null) return;
+
+        synchronized (pending) {
+            try {
+                flush(roomId, pending);
+            } catch (RuntimeException e) {
+                log.error("Failed to flush room broadcasts: roomId={}", roomId, e);
+            }
+        }
+    }
+
+    private void flushAll() {
+        for (Map.Entry<String, PendingBatch> entry : pendingBatches.entrySet()) {
+            PendingBatch pending = entry.getValue();
+            synchronized (pending) {
+                if (pending.messages.isEmpty()) {
+                    pending.retired = true;
+                    pendingBatches.remove(entry.getKey(), pending);
+                    continue;
+                }
+                try {
+                    flush(entry.getKey(), pending);
+                } catch (RuntimeException e) {
+                    log.error("Failed to flush room broadcasts: roomId={}", entry.getKey(), e);
+                }
+            }
+        }
+    }
+
+    private void flush(String roomId, PendingBatch pending) {
+        if (pending.messages.isEmpty()) return;
+
+        List<GameMessage> messages = pending.messages;
+        pending.messages = new ArrayList<>();
+        gameMetrics.broadcastFlushed(messages.size());
+        send(roomId, messages);
+    }
+
+    private void flush(DispatchCycle cycle) {
+        while (!cycle.rooms.isEmpty()) {
+            List<RoomMessages> rooms = new ArrayList<>(cycle.rooms.values());
+            cycle.rooms.clear();
+            for (RoomMessages pending : rooms) {
+                if (pending.messages.size() > 1) {
+                    gameMetrics.dispatchCoalesced(pending.messages.size());
+                }
+                broadcast(pending.room, pending.messages);
+            }
+        }
+    }
+
+    private void send(String roomId, List<GameMessage> messages) {
+        GameMessage message = messages.size() == 1 ? messages.getFirst() : GameMessage.builder()
+                .type(GameMessage.MessageType.BATCH)
+                .roomId(roomId)
+                .messages(messages)
+                .build();
+        messagingTemplate.convertAndSend(ROOM_TOPIC + roomId, message, headersOf(message));
+    }
+
+    private MessageHeaders headersOf(GameMessage message) {
+        MessageHeaders compactHeaders = compactWireNegotiator.broadcastHeaders(message);
+        if (!isDroppable(message)) {
+            return compactHeaders;
+        }
+        SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        if (compactHeaders != null) {
+            headerAccessor.copyHeaders(compactHeaders);
+        }
+        headerAccessor.setHeader(SlowConsumerGuard.DROPPABLE_HEADER, Boolean.TRUE);
+        headerAccessor.setLeaveMutable(true);
+        return headerAccessor.getMessageHeaders();
+    }
+
+    private static boolean isDroppable(GameMessage message) {
+        if (message.getType() == GameMessage.MessageType.BATCH) {
+            return message.getMessages().stream().allMatch(RoomBroadcaster::isDroppable);
+        }
+        return message.getType() == GameMessage.MessageType.CHAT && message.getSequence() == null;
+    }
+
+    @Override
+    public void destroy() {
+        flusher.shutdownNow();
+    }
+
+    private static final class DispatchCycle {
+        private final Map<String, RoomMessages> rooms = new LinkedHashMap<>();
+
+        private void add(GameRoom room, GameMessage message) {
+            rooms.computeIfAbsent(room.getRoomId(), roomId -> new RoomMessages(room, new ArrayList<>())).messages.add(message);
+        }
+    }
+
+    private record RoomMessages(GameRoom room, List<GameMessage> messages) {
+    }
+
+    private static final class PendingBatch {
+        private List<GameMessage> messages = new ArrayList<>();
+        private boolean retired;
+
+        private synchronized int offer(GameMessage message) {
+            if (retired) return -1;
+
+            messages.add(message);
+            return messages.size();
+        }
+    }
+}
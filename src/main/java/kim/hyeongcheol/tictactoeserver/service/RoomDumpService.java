@@ -0,0 +1,71 @@
+package kim.hyeongcheol.tictactoeserver.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import kim.hyeongcheol.tictactoeserver.game.TicTacToeGame;
+import kim.hyeongcheol.tictactoeserver.repository.GameRoomRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+public class RoomDumpService {
+
+    private final GameRoomRepository gameRoomRepository;
+    private final ObjectMapper objectMapper;
+
+    public long writeRooms(OutputStream outputStream, Set<GameRoom.GameState> states, Integer playerCount) throws IOException {
+        long written = 0;
+        long now = System.nanoTime();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<GameRoom> rooms = gameRoomRepository.streamAll()
+                    .filter(room -> states == null || states.isEmpty() || states.contains(room.getGameState()))
+                    .filter(room -> playerCount == null || room.getPlayers().size() == playerCount)
+                    .iterator();
+            while (rooms.hasNext()) {
+                writeRoom(generator, rooms.next(), now);
+                generator.writeRaw('\n');
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private static void writeRoom(JsonGenerator generator, GameRoom room, long now) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("roomId", room.getRoomId());
+        generator.writeStringField("roomName", room.getRoomName());
+        generator.writeStringField("hostNickname", room.getHostNickname());
+        generator.writeStringField("gameState", room.getGameState().name());
+        generator.writeArrayFieldStart("players");
+        for (Map.Entry<String, String> player : room.getPlayers().entrySet()) {
+            generator.writeStartObject();
+            generator.writeStringField("sessionId", player.getKey());
+            generator.writeStringField("nickname", player.getValue());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeNumberField("spectators", room.getSpectatorCount());
+        if (room.getAiDifficulty() != null) {
+            generator.writeStringField("aiDifficulty", room.getAiDifficulty().name());
+        }
+        TicTacToeGame game = room.getGame();
+        if (game != null) {
+            generator.writeNumberField("moveCount", game.getMoveCount());
+        }
+        generator.writeNumberField("sequence", room.getSequence());
+        generator.writeNumberField("version", room.getVersion());
+        generator.writeNumberField("idleMillis", TimeUnit.NANOSECONDS.toMillis(now - room.getLastActivityNanos()));
+        generator.writeEndObject();
+    }
+}
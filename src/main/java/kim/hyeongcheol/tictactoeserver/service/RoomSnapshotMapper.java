@@ -0,0 +1,62 @@
+package kim.hyeongcheol.tictactoeserver.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kim.hyeongcheol.tictactoeserver.dto.PlayerInfo;
+import kim.hyeongcheol.tictactoeserver.dto.PlayerRole;
+import kim.hyeongcheol.tictactoeserver.dto.RoomSnapshot;
+import kim.hyeongcheol.tictactoeserver.dto.RoomStateDto;
+import kim.hyeongcheol.tictactoeserver.dto.TicTacToeGameDto;
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+public class RoomSnapshotMapper {
+
+    private final ObjectMapper objectMapper;
+
+    public RoomSnapshot snapshotOf(GameRoom room) {
+        RoomSnapshot cached = room.getSnapshot();
+        if (cached != null && cached.getVersion() == room.getVersion()) {
+            return cached;
+        }
+        RoomStateDto roomState = mapToRoomStateDto(room);
+        try {
+            RoomSnapshot snapshot = new RoomSnapshot(room.getVersion(), roomState, objectMapper.writeValueAsString(roomState));
+            room.cacheSnapshot(snapshot);
+            return snapshot;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize room state: " + room.getRoomId(), e);
+        }
+    }
+
+    public RoomStateDto mapToRoomStateDto(GameRoom room) {
+        List<PlayerInfo> playerInfos = room.getPlayers().entrySet().stream()
+                .map(entry -> {
+                    String sessionId = entry.getKey();
+                    String nickname = entry.getValue();
+                    PlayerRole role = sessionId.equals(room.getHostSessionId()) ? PlayerRole.HOST : PlayerRole.GUEST;
+                    return PlayerInfo.builder()
+                            .sessionId(sessionId)
+                            .nickname(nickname)
+                            .role(role)
+                            .build();
+                })
+                .toList();
+
+        return RoomStateDto.builder()
+                .roomId(room.getRoomId())
+                .roomName(room.getRoomName())
+                .hostNickname(room.getHostNickname())
+                .players(playerInfos)
+                .readyPlayerSessionIds(Set.copyOf(room.getReadyPlayerSessionIds()))
+                .game(TicTacToeGameDto.of(room.getGame()))
+                .gameState(room.getGameState())
+                .build();
+    }
+}
@@ -1,6 +1,9 @@
 'use strict';
 
 const WEBSOCKET_URL = "http://localhost:8080/ws";
+const NATIVE_WEBSOCKET_URL = "ws://localhost:8080/ws-native";
+const RESUME_TOKEN_KEY = 'tictactoe.resumeToken';
+const MAX_RECONNECT_ATTEMPTS = 5;
 
 const nicknameScreen = document.getElementById('nickname-screen');
 const lobbyScreen = document.getElementById('lobby-screen');
@@ -15,6 +18,9 @@ const chatInput = document.getElementById('chat-message-input');
 const sendChatButton = document.getElementById('send-chat-button');
 const readyButton = document.getElementById('ready-button');
 const kickButton = document.getElementById('kick-button');
+const aiControls = document.getElementById('ai-controls');
+const aiDifficultySelect = document.getElementById('ai-difficulty');
+const inviteAiButton = document.getElementById('invite-ai-button');
 const leaveRoomButton = document.getElementById('leave-room-button');
 const userNicknameSpan = document.getElementById('user-nickname');
 const gameRoomNameH2 = document.getElementById('game-room-name');
@@ -29,6 +35,13 @@ const player2InfoSpan = document.getElementById('player2-info');
 const roomCodeInput = document.getElementById('roomCodeInput');
 const joinByCodeButton = document.getElementById('join-by-code');
 const copyRoomCodeButton = document.getElementById('copy-room-code');
+const quickMatchButton = document.getElementById('quick-match');
+const refreshHistoryButton = document.getElementById('refresh-history');
+const historyList = document.getElementById('history-list');
+const replayBoardDiv = document.getElementById('replay-board');
+const refreshLeaderboardButton = document.getElementById('refresh-leaderboard');
+const leaderboardList = document.getElementById('leaderboard-list');
+const myRankParagraph = document.getElementById('my-rank');
 
 let stompClient = null;
 let currentNickname = null;
@@ -37,6 +50,19 @@ let currentRoomSubscription = null;
 let isReady = false;
 let mySessionId = null;
 let isReturningToLobby = false;
+let currentRoomState = null;
+let lastSequence = null;
+let awaitingResync = false;
+let lobbySubscription = null;
+let lobbyRooms = new Map();
+let removedRoomIds = new Set();
+let pendingLobbyEvents = null;
+let isMatching = false;
+let isSpectating = false;
+let reconnectAttempts = 0;
+let useNativeTransport = 'WebSocket' in window;
+let hasConnected = false;
+let replayTimer = null;
 
 function showScreen(screen) {
     nicknameScreen.style.display = 'none';
@@ -50,27 +76,49 @@ function connect() {
     if (!currentNickname) { alert('닉네임을 입력해주세요.'); return; }
     if (currentNickname.length > 15) { alert('닉네임은 15자 이하로 입력해주세요.'); return; }
     userNicknameSpan.textContent = currentNickname;
-    const socket = new SockJS(WEBSOCKET_URL);
+    openConnection();
+}
+
+function openConnection() {
+    const socket = useNativeTransport ? new WebSocket(NATIVE_WEBSOCKET_URL) : new SockJS(WEBSOCKET_URL);
     stompClient = Stomp.over(socket);
     stompClient.connect({}, onConnected, onError);
 }
 
 function onConnected(frame) {
-    stompClient.subscribe('/user/queue/session', (payload) => {
-        mySessionId = payload.body;
-        console.log("세션 ID를 성공적으로 받았습니다:", mySessionId);
-
-        showScreen(lobbyScreen);
-        stompClient.subscribe('/user/queue/errors', onErrorMessage);
-        stompClient.subscribe('/user/queue/room/created', onRoomCreated);
-        stompClient.subscribe('/user/queue/room/joined', onRoomJoined);
-        stompClient.subscribe('/user/queue/lobby/rooms', onRoomListUpdate);
-        stompClient.subscribe('/user/queue/events', onPrivateEvent);
-
-        refreshRooms();
-    });
+    reconnectAttempts = 0;
+    hasConnected = true;
+    stompClient.subscribe('/user/queue/session', onSessionBound);
+    stompClient.subscribe('/user/queue/errors', onErrorMessage);
+    stompClient.subscribe('/user/queue/room/created', onRoomCreated);
+    stompClient.subscribe('/user/queue/room/joined', onRoomJoined);
+    stompClient.subscribe('/user/queue/events', onPrivateEvent);
+    stompClient.subscribe('/user/queue/room/state', onRoomSync);
+    stompClient.subscribe('/user/queue/room/spectating', onSpectating);
+    stompClient.subscribe('/user/queue/history', onRecentGames);
+    stompClient.subscribe('/user/queue/history/replay', onReplay);
+    stompClient.subscribe('/user/queue/leaderboard', onLeaderboard);
+
+    const resumeToken = sessionStorage.getItem(RESUME_TOKEN_KEY);
+    stompClient.send("/app/requestSessionId", {}, JSON.stringify(resumeToken ? { resumeToken: resumeToken } : {}));
+}
 
-    stompClient.send("/app/requestSessionId", {});
+function onSessionBound(payload) {
+    const session = JSON.parse(payload.body);
+    mySessionId = session.sessionId;
+    sessionStorage.setItem(RESUME_TOKEN_KEY, session.resumeToken);
+    console.log("세션 ID를 성공적으로 받았습니다:", mySessionId);
+
+    if (session.roomId) {
+        stompClient.send(`/app/room/${session.roomId}/rejoin`, {});
+        return;
+    }
+    if (currentRoomId) {
+        goToLobby('연결이 끊긴 동안 방에서 나가게 되었습니다.');
+        return;
+    }
+    showScreen(lobbyScreen);
+    subscribeLobby();
 }
 
 function onPrivateEvent(payload) {
@@ -80,11 +128,78 @@ function onPrivateEvent(payload) {
     }
 }
 
-function onError(error) { alert('STOMP 연결에 실패했습니다. Java 서버가 실행 중인지 확인해주세요: ' + error); }
-function refreshRooms() { if (stompClient && stompClient.connected) { stompClient.send("/app/lobby/rooms", {}); } }
+function onError(error) {
+    if (useNativeTransport && !hasConnected) {
+        useNativeTransport = false;
+        openConnection();
+        return;
+    }
+    if (mySessionId && reconnectAttempts < MAX_RECONNECT_ATTEMPTS) {
+        reconnectAttempts++;
+        lobbySubscription = null;
+        currentRoomSubscription = null;
+        setMatching(false);
+        setTimeout(openConnection, 1000 * reconnectAttempts);
+        return;
+    }
+    alert('STOMP 연결에 실패했습니다. Java 서버가 실행 중인지 확인해주세요: ' + error);
+}
+function subscribeLobby() {
+    if (!stompClient || !stompClient.connected || lobbySubscription) return;
+    lobbySubscription = stompClient.subscribe('/topic/lobby', onLobbyEvent);
+    refreshRooms();
+}
+
+function unsubscribeLobby() {
+    if (lobbySubscription) {
+        lobbySubscription.unsubscribe();
+        lobbySubscription = null;
+    }
+    pendingLobbyEvents = null;
+}
 
-function onRoomListUpdate(payload) {
-    const rooms = JSON.parse(payload.body);
+function refreshRooms() {
+    if (!stompClient || !stompClient.connected) return;
+    pendingLobbyEvents = [];
+    const snapshotSubscription = stompClient.subscribe('/app/lobby/snapshot', (payload) => {
+        snapshotSubscription.unsubscribe();
+        onLobbySnapshot(JSON.parse(payload.body));
+    });
+}
+
+function onLobbySnapshot(rooms) {
+    lobbyRooms = new Map(rooms.map(room => [room.roomId, room]));
+    const events = pendingLobbyEvents || [];
+    pendingLobbyEvents = null;
+    events.forEach(applyLobbyEvent);
+    renderRoomList();
+}
+
+function onLobbyEvent(payload) {
+    const event = JSON.parse(payload.body);
+    if (pendingLobbyEvents) {
+        pendingLobbyEvents.push(event);
+        return;
+    }
+    applyLobbyEvent(event);
+    renderRoomList();
+}
+
+function applyLobbyEvent(event) {
+    if (event.type === 'ROOM_REMOVED') {
+        removedRoomIds.add(event.roomId);
+        lobbyRooms.delete(event.roomId);
+        return;
+    }
+    if (removedRoomIds.has(event.roomId)) return;
+    const existing = lobbyRooms.get(event.roomId);
+    if (!existing || existing.version <= event.room.version) {
+        lobbyRooms.set(event.roomId, event.room);
+    }
+}
+
+function renderRoomList() {
+    const rooms = Array.from(lobbyRooms.values());
     roomList.innerHTML = '';
     if (rooms.length === 0) {
         roomList.innerHTML = '<p style="text-align: center; color: #888;">생성된 방이 없습니다.</p>';
@@ -92,7 +207,7 @@ function onRoomListUpdate(payload) {
         rooms.forEach(room => {
             const roomItem = document.createElement('div');
             roomItem.className = 'room-item';
-            roomItem.innerHTML = `<span>${room.roomName} ( ${room.playerCount}/2 ) - 방장: ${room.hostNickname}</span><button class="join-room-btn" data-room-id="${room.roomId}" ${room.playerCount >= 2 ? 'disabled' : ''}>참여</button>`;
+            roomItem.innerHTML = `<span>${room.roomName} ( ${room.playerCount}/2 ) - 방장: ${room.hostNickname}</span><span><button class="join-room-btn" data-room-id="${room.roomId}" ${room.playerCount >= 2 ? 'disabled' : ''}>참여</button> <button class="spectate-room-btn" data-room-id="${room.roomId}">관전</button></span>`;
             roomList.appendChild(roomItem);
         });
     }
@@ -102,6 +217,11 @@ function onRoomListUpdate(payload) {
             joinRoom(roomId);
         });
     });
+    document.querySelectorAll('.spectate-room-btn').forEach(btn => {
+        btn.addEventListener('click', (event) => {
+            spectateRoom(event.target.getAttribute('data-room-id'));
+        });
+    });
 }
 
 function createRoom() {
@@ -122,12 +242,35 @@ function onRoomCreated(payload) { enterGameRoom(JSON.parse(payload.body)); }
 function onRoomJoined(payload) { enterGameRoom(JSON.parse(payload.body)); }
 function joinRoom(roomId) { if (currentNickname) { stompClient.send("/app/room/join", {}, JSON.stringify({ roomId: roomId, nickname: currentNickname })); } }
 
-function enterGameRoom(room) {
+function spectateRoom(roomId) {
+    if (currentRoomSubscription) { currentRoomSubscription.unsubscribe(); }
+    currentRoomSubscription = stompClient.subscribe('/topic/room/' + roomId, onGameMessage);
+    stompClient.send(`/app/room/${roomId}/spectate`, {});
+}
+
+function onSpectating(payload) {
+    const message = JSON.parse(payload.body);
+    isSpectating = true;
+    enterGameRoom(message.roomState, true);
+    lastSequence = message.sequence;
+    addChatMessage('관전 중입니다.', 'system');
+}
+
+function enterGameRoom(room, keepSubscription = false) {
+    if (!keepSubscription) {
+        isSpectating = false;
+    }
     currentRoomId = room.roomId;
+    setMatching(false);
+    unsubscribeLobby();
+    lastSequence = null;
+    awaitingResync = false;
     showScreen(gameScreen);
     gameRoomNameH2.textContent = room.roomName;
-    if (currentRoomSubscription) { currentRoomSubscription.unsubscribe(); }
-    currentRoomSubscription = stompClient.subscribe('/topic/room/' + currentRoomId, onGameMessage);
+    if (!keepSubscription) {
+        if (currentRoomSubscription) { currentRoomSubscription.unsubscribe(); }
+        currentRoomSubscription = stompClient.subscribe('/topic/room/' + currentRoomId, onGameMessage);
+    }
     updateRoomState(room);
 }
 
@@ -136,6 +279,27 @@ function onGameMessage(payload) {
         return;
     }
     const message = JSON.parse(payload.body);
+    if (message.type === 'BATCH') {
+        message.messages.forEach(handleRoomMessage);
+        return;
+    }
+    handleRoomMessage(message);
+}
+
+function handleRoomMessage(message) {
+    if (isReturningToLobby || !currentRoomState) {
+        return;
+    }
+    if (isSpectating && message.sequence != null && lastSequence !== null && message.sequence <= lastSequence) {
+        return;
+    }
+    if (message.type === 'GAME_UPDATE' && !message.roomState) {
+        applyGameDelta(message);
+        return;
+    }
+    if (message.sequence != null) {
+        lastSequence = message.sequence;
+    }
     switch (message.type) {
         case 'JOIN':
         case 'READY':
@@ -183,6 +347,9 @@ function onGameMessage(payload) {
                 isReady = false;
             }, 50);
 
+            break;
+        case 'ROOM_CLOSED':
+            goToLobby(message.content);
             break;
         case 'ERROR':
             alert(message.content);
@@ -190,9 +357,38 @@ function onGameMessage(payload) {
     }
 }
 
+function applyGameDelta(message) {
+    if (awaitingResync) {
+        return;
+    }
+    const game = currentRoomState && currentRoomState.game;
+    if (!game || lastSequence === null || message.sequence !== lastSequence + 1) {
+        requestResync();
+        return;
+    }
+    lastSequence = message.sequence;
+    game.board[message.move.index] = message.mark;
+    game.currentPlayerSessionId = message.nextPlayerSessionId;
+    updateRoomState(currentRoomState);
+}
+
+function requestResync() {
+    awaitingResync = true;
+    stompClient.send(`/app/room/${currentRoomId}/resync`, {});
+}
+
+function onRoomSync(payload) {
+    const message = JSON.parse(payload.body);
+    if (message.roomId !== currentRoomId) return;
+    awaitingResync = false;
+    lastSequence = message.sequence;
+    updateRoomState(message.roomState);
+}
+
 function updateRoomState(room) {
     if (!room) return;
     currentRoomId = room.roomId;
+    currentRoomState = room;
     const readyPlayerSessionIds = room.readyPlayerSessionIds || [];
 
     const buildDisplayName = (player) => {
@@ -224,7 +420,11 @@ function updateRoomState(room) {
         player2InfoSpan.dataset.sessionId = playerO.sessionId;
         player2InfoSpan.textContent = buildDisplayName(playerO);
 
-        if (currentPlayerSessionId === mySessionId) {
+        if (isSpectating) {
+            const currentPlayer = room.players.find(p => p.sessionId === currentPlayerSessionId);
+            gameStatusP.textContent = `👀 ${currentPlayer ? currentPlayer.nickname : ''}님의 턴입니다.`;
+            gameStatusP.style.color = "#333";
+        } else if (currentPlayerSessionId === mySessionId) {
             gameStatusP.textContent = "⚔️ 나의 턴입니다.";
             gameStatusP.style.color = "#28a745";
         } else {
@@ -248,9 +448,9 @@ function updateRoomState(room) {
             player2InfoSpan.textContent = buildDisplayName(player2);
         }
 
-        gameStatusP.textContent = "상대를 기다리거나, 준비 버튼을 눌러주세요.";
+        gameStatusP.textContent = isSpectating ? "👀 관전 중입니다." : "상대를 기다리거나, 준비 버튼을 눌러주세요.";
         gameStatusP.style.color = "#333";
-        readyButton.disabled = room.players.length < 2;
+        readyButton.disabled = isSpectating || room.players.length < 2;
     }
 
     [player1InfoSpan, player2InfoSpan].forEach(span => {
@@ -260,6 +460,7 @@ function updateRoomState(room) {
     });
 
     kickButton.style.display = amIHost && room.players.length > 1 && room.gameState !== 'PLAYING' ? 'inline-block' : 'none';
+    aiControls.style.display = amIHost && !isSpectating && room.players.length === 1 ? 'inline' : 'none';
     renderBoard(room);
 }
 
@@ -281,9 +482,15 @@ function renderBoard(room) {
 
 function makeMove(index) { stompClient.send(`/app/room/${currentRoomId}`, {}, JSON.stringify({ type: 'MOVE', move: { index: index } })); }
 function toggleReady() { isReady = !isReady; const type = isReady ? 'READY' : 'UNREADY'; readyButton.textContent = isReady ? '준비 취소' : '준비'; stompClient.send(`/app/room/${currentRoomId}`, {}, JSON.stringify({ type: type })); }
-function sendChatMessage() { const messageContent = chatInput.value; if (messageContent.length > 255) { alert('채팅 메시지는 255자를 초과할 수 없습니다.'); return; } if (messageContent.trim() && stompClient) { stompClient.send(`/app/room/${currentRoomId}`, {}, JSON.stringify({ type: 'CHAT', content: messageContent, sender: currentNickname })); chatInput.value = ''; } }
+function sendChatMessage() { if (isSpectating) { alert('관전 중에는 채팅을 보낼 수 없습니다.'); return; } const messageContent = chatInput.value; if (messageContent.length > 255) { alert('채팅 메시지는 255자를 초과할 수 없습니다.'); return; } if (messageContent.trim() && stompClient) { stompClient.send(`/app/room/${currentRoomId}`, {}, JSON.stringify({ type: 'CHAT', content: messageContent, sender: currentNickname })); chatInput.value = ''; } }
 function addChatMessage(message, type = 'normal') { const p = document.createElement('p'); p.textContent = message; if (type === 'system') { p.style.fontStyle = 'italic'; p.style.color = '#555'; } chatMessagesDiv.appendChild(p); chatMessagesDiv.scrollTop = chatMessagesDiv.scrollHeight; }
-function onErrorMessage(payload) { const error = JSON.parse(payload.body); alert(error.content); }
+function onErrorMessage(payload) { const error = JSON.parse(payload.body); setMatching(false); alert(error.content); }
+function inviteAi() {
+    if (currentRoomId) {
+        stompClient.send(`/app/room/${currentRoomId}/ai`, {}, JSON.stringify({ difficulty: aiDifficultySelect.value }));
+    }
+}
+
 function kickPlayer() {
     let opponentSessionId = null;
     if (player1InfoSpan.dataset.sessionId && player1InfoSpan.dataset.sessionId !== mySessionId) {
@@ -311,8 +518,15 @@ function goToLobby(alertMessage) {
         currentRoomSubscription.unsubscribe();
     }
 
+    if (isSpectating && stompClient && stompClient.connected) {
+        stompClient.send("/app/room/spectate/stop", {});
+    }
+    isSpectating = false;
     currentRoomId = null;
     currentRoomSubscription = null;
+    currentRoomState = null;
+    lastSequence = null;
+    awaitingResync = false;
     isReady = false;
 
     showScreen(lobbyScreen);
@@ -322,12 +536,13 @@ function goToLobby(alertMessage) {
     readyButton.textContent = '준비';
     readyButton.disabled = false;
     kickButton.style.display = 'none';
+    aiControls.style.display = 'none';
     gameRoomNameH2.textContent = '';
     player1InfoSpan.textContent = '대기중...';
     player2InfoSpan.textContent = '대기중...';
     gameStatusP.textContent = '';
 
-    refreshRooms();
+    subscribeLobby();
 
     setTimeout(() => {
         isReturningToLobby = false;
@@ -335,7 +550,7 @@ function goToLobby(alertMessage) {
 }
 
 function joinByCode() {
-    const roomCode = roomCodeInput.value.trim();
+    const roomCode = roomCodeInput.value.trim().toLowerCase();
     if (roomCode) {
         joinRoom(roomCode);
     } else {
@@ -343,6 +558,103 @@ function joinByCode() {
     }
 }
 
+function setMatching(matching) {
+    isMatching = matching;
+    quickMatchButton.textContent = matching ? '매칭 취소' : '빠른 매칭 시작';
+}
+
+function toggleQuickMatch() {
+    if (!stompClient || !stompClient.connected) return;
+    if (isMatching) {
+        stompClient.send("/app/match/cancel", {});
+        setMatching(false);
+    } else {
+        stompClient.send("/app/match/quick", {}, JSON.stringify({ nickname: currentNickname }));
+        setMatching(true);
+    }
+}
+
+function refreshHistory() {
+    if (stompClient && stompClient.connected) {
+        stompClient.send("/app/history/recent", {});
+    }
+}
+
+function onRecentGames(payload) {
+    const games = JSON.parse(payload.body);
+    historyList.innerHTML = '';
+    if (games.length === 0) {
+        historyList.innerHTML = '<p style="text-align: center; color: #888;">기록된 게임이 없습니다.</p>';
+        return;
+    }
+    games.forEach(game => {
+        const myMark = game.playerXSessionId === mySessionId ? 'X' : 'O';
+        const opponent = myMark === 'X' ? game.playerONickname : game.playerXNickname;
+        const outcome = game.result === 'DRAW' ? '무승부' : (game.result === myMark + '_WIN' ? '승리' : '패배');
+        const item = document.createElement('div');
+        item.className = 'room-item';
+        item.innerHTML = `<span>vs ${opponent} - ${outcome}${game.forfeit ? ' (기권)' : ''}</span><span><button class="replay-btn" data-game-id="${game.gameId}">다시 보기</button></span>`;
+        historyList.appendChild(item);
+    });
+    document.querySelectorAll('.replay-btn').forEach(btn => {
+        btn.addEventListener('click', (event) => {
+            stompClient.send(`/app/history/${event.target.getAttribute('data-game-id')}`, {});
+        });
+    });
+}
+
+function onReplay(payload) {
+    const game = JSON.parse(payload.body);
+    if (replayTimer) { clearInterval(replayTimer); }
+    const board = Array(9).fill('');
+    let step = 0;
+    const draw = () => {
+        replayBoardDiv.innerHTML = '';
+        board.forEach(mark => {
+            const cell = document.createElement('div');
+            cell.className = 'cell';
+            cell.textContent = mark;
+            replayBoardDiv.appendChild(cell);
+        });
+    };
+    draw();
+    replayTimer = setInterval(() => {
+        if (step >= game.moves.length) {
+            clearInterval(replayTimer);
+            replayTimer = null;
+            return;
+        }
+        board[game.moves[step]] = step % 2 === 0 ? 'X' : 'O';
+        step++;
+        draw();
+    }, 500);
+}
+
+function refreshLeaderboard() {
+    if (stompClient && stompClient.connected) {
+        stompClient.send("/app/leaderboard", {}, JSON.stringify({ limit: 100 }));
+    }
+}
+
+function onLeaderboard(payload) {
+    const leaderboard = JSON.parse(payload.body);
+    myRankParagraph.textContent = leaderboard.me
+        ? `내 순위: ${leaderboard.me.rank}위 / ${leaderboard.players}명 (레이팅 ${leaderboard.me.rating})`
+        : '아직 레이팅 기록이 없습니다.';
+    leaderboardList.innerHTML = '';
+    if (leaderboard.top.length === 0) {
+        leaderboardList.innerHTML = '<p style="text-align: center; color: #888;">랭킹 정보가 없습니다.</p>';
+        return;
+    }
+    leaderboard.top.forEach(entry => {
+        const item = document.createElement('div');
+        item.className = 'room-item';
+        const me = entry.playerId === mySessionId ? ' (나)' : '';
+        item.innerHTML = `<span>${entry.rank}위 ${entry.nickname}${me}</span><span>${entry.rating} (${entry.wins}승 ${entry.losses}패 ${entry.draws}무)</span>`;
+        leaderboardList.appendChild(item);
+    });
+}
+
 function copyRoomCode() {
     if (currentRoomId) {
         navigator.clipboard.writeText(currentRoomId).then(() => {
@@ -360,11 +672,15 @@ refreshRoomsButton.addEventListener('click', refreshRooms);
 sendChatButton.addEventListener('click', sendChatMessage);
 readyButton.addEventListener('click', toggleReady);
 kickButton.addEventListener('click', kickPlayer);
+inviteAiButton.addEventListener('click', inviteAi);
 leaveRoomButton.addEventListener('click', () => {
     goToLobby("방에서 나왔습니다.");
 });
 joinByCodeButton.addEventListener('click', joinByCode);
 copyRoomCodeButton.addEventListener('click', copyRoomCode);
+quickMatchButton.addEventListener('click', toggleQuickMatch);
+refreshHistoryButton.addEventListener('click', refreshHistory);
+refreshLeaderboardButton.addEventListener('click', refreshLeaderboard);
 
 chatInput.addEventListener('keypress', (e) => { if (e.key === 'Enter') sendChatMessage(); });
 nicknameInput.addEventListener('keypress', (e) => { if (e.key === 'Enter') connect(); });
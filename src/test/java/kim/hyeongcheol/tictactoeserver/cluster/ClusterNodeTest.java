@@ -0,0 +1,106 @@
+package kim.hyeongcheol.tictactoeserver.cluster;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClusterNodeTest {
+
+    private static final String ROOM_TOPIC = "/topic/room/room-1";
+
+    private final InProcessClusterHub hub = new InProcessClusterHub();
+    private final Map<String, List<String>> received = new ConcurrentHashMap<>();
+    private final Map<String, CountDownLatch> pongs = new ConcurrentHashMap<>();
+
+    @AfterEach
+    void tearDown() {
+        hub.destroy();
+    }
+
+    @Test
+    void topicFramesOnlyGoToNodesWithSubscribers() throws Exception {
+        ClusterNode owner = node("n0");
+        ClusterNode subscriber = node("n1");
+        node("n2");
+
+        subscriber.addInterest(ROOM_TOPIC);
+        roundTrip("n1", "n0");
+        owner.preSend(topicFrame(ROOM_TOPIC, "move"), null);
+        owner.preSend(topicFrame("/topic/room/room-2", "other"), null);
+        roundTrip("n0", "n1");
+        roundTrip("n0", "n2");
+
+        assertThat(received.get("n1")).containsExactly(ROOM_TOPIC + " move");
+        assertThat(received.get("n2")).isEmpty();
+
+        subscriber.removeInterest(ROOM_TOPIC);
+        roundTrip("n1", "n0");
+        owner.preSend(topicFrame(ROOM_TOPIC, "after"), null);
+        roundTrip("n0", "n1");
+
+        assertThat(received.get("n1")).containsExactly(ROOM_TOPIC + " move");
+    }
+
+    @Test
+    void lateJoinerLearnsExistingInterestAndLeaverIsForgotten() throws Exception {
+        ClusterNode subscriber = node("n1");
+        subscriber.addInterest("/topic/room/**");
+
+        ClusterNode owner = node("n0");
+        roundTrip("n0", "n1");
+        owner.preSend(topicFrame(ROOM_TOPIC, "move"), null);
+        roundTrip("n0", "n1");
+
+        assertThat(received.get("n1")).containsExactly(ROOM_TOPIC + " move");
+
+        subscriber.destroy();
+        node("n1");
+        roundTrip("n1", "n0");
+        owner.preSend(topicFrame(ROOM_TOPIC, "after"), null);
+        roundTrip("n0", "n1");
+
+        assertThat(received.get("n1")).isEmpty();
+    }
+
+    private ClusterNode node(String nodeId) {
+        ClusterNode node = new ClusterNode(new InProcessClusterBus(hub), new SimpleMeterRegistry(), nodeId, "n0,n1,n2", 16);
+        received.put(nodeId, new CopyOnWriteArrayList<>());
+        node.onEnvelope(ClusterEnvelope.Type.TOPIC_MESSAGE, envelope -> received.get(nodeId)
+                .add(envelope.destination() + " " + new String(envelope.payload(), StandardCharsets.UTF_8)));
+        node.onEnvelope(ClusterEnvelope.Type.COMMAND, envelope -> {
+            if (envelope.playerId().equals("ping")) {
+                node.send(envelope.originNodeId(), ClusterEnvelope.command(nodeId, RoomCommand.RESYNC, null, "pong", null));
+            } else {
+                pongs.get(nodeId + "<-" + envelope.originNodeId()).countDown();
+            }
+        });
+        node.afterSingletonsInstantiated();
+        return node;
+    }
+
+    private void roundTrip(String fromNodeId, String toNodeId) throws InterruptedException {
+        CountDownLatch pong = new CountDownLatch(1);
+        pongs.put(fromNodeId + "<-" + toNodeId, pong);
+        hub.send(toNodeId, ClusterEnvelope.command(fromNodeId, RoomCommand.RESYNC, null, "ping", null));
+        assertThat(pong.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static Message<byte[]> topicFrame(String destination, String payload) {
+        return MessageBuilder.withPayload(payload.getBytes(StandardCharsets.UTF_8))
+                .setHeader(SimpMessageHeaderAccessor.DESTINATION_HEADER, destination)
+                .build();
+    }
+}
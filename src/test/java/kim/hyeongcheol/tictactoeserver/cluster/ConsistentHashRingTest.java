@@ -0,0 +1,45 @@
+package kim.hyeongcheol.tictactoeserver.cluster;
+
+import kim.hyeongcheol.tictactoeserver.repository.CompactId;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 30_000;
+
+    @Test
+    void spreadsRoomsEvenlyAcrossNodes() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node0", "node1", "node2"), 128);
+        Map<String, Integer> owned = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            owned.merge(ring.ownerOf(roomId(i)), 1, Integer::sum);
+        }
+        assertThat(owned).hasSize(3);
+        assertThat(owned.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS / 3 * 9 / 10, KEYS / 3 * 11 / 10));
+    }
+
+    @Test
+    void addingNodeOnlyMovesRoomsToTheNewNode() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("node0", "node1", "node2"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("node0", "node1", "node2", "node3"), 128);
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String owner = after.ownerOf(roomId(i));
+            if (!owner.equals(before.ownerOf(roomId(i)))) {
+                assertThat(owner).isEqualTo("node3");
+                moved++;
+            }
+        }
+        assertThat(moved).isBetween(KEYS / 4 * 9 / 10, KEYS / 4 * 11 / 10);
+    }
+
+    private static String roomId(int i) {
+        return CompactId.format((i * 0x9E3779B97F4A7C15L) & Long.MAX_VALUE);
+    }
+}
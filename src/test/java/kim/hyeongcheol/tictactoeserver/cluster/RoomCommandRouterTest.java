@@ -0,0 +1,144 @@
+package kim.hyeongcheol.tictactoeserver.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kim.hyeongcheol.tictactoeserver.dto.GameMessage;
+import kim.hyeongcheol.tictactoeserver.executor.DirectRoomCommandExecutor;
+import kim.hyeongcheol.tictactoeserver.executor.HashedTimingWheel;
+import kim.hyeongcheol.tictactoeserver.messaging.CompactWireNegotiator;
+import kim.hyeongcheol.tictactoeserver.metrics.GameMetrics;
+import kim.hyeongcheol.tictactoeserver.repository.GameHistoryRepository;
+import kim.hyeongcheol.tictactoeserver.repository.MemoryGameRoomRepository;
+import kim.hyeongcheol.tictactoeserver.repository.RatingRepository;
+import kim.hyeongcheol.tictactoeserver.service.GameService;
+import kim.hyeongcheol.tictactoeserver.service.LobbyService;
+import kim.hyeongcheol.tictactoeserver.service.PlayerSessionService;
+import kim.hyeongcheol.tictactoeserver.service.RatingService;
+import kim.hyeongcheol.tictactoeserver.service.RoomBroadcaster;
+import kim.hyeongcheol.tictactoeserver.service.RoomSnapshotMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomCommandRouterTest {
+
+    private final InProcessClusterHub hub = new InProcessClusterHub();
+    private final HashedTimingWheel timingWheel = new HashedTimingWheel(10, 8);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<Node> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(node -> node.roomBroadcaster.destroy());
+        hub.destroy();
+        timingWheel.destroy();
+    }
+
+    @Test
+    void playerSeatedOnAnotherNodeCannotTakeASecondSeatUntilReleased() throws Exception {
+        Node home = new Node("n0");
+        Node owner = new Node("n1");
+        await(() -> home.clusterNode.isReachable("n1") && owner.clusterNode.isReachable("n0"));
+        String hostId = owner.playerSessionService.bind("ws-host", null).getSessionId();
+        String playerId = home.playerSessionService.bind("ws-player", null).getSessionId();
+        owner.gameService.createRoom("원격 방", "host", hostId);
+        String roomId = owner.repository.findRoomIdBySessionId(hostId).orElseThrow();
+
+        home.router.route(RoomCommand.JOIN, roomId, playerId, "guest");
+        await(() -> owner.repository.findRoomIdBySessionId(playerId).isPresent());
+        home.gameService.createRoom("두 번째 방", "guest", playerId);
+
+        assertThat(home.repository.count()).isZero();
+        assertThat(home.sentTo("/user/ws-player/queue/errors")).singleElement()
+                .asString().contains("이미 참여 중인 방이 있습니다");
+
+        GameMessage kick = GameMessage.builder()
+                .type(GameMessage.MessageType.KICK)
+                .kickTargetSessionId(playerId)
+                .build();
+        owner.router.route(RoomCommand.MESSAGE, roomId, hostId, kick);
+        await(() -> home.repository.findRoomIdBySessionId(playerId).isEmpty());
+        home.gameService.createRoom("두 번째 방", "guest", playerId);
+
+        assertThat(home.repository.count()).isOne();
+    }
+
+    @Test
+    void failedRemoteJoinReleasesTheHomeClaim() throws Exception {
+        Node home = new Node("n0");
+        Node owner = new Node("n1");
+        await(() -> home.clusterNode.isReachable("n1") && owner.clusterNode.isReachable("n0"));
+        String playerId = home.playerSessionService.bind("ws-player", null).getSessionId();
+        String missingRoomId = owner.clusterNode.newRoomId();
+
+        home.router.route(RoomCommand.JOIN, missingRoomId, playerId, "guest");
+
+        await(() -> home.sentTo("/user/ws-player/queue/errors").size() == 1);
+        await(() -> home.repository.findRoomIdBySessionId(playerId).isEmpty());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private class Node {
+
+        private final List<Message<?>> sent = new CopyOnWriteArrayList<>();
+        private final MemoryGameRoomRepository repository = new MemoryGameRoomRepository();
+        private final ClusterNode clusterNode;
+        private final PlayerSessionService playerSessionService;
+        private final RoomBroadcaster roomBroadcaster;
+        private final GameService gameService;
+        private final RoomCommandRouter router;
+
+        Node(String nodeId) {
+            clusterNode = new ClusterNode(new InProcessClusterBus(hub), new SimpleMeterRegistry(), nodeId, "n0,n1", 16);
+            SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate((message, timeout) -> {
+                sent.add(clusterNode.preSend(message, null));
+                return true;
+            });
+            messagingTemplate.setMessageConverter(new MappingJackson2MessageConverter());
+            GameMetrics gameMetrics = new GameMetrics(new SimpleMeterRegistry());
+            CompactWireNegotiator compactWireNegotiator = new CompactWireNegotiator(new SimpleMeterRegistry());
+            DirectRoomCommandExecutor executor = new DirectRoomCommandExecutor();
+            playerSessionService = new PlayerSessionService(repository, timingWheel, Duration.ofSeconds(20));
+            ClusterMessageRelay relay = new ClusterMessageRelay(clusterNode, messagingTemplate, playerSessionService);
+            roomBroadcaster = new RoomBroadcaster(messagingTemplate, gameMetrics, compactWireNegotiator,
+                    32, Duration.ofMillis(50), Duration.ZERO, true);
+            gameService = new GameService(messagingTemplate, repository, new RoomSnapshotMapper(objectMapper),
+                    new LobbyService(messagingTemplate, repository, clusterNode, relay, objectMapper), timingWheel, executor,
+                    playerSessionService, gameMetrics, roomBroadcaster, new GameHistoryRepository(64, "", 64, 20),
+                    clusterNode, relay, compactWireNegotiator, new RatingService(new RatingRepository(), 1200, 32, 100, 4, 0, 5));
+            ReflectionTestUtils.setField(gameService, "idleTtl", Duration.ofMinutes(10));
+            ReflectionTestUtils.setField(gameService, "turnTimeout", Duration.ofSeconds(30));
+            router = new RoomCommandRouter(clusterNode, relay, gameService, repository, executor, roomBroadcaster,
+                    gameMetrics, objectMapper);
+            clusterNode.afterSingletonsInstantiated();
+            nodes.add(this);
+        }
+
+        List<String> sentTo(String destination) {
+            return sent.stream()
+                    .filter(message -> destination.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders())))
+                    .map(message -> new String((byte[]) message.getPayload(), StandardCharsets.UTF_8))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package kim.hyeongcheol.tictactoeserver.executor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimingWheelTest {
+
+    private final HashedTimingWheel timingWheel = new HashedTimingWheel(10, 8);
+
+    @AfterEach
+    void tearDown() {
+        timingWheel.destroy();
+    }
+
+    @Test
+    void expiresAfterDelayAcrossMultipleRounds() throws InterruptedException {
+        CountDownLatch expired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        timingWheel.schedule(Duration.ofMillis(250), expired::countDown);
+
+        assertThat(expired.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(250));
+        assertThat(timingWheel.pendingTimeouts()).isZero();
+    }
+
+    @Test
+    void cancelledTimeoutNeverRuns() throws InterruptedException {
+        AtomicBoolean ran = new AtomicBoolean();
+        CountDownLatch later = new CountDownLatch(1);
+
+        HashedTimingWheel.Timeout timeout = timingWheel.schedule(Duration.ofMillis(50), () -> ran.set(true));
+        assertThat(timeout.cancel()).isTrue();
+        timingWheel.schedule(Duration.ofMillis(100), later::countDown);
+
+        assertThat(later.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran).isFalse();
+        assertThat(timeout.cancel()).isFalse();
+    }
+
+    @Test
+    void cancelAfterExpiryIsANoOp() throws InterruptedException {
+        CountDownLatch expired = new CountDownLatch(1);
+
+        HashedTimingWheel.Timeout timeout = timingWheel.schedule(Duration.ofMillis(20), expired::countDown);
+
+        assertThat(expired.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        assertThat(timeout.isCancelled()).isFalse();
+        assertThat(timingWheel.pendingTimeouts()).isZero();
+    }
+}
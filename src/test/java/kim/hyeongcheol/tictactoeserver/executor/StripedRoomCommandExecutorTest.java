@@ -0,0 +1,70 @@
+package kim.hyeongcheol.tictactoeserver.executor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedRoomCommandExecutorTest {
+
+    private final StripedRoomCommandExecutor executor = new StripedRoomCommandExecutor(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void commandsForOneRoomRunInSubmissionOrder() throws InterruptedException {
+        List<Integer> applied = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        IntStream.range(0, 1000).forEach(i -> executor.execute("room-1", () -> applied.add(i)));
+        executor.execute("room-1", done::countDown);
+
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(applied).containsExactlyElementsOf(IntStream.range(0, 1000).boxed().toList());
+    }
+
+    @Test
+    void roomsOnDifferentLanesRunInParallel() throws InterruptedException {
+        CountDownLatch otherRoomRan = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicBoolean overlapped = new AtomicBoolean();
+
+        executor.execute("a", () -> {
+            try {
+                overlapped.set(otherRoomRan.await(2, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        });
+        executor.execute("b", otherRoomRan::countDown);
+
+        assertThat(done.await(3, TimeUnit.SECONDS)).isTrue();
+        assertThat(overlapped).isTrue();
+    }
+
+    @Test
+    void failedCommandIsReportedAndLaneKeepsRunning() throws InterruptedException {
+        AtomicReference<RuntimeException> reported = new AtomicReference<>();
+        CountDownLatch next = new CountDownLatch(1);
+
+        executor.execute("room-1", () -> {
+            throw new IllegalStateException("boom");
+        }, reported::set);
+        executor.execute("room-1", next::countDown);
+
+        assertThat(next.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(reported.get()).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+    }
+}
@@ -0,0 +1,55 @@
+package kim.hyeongcheol.tictactoeserver.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PerfectPlayTableTest {
+
+    @Test
+    void coversEveryNonTerminalReachablePosition() {
+        assertThat(PerfectPlayTable.decisionStates()).isEqualTo(4520);
+        assertThat(PerfectPlayTable.score(0, 0)).isZero();
+        assertThat(PerfectPlayTable.optimalMoves(0, 0)).isEqualTo(TicTacToeGame.FULL_BOARD);
+    }
+
+    @Test
+    void takesWinBeforeBlocking() {
+        int xMask = 0b000_000_011;
+        int oMask = 0b000_011_000;
+
+        assertThat(PerfectPlayTable.optimalMoves(xMask, oMask)).isEqualTo(1 << 2);
+        assertThat(PerfectPlayTable.optimalMoves(xMask | 1 << 6, oMask)).isEqualTo(1 << 5);
+    }
+
+    @Test
+    void optimalMovesNeverLoseToAnyOpponent() {
+        assertThat(worstOutcome(0, 0, true)).isGreaterThanOrEqualTo(0);
+        assertThat(worstOutcome(0, 0, false)).isGreaterThanOrEqualTo(0);
+    }
+
+    private int worstOutcome(int xMask, int oMask, boolean tableIsX) {
+        if (TicTacToeGame.isWinningMask(xMask)) {
+            return tableIsX ? 1 : -1;
+        }
+        if (TicTacToeGame.isWinningMask(oMask)) {
+            return tableIsX ? -1 : 1;
+        }
+        int occupied = xMask | oMask;
+        if (occupied == TicTacToeGame.FULL_BOARD) {
+            return 0;
+        }
+        boolean xToMove = Integer.bitCount(xMask) == Integer.bitCount(oMask);
+        int moves = xToMove == tableIsX ? PerfectPlayTable.optimalMoves(xMask, oMask) : ~occupied & TicTacToeGame.FULL_BOARD;
+        int worst = 1;
+        for (int cell = 0; cell < TicTacToeGame.CELL_COUNT; cell++) {
+            int bit = 1 << cell;
+            if ((moves & bit) != 0) {
+                worst = Math.min(worst, xToMove
+                        ? worstOutcome(xMask | bit, oMask, tableIsX)
+                        : worstOutcome(xMask, oMask | bit, tableIsX));
+            }
+        }
+        return worst;
+    }
+}
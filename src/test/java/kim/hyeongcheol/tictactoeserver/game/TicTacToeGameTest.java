@@ -0,0 +1,55 @@
+package kim.hyeongcheol.tictactoeserver.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TicTacToeGameTest {
+
+    @Test
+    void rowCompletedByCurrentPlayerWins() {
+        TicTacToeGame game = new TicTacToeGame("a", "b");
+        String x = game.getPlayerXSessionId();
+        String o = game.getPlayerOSessionId();
+
+        assertThat(game.makeMove(0, x)).isTrue();
+        assertThat(game.makeMove(3, o)).isTrue();
+        assertThat(game.makeMove(1, x)).isTrue();
+        assertThat(game.makeMove(4, o)).isTrue();
+        assertThat(game.makeMove(2, x)).isTrue();
+
+        assertThat(game.isGameOver()).isTrue();
+        assertThat(game.getWinnerSessionId()).isEqualTo(x);
+        assertThat(game.getBoard()).containsExactly('X', 'X', 'X', 'O', 'O', null, null, null, null);
+        assertThat(game.getMoves()).containsExactly(0, 3, 1, 4, 2);
+    }
+
+    @Test
+    void rejectsOccupiedCellWrongTurnAndOutOfRange() {
+        TicTacToeGame game = new TicTacToeGame("a", "b");
+        String x = game.getPlayerXSessionId();
+        String o = game.getPlayerOSessionId();
+
+        assertThat(game.makeMove(4, o)).isFalse();
+        assertThat(game.makeMove(9, x)).isFalse();
+        assertThat(game.makeMove(4, x)).isTrue();
+        assertThat(game.makeMove(4, o)).isFalse();
+        assertThat(game.getCurrentPlayerSessionId()).isEqualTo(o);
+    }
+
+    @Test
+    void fullBoardWithoutLineIsDraw() {
+        TicTacToeGame game = new TicTacToeGame("a", "b");
+        String x = game.getPlayerXSessionId();
+        String o = game.getPlayerOSessionId();
+        int[] moves = {0, 1, 2, 4, 3, 5, 7, 6, 8};
+
+        for (int i = 0; i < moves.length; i++) {
+            assertThat(game.makeMove(moves[i], i % 2 == 0 ? x : o)).isTrue();
+        }
+
+        assertThat(game.isGameOver()).isTrue();
+        assertThat(game.getWinnerSessionId()).isNull();
+        assertThat(game.getXMask() | game.getOMask()).isEqualTo(TicTacToeGame.FULL_BOARD);
+    }
+}
@@ -0,0 +1,241 @@
+package kim.hyeongcheol.tictactoeserver.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kim.hyeongcheol.tictactoeserver.dto.GameMessage;
+import kim.hyeongcheol.tictactoeserver.dto.MovePayload;
+import kim.hyeongcheol.tictactoeserver.dto.PlayerRole;
+import kim.hyeongcheol.tictactoeserver.dto.RoomSnapshot;
+import kim.hyeongcheol.tictactoeserver.dto.RoomStateDto;
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import kim.hyeongcheol.tictactoeserver.repository.CompactId;
+import kim.hyeongcheol.tictactoeserver.service.RoomSnapshotMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactGameMessageCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RoomSnapshotMapper roomSnapshotMapper = new RoomSnapshotMapper(objectMapper);
+    private final String hostId = CompactId.newId();
+    private final String guestId = CompactId.newId();
+
+    @Test
+    void deltaMessageRoundTripsAtAFractionOfTheJsonSize() throws Exception {
+        GameMessage delta = GameMessage.builder()
+                .type(GameMessage.MessageType.GAME_UPDATE)
+                .roomId(CompactId.newId())
+                .sequence(42L)
+                .move(new MovePayload(8))
+                .mark('X')
+                .nextPlayerSessionId(guestId)
+                .build();
+
+        byte[] compact = CompactGameMessageCodec.encode(delta);
+
+        assertThat(CompactGameMessageCodec.decode(compact, roomState -> null)).isEqualTo(delta);
+        assertThat(compact.length).isLessThan(objectMapper.writeValueAsBytes(delta).length / 3);
+    }
+
+    @Test
+    void snapshotRoundTripsBoardTurnAndReadiness() throws Exception {
+        GameRoom room = new GameRoom(CompactId.newId(), "코덱 방", "host", hostId);
+        room.addPlayer(guestId, "손님");
+        room.markReady(hostId);
+        room.markReady(guestId);
+        room.startGame();
+        room.makeMove(4, room.getGame().getCurrentPlayerSessionId());
+        room.makeMove(0, room.getGame().getCurrentPlayerSessionId());
+        RoomSnapshot snapshot = roomSnapshotMapper.snapshotOf(room);
+        GameMessage start = GameMessage.builder()
+                .type(GameMessage.MessageType.SYNC)
+                .sequence(7L)
+                .content("게임이 시작됩니다!")
+                .roomState(snapshot)
+                .build();
+
+        byte[] compact = CompactGameMessageCodec.encode(start);
+        GameMessage decoded = CompactGameMessageCodec.decode(compact, this::snapshotOf);
+
+        RoomStateDto expected = snapshot.getRoomState();
+        RoomStateDto actual = decoded.getRoomState().getRoomState();
+        assertThat(actual.getPlayers()).isEqualTo(expected.getPlayers());
+        assertThat(actual.getReadyPlayerSessionIds()).isEqualTo(expected.getReadyPlayerSessionIds());
+        assertThat(actual.getGame().getBoard()).isEqualTo(expected.getGame().getBoard());
+        assertThat(actual).isEqualTo(expected);
+        assertThat(decoded.getContent()).isEqualTo(start.getContent());
+        assertThat(CompactGameMessageCodec.encode(snapshot)).isSameAs(snapshot.getCompact());
+        assertThat(compact.length).isLessThan(objectMapper.writeValueAsBytes(start).length / 2);
+    }
+
+    @Test
+    void snapshotKeepsReadinessAfterTheRoomMovesOn() {
+        GameRoom room = new GameRoom(CompactId.newId(), "준비 방", "host", hostId);
+        room.addPlayer(guestId, "손님");
+        room.markReady(hostId);
+        room.markReady(guestId);
+        RoomSnapshot ready = roomSnapshotMapper.snapshotOf(room);
+
+        room.startGame();
+        byte[] compact = CompactGameMessageCodec.encode(ready);
+
+        assertThat(CompactGameMessageCodec.decodeRoomState(compact).getReadyPlayerSessionIds())
+                .containsExactlyInAnyOrder(hostId, guestId);
+    }
+
+    @Test
+    void finishedGameKeepsWinnerAndForeignIds() {
+        String aiId = "ai-" + hostId;
+        GameRoom room = new GameRoom(CompactId.newId(), "AI 방", "host", hostId);
+        room.addPlayer(aiId, "AI");
+        room.markReady(hostId);
+        room.markReady(aiId);
+        room.startGame();
+        for (int index : new int[]{0, 3, 1, 4, 2}) {
+            room.makeMove(index, room.getGame().getCurrentPlayerSessionId());
+        }
+        RoomSnapshot snapshot = roomSnapshotMapper.snapshotOf(room);
+
+        byte[] compact = CompactGameMessageCodec.encode(snapshot);
+        RoomStateDto decoded = CompactGameMessageCodec.decodeRoomState(compact);
+
+        assertThat(CompactGameMessageCodec.isRoomState(compact)).isTrue();
+        assertThat(decoded).isEqualTo(snapshot.getRoomState());
+        assertThat(decoded.getGame().getWinnerSessionId()).isNotNull();
+    }
+
+    @Test
+    void batchesNestMessages() {
+        GameMessage batch = GameMessage.builder()
+                .type(GameMessage.MessageType.BATCH)
+                .roomId(CompactId.newId())
+                .messages(List.of(chat("안녕", 1), chat("gg", 2)))
+                .build();
+
+        byte[] compact = CompactGameMessageCodec.encode(batch);
+
+        assertThat(CompactGameMessageCodec.decode(compact, roomState -> null)).isEqualTo(batch);
+        assertThat(CompactGameMessageCodec.hasType(compact, GameMessage.MessageType.BATCH)).isTrue();
+    }
+
+    @Test
+    void malformedPayloadsAreRejected() {
+        byte[] compact = CompactGameMessageCodec.encode(chat("hello", 3));
+
+        assertThatThrownBy(() -> CompactGameMessageCodec.decode(Arrays.copyOf(compact, compact.length - 2), roomState -> null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompactGameMessageCodec.decode(Arrays.copyOf(compact, compact.length + 1), roomState -> null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompactGameMessageCodec.decode(new byte[]{99, 0}, roomState -> null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void deeplyNestedBatchIsRejectedWithoutRecursing() {
+        int depth = 100_000;
+        byte[] frame = new byte[depth * 4 + 2];
+        for (int i = 0; i < depth; i++) {
+            frame[i * 4] = (byte) GameMessage.MessageType.BATCH.ordinal();
+            frame[i * 4 + 1] = (byte) 0x80;
+            frame[i * 4 + 2] = 0x08;
+            frame[i * 4 + 3] = 1;
+        }
+        frame[depth * 4] = (byte) GameMessage.MessageType.CHAT.ordinal();
+
+        assertThatThrownBy(() -> CompactGameMessageCodec.decode(frame, roomState -> null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompactGameMessageCodec.decodeClientMessage(frame))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void clientDecodeRejectsServerOnlyFields() {
+        GameMessage batch = GameMessage.builder()
+                .type(GameMessage.MessageType.BATCH)
+                .messages(List.of(chat("hi", 1)))
+                .build();
+        GameMessage withRoomState = GameMessage.builder()
+                .type(GameMessage.MessageType.CHAT)
+                .roomState(roomSnapshotMapper.snapshotOf(new GameRoom(CompactId.newId(), "방", "host", hostId)))
+                .build();
+        GameMessage move = GameMessage.builder()
+                .type(GameMessage.MessageType.MOVE)
+                .move(new MovePayload(4))
+                .build();
+
+        assertThatThrownBy(() -> CompactGameMessageCodec.decodeClientMessage(CompactGameMessageCodec.encode(batch)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompactGameMessageCodec.decodeClientMessage(CompactGameMessageCodec.encode(withRoomState)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(CompactGameMessageCodec.decodeClientMessage(CompactGameMessageCodec.encode(move))).isEqualTo(move);
+    }
+
+    @Test
+    void negotiatorSwapsBroadcastPayloadOnlyForCompactSessions() {
+        CompactWireNegotiator negotiator = new CompactWireNegotiator(new SimpleMeterRegistry());
+        GameMessage chat = chat("hi", 1);
+        assertThat(negotiator.broadcastHeaders(chat)).isNull();
+
+        connect(negotiator, "sockjs", false);
+        connect(negotiator, "compact", true);
+
+        byte[] json = "{\"type\":\"CHAT\"}".getBytes(StandardCharsets.UTF_8);
+        Object compact = negotiator.broadcastHeaders(chat).get(CompactWireNegotiator.COMPACT_PAYLOAD_HEADER);
+        Message<?> toCompact = negotiator.preSend(outbound("compact", json, chat), null);
+        Message<?> toSockJs = negotiator.preSend(outbound("sockjs", json, chat), null);
+
+        assertThat(toCompact.getPayload()).isEqualTo(compact);
+        assertThat(CompactGameMessageCodec.isCompact(toCompact.getHeaders())).isTrue();
+        assertThat(toSockJs.getPayload()).isSameAs(json);
+    }
+
+    private void connect(CompactWireNegotiator negotiator, String sessionId, boolean binaryFrames) {
+        Map<String, Object> attributes = new HashMap<>();
+        if (binaryFrames) {
+            negotiator.beforeHandshake(null, null, null, attributes);
+        }
+        SimpMessageHeaderAccessor connect = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+        connect.setSessionId(sessionId);
+        connect.setSessionAttributes(attributes);
+        connect.setContentType(CompactGameMessageCodec.MIME_TYPE);
+        negotiator.onConnect(new SessionConnectEvent(this, MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders())));
+    }
+
+    private Message<byte[]> outbound(String sessionId, byte[] json, GameMessage message) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setHeader(CompactWireNegotiator.COMPACT_PAYLOAD_HEADER, CompactGameMessageCodec.encode(message));
+        return MessageBuilder.createMessage(json, accessor.getMessageHeaders());
+    }
+
+    private RoomSnapshot snapshotOf(RoomStateDto roomState) {
+        try {
+            return new RoomSnapshot(0, roomState, objectMapper.writeValueAsString(roomState));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static GameMessage chat(String content, long sequence) {
+        return GameMessage.builder()
+                .type(GameMessage.MessageType.CHAT)
+                .sender("host")
+                .senderRole(PlayerRole.HOST)
+                .content(content)
+                .sequence(sequence)
+                .build();
+    }
+}
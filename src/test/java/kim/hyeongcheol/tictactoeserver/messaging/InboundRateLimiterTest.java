@@ -0,0 +1,81 @@
+package kim.hyeongcheol.tictactoeserver.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InboundRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InboundRateLimiter limiter = new InboundRateLimiter(meterRegistry, 1, 3, 1, 5);
+
+    @Test
+    void rejectsChatBeyondBurstWithoutTouchingCommands() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.preSend(send("s1", "{\"content\":\"hi\",\"type\":\"CHAT\"}"), null)).isNotNull();
+        }
+
+        assertThat(limiter.preSend(send("s1", "{\"type\":\"CHAT\",\"content\":\"spam\"}"), null)).isNull();
+        assertThat(limiter.preSend(send("s1", "{\"type\":\"MOVE\",\"move\":{\"index\":4}}"), null)).isNotNull();
+        assertThat(limiter.preSend(send("s2", "{\"type\":\"CHAT\",\"content\":\"hi\"}"), null)).isNotNull();
+        assertThat(meterRegistry.counter("game.stomp.inbound.rejected", "reason", "rate-limit", "kind", "chat").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void chatTextContainingTypeIsNotMistakenForChatFrame() {
+        int accepted = 0;
+        while (limiter.tryAcquire("s1", InboundRateLimiter.Kind.CHAT)) {
+            accepted++;
+        }
+        assertThat(accepted).isEqualTo(3);
+
+        assertThat(limiter.preSend(send("s1", "{\"type\":\"READY\",\"content\":\"\\\"type\\\":\\\"CHAT\\\"\"}"), null)).isNotNull();
+    }
+
+    @Test
+    void chatIsRecognisedByItsParsedTypeRegardlessOfFormatting() {
+        assertThat(limiter.preSend(send("s1", "{ \"type\" : \"CHAT\", \"content\": \"a\"}"), null)).isNotNull();
+        assertThat(limiter.preSend(send("s1", "{\"room\":{\"type\":\"MOVE\"},\n\"type\":\"\\u0043HAT\"}"), null)).isNotNull();
+        assertThat(limiter.preSend(send("s1", "{\"content\":\"b\",\t\"type\":\"CH\\u0041T\"}"), null)).isNotNull();
+
+        assertThat(limiter.preSend(send("s1", "{\"type\" :\"CHAT\"}"), null)).isNull();
+        assertThat(limiter.preSend(send("s1", "{\"type\":\"MOVE\"}"), null)).isNotNull();
+    }
+
+    @Test
+    void duplicateTypeFieldCannotSmuggleChatPastTheChatLimit() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.preSend(send("s1", "{\"type\":\"CHAT\"}"), null)).isNotNull();
+        }
+
+        assertThat(limiter.preSend(send("s1", "{\"type\":\"MOVE\",\"type\":\"CHAT\",\"content\":\"spam\"}"), null)).isNull();
+        assertThat(limiter.preSend(send("s1", "{\"type\":\"CHAT\",\"content\":\"spam\",\"type\":\"MOVE\"}"), null)).isNull();
+    }
+
+    @Test
+    void disconnectForgetsSession() {
+        limiter.preSend(send("s1", "{\"type\":\"CHAT\"}"), null);
+        assertThat(limiter.trackedSessions()).isEqualTo(1);
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.DISCONNECT);
+        accessor.setSessionId("s1");
+        limiter.preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), null);
+
+        assertThat(limiter.trackedSessions()).isZero();
+    }
+
+    private static Message<byte[]> send(String sessionId, String json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination("/app/room/room-1");
+        return MessageBuilder.createMessage(json.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+    }
+}
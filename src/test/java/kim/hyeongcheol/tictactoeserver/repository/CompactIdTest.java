@@ -0,0 +1,19 @@
+package kim.hyeongcheol.tictactoeserver.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactIdTest {
+
+    @Test
+    void idsRoundTripThroughTheirNumericForm() {
+        String id = CompactId.newId();
+
+        assertThat(id).hasSize(CompactId.LENGTH).matches("[0-9a-z]+");
+        assertThat(CompactId.format(CompactId.parse(id))).isEqualTo(id);
+        assertThat(CompactId.parse(CompactId.format(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+        assertThat(CompactId.parse("zzzzzzzzzzzzz")).isEqualTo(CompactId.NONE);
+        assertThat(CompactId.parse("4f0c1c2e-7a0b-4d5e-9a1f-3b2c1d0e9f8a")).isEqualTo(CompactId.NONE);
+    }
+}
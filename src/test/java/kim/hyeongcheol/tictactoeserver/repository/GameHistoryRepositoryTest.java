@@ -0,0 +1,110 @@
+package kim.hyeongcheol.tictactoeserver.repository;
+
+import kim.hyeongcheol.tictactoeserver.dto.GameHistoryEntry;
+import kim.hyeongcheol.tictactoeserver.game.TicTacToeGame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameHistoryRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysMovesAndListsRecentGamesPerPlayer() throws Exception {
+        GameHistoryRepository repository = new GameHistoryRepository(8, "", 1024, 20);
+        TicTacToeGame won = finishedGame("alice", "bob", 0, 3, 1, 4, 2);
+        long wonId = repository.record(won, "앨리스", "밥", false);
+        long drawId = repository.record(finishedGame("alice", "carol", 0, 1, 2, 4, 3, 5, 7, 6, 8), "앨리스", "캐롤", false);
+        repository.record(finishedGame("bob", "carol", 4), "밥", "캐롤", true);
+
+        GameHistoryEntry replay = repository.findById(wonId).orElseThrow();
+
+        assertThat(replay.getMoves()).containsExactly(0, 3, 1, 4, 2);
+        assertThat(replay.getResult()).isEqualTo(GameHistoryEntry.Result.X_WIN);
+        assertThat(replay.getPlayerXSessionId()).isEqualTo(won.getPlayerXSessionId());
+        assertThat(repository.findRecentByPlayer("alice", 10))
+                .extracting(GameHistoryEntry::getGameId)
+                .containsExactly(drawId, wonId);
+        assertThat(repository.findById(drawId).orElseThrow().getResult()).isEqualTo(GameHistoryEntry.Result.DRAW);
+        repository.destroy();
+    }
+
+    @Test
+    void evictedGamesSpillToFileAndSurviveRestart() throws Exception {
+        String spillFile = directory.resolve("history.bin").toString();
+        GameHistoryRepository repository = new GameHistoryRepository(2, spillFile, 1024, 20);
+        long firstId = repository.record(finishedGame("alice", "bob", 4, 0, 8), "앨리스", "밥", true);
+        for (int i = 0; i < 4; i++) {
+            repository.record(finishedGame("carol", "dave", i), "캐롤", "데이브", true);
+        }
+
+        assertThat(repository.size()).isEqualTo(2);
+        assertThat(repository.findRecentByPlayer("alice", 10)).isEmpty();
+        repository.destroy();
+
+        GameHistoryRepository restarted = new GameHistoryRepository(2, spillFile, 1024, 20);
+        GameHistoryEntry replay = restarted.findById(firstId).orElseThrow();
+
+        assertThat(replay.getMoves()).containsExactly(4, 0, 8);
+        assertThat(replay.isForfeit()).isTrue();
+        assertThat(replay.getPlayerXNickname()).isIn("앨리스", "밥");
+        assertThat(restarted.record(finishedGame("alice", "bob", 1), "앨리스", "밥", false)).isEqualTo(firstId + 5);
+        restarted.destroy();
+    }
+
+    @Test
+    void spillFileWrapsAtItsRecordLimit() throws Exception {
+        Path spillFile = directory.resolve("history.bin");
+        GameHistoryRepository repository = new GameHistoryRepository(2, spillFile.toString(), 3, 20);
+        for (int i = 0; i < 10; i++) {
+            repository.record(finishedGame("alice", "bob", i % 9), "앨리스", "밥", false);
+        }
+        repository.destroy();
+
+        GameHistoryRepository restarted = new GameHistoryRepository(2, spillFile.toString(), 3, 20);
+
+        assertThat(Files.size(spillFile)).isEqualTo(3L * GameHistoryRepository.SPILL_RECORD_BYTES);
+        assertThat(restarted.findById(0)).isEmpty();
+        assertThat(restarted.findById(7).orElseThrow().getMoves()).containsExactly(7);
+        assertThat(restarted.findById(9).orElseThrow().getMoves()).containsExactly(0);
+        assertThat(restarted.record(finishedGame("alice", "bob", 4), "앨리스", "밥", false)).isEqualTo(10);
+        restarted.destroy();
+    }
+
+    @Test
+    void recentIndexKeepsOnlyTheNewestGamesPerPlayerStillInMemory() throws Exception {
+        GameHistoryRepository repository = new GameHistoryRepository(4, "", 1024, 2);
+        long first = repository.record(finishedGame("alice", "bob", 0), "앨리스", "밥", false);
+        long second = repository.record(finishedGame("alice", "carol", 1), "앨리스", "캐롤", false);
+        long third = repository.record(finishedGame("carol", "alice", 2), "캐롤", "앨리스", false);
+
+        assertThat(repository.findRecentByPlayer("alice", 10)).extracting(GameHistoryEntry::getGameId)
+                .containsExactly(third, second);
+        assertThat(repository.findRecentByPlayer("bob", 10)).extracting(GameHistoryEntry::getGameId)
+                .containsExactly(first);
+
+        for (int i = 0; i < 2; i++) {
+            repository.record(finishedGame("dave", "erin", i), "데이브", "에린", false);
+        }
+
+        assertThat(repository.findRecentByPlayer("bob", 10)).isEmpty();
+        assertThat(repository.findRecentByPlayer("carol", 1)).extracting(GameHistoryEntry::getGameId)
+                .containsExactly(third);
+        repository.destroy();
+    }
+
+    private static TicTacToeGame finishedGame(String first, String second, int... moves) {
+        TicTacToeGame game = new TicTacToeGame(first, second);
+        for (int i = 0; i < moves.length; i++) {
+            game.makeMove(moves[i], i % 2 == 0 ? game.getPlayerXSessionId() : game.getPlayerOSessionId());
+        }
+        game.forfeit(game.getCurrentPlayerSessionId());
+        return game;
+    }
+}
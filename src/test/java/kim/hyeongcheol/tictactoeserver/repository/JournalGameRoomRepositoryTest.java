@@ -0,0 +1,110 @@
+package kim.hyeongcheol.tictactoeserver.repository;
+
+import kim.hyeongcheol.tictactoeserver.game.AiDifficulty;
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JournalGameRoomRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysRoomsGamesAndSessionLinksAfterRestart() throws Exception {
+        JournalGameRoomRepository repository = new JournalGameRoomRepository(directory.toString(), true, Long.MAX_VALUE);
+        GameRoom room = playingRoom("room-1");
+        String x = room.getGame().getPlayerXSessionId();
+        room.makeMove(4, x);
+        repository.save(room);
+        repository.linkSessionToRoom("host", "room-1");
+        repository.linkSessionToRoom("guest", "room-1");
+        repository.save(new GameRoom("room-2", "deleted", "other", "other"));
+        repository.deleteById("room-2");
+        repository.unlinkSessionFromRoom("guest");
+        repository.destroy();
+
+        JournalGameRoomRepository restored = new JournalGameRoomRepository(directory.toString(), true, Long.MAX_VALUE);
+        GameRoom restoredRoom = restored.findById("room-1").orElseThrow();
+
+        assertThat(restored.findById("room-2")).isEmpty();
+        assertThat(restoredRoom.getGameState()).isEqualTo(GameRoom.GameState.PLAYING);
+        assertThat(restoredRoom.getPlayers()).containsOnlyKeys("host", "guest");
+        assertThat(restoredRoom.getVersion()).isEqualTo(room.getVersion());
+        assertThat(restoredRoom.getGame().getBoard()[4]).isEqualTo('X');
+        assertThat(restoredRoom.getGame().getCurrentPlayerSessionId()).isEqualTo(room.getGame().getCurrentPlayerSessionId());
+        assertThat(restored.findRoomIdBySessionId("host")).contains("room-1");
+        assertThat(restored.findRoomIdBySessionId("guest")).isEmpty();
+        restored.destroy();
+    }
+
+    @Test
+    void compactsIntoSnapshotAndIgnoresTornTail() throws Exception {
+        JournalGameRoomRepository repository = new JournalGameRoomRepository(directory.toString(), true, 512);
+        for (int i = 0; i < 20; i++) {
+            repository.save(new GameRoom("room-" + i, "방 " + i, "host", "host-" + i));
+        }
+        for (int i = 0; i < 10; i++) {
+            repository.deleteById("room-" + i);
+        }
+        repository.destroy();
+        Path lastSegment;
+        try (Stream<Path> files = Files.list(directory)) {
+            lastSegment = files.filter(file -> file.getFileName().toString().startsWith("journal-")).sorted().reduce((a, b) -> b).orElseThrow();
+        }
+        Files.write(lastSegment, new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+        JournalGameRoomRepository restored = new JournalGameRoomRepository(directory.toString(), true, Long.MAX_VALUE);
+
+        assertThat(snapshotCount()).isEqualTo(1);
+        assertThat(restored.findNewest(null, 50).rooms()).extracting(GameRoom::getRoomId)
+                .containsExactly("room-19", "room-18", "room-17", "room-16", "room-15", "room-14", "room-13", "room-12", "room-11", "room-10");
+        restored.destroy();
+    }
+
+    @Test
+    void replaysAiSeatAndMoveHistory() throws Exception {
+        JournalGameRoomRepository repository = new JournalGameRoomRepository(directory.toString(), true, Long.MAX_VALUE);
+        GameRoom room = new GameRoom("room-ai", "journal", "host", "host");
+        room.seatAi("ai", "AI", AiDifficulty.HARD);
+        room.markReady("host");
+        room.startGame();
+        room.makeMove(0, room.getGame().getCurrentPlayerSessionId());
+        room.makeMove(4, room.getGame().getCurrentPlayerSessionId());
+        repository.save(room);
+        repository.save(new GameRoom("room-lobby", "journal", "other", "other"));
+        repository.destroy();
+
+        JournalGameRoomRepository restored = new JournalGameRoomRepository(directory.toString(), true, Long.MAX_VALUE);
+        GameRoom restoredRoom = restored.findById("room-ai").orElseThrow();
+
+        assertThat(restoredRoom.getAiSessionId()).isEqualTo("ai");
+        assertThat(restoredRoom.getAiDifficulty()).isEqualTo(AiDifficulty.HARD);
+        assertThat(restoredRoom.getGame().getMoveHistory()).isEqualTo(room.getGame().getMoveHistory());
+        assertThat(restored.findById("room-lobby").orElseThrow().hasAi()).isFalse();
+        restored.destroy();
+    }
+
+    private long snapshotCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().matches("snapshot-\\d+\\.bin")).count();
+        }
+    }
+
+    private static GameRoom playingRoom(String roomId) {
+        GameRoom room = new GameRoom(roomId, "journal", "host", "host");
+        room.addPlayer("guest", "guest");
+        room.markReady("host");
+        room.markReady("guest");
+        room.startGame();
+        return room;
+    }
+}
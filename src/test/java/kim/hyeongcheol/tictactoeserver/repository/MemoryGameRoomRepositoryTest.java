@@ -0,0 +1,94 @@
+package kim.hyeongcheol.tictactoeserver.repository;
+
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemoryGameRoomRepositoryTest {
+
+    private final MemoryGameRoomRepository repository = new MemoryGameRoomRepository();
+
+    @Test
+    void newestPagesWalkBackwardsThroughCreationOrder() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(new GameRoom("room-" + i, "방 " + i, "host", "host-" + i));
+        }
+
+        RoomSlice first = repository.findNewest(null, 2);
+        RoomSlice second = repository.findNewest(first.nextCursor(), 2);
+        RoomSlice last = repository.findNewest(second.nextCursor(), 2);
+
+        assertThat(first.rooms()).extracting(GameRoom::getRoomId).containsExactly("room-4", "room-3");
+        assertThat(second.rooms()).extracting(GameRoom::getRoomId).containsExactly("room-2", "room-1");
+        assertThat(last.rooms()).extracting(GameRoom::getRoomId).containsExactly("room-0");
+        assertThat(last.nextCursor()).isNull();
+    }
+
+    @Test
+    void joinableIndexFollowsPlayerCountAndDeletion() {
+        GameRoom full = repository.save(new GameRoom("full", "full", "host", "h1"));
+        repository.save(new GameRoom("open", "open", "host", "h2"));
+        GameRoom deleted = repository.save(new GameRoom("deleted", "deleted", "host", "h3"));
+
+        full.addPlayer("g1", "guest");
+        repository.save(full);
+        repository.deleteById(deleted.getRoomId());
+
+        assertThat(repository.findJoinable(null, 10).rooms()).extracting(GameRoom::getRoomId).containsExactly("open");
+    }
+
+    @Test
+    void streamingSurvivesConcurrentSavesAndDeletes() {
+        for (int i = 0; i < 100; i++) {
+            repository.save(new GameRoom("room-" + i, "방 " + i, "host", "host-" + i));
+        }
+
+        long streamed = repository.streamAll()
+                .peek(room -> {
+                    repository.deleteById(room.getRoomId());
+                    repository.save(new GameRoom("new-" + room.getRoomId(), "새 방", "host", "new-host"));
+                })
+                .filter(room -> room.getRoomId().startsWith("room-"))
+                .count();
+
+        assertThat(streamed).isEqualTo(100);
+        assertThat(repository.count()).isEqualTo(100);
+    }
+
+    @Test
+    void prefixSearchIsCaseInsensitiveAndPaged() {
+        repository.save(new GameRoom("1", "Alpha", "host", "h1"));
+        repository.save(new GameRoom("2", "alpine", "host", "h2"));
+        repository.save(new GameRoom("3", "beta", "host", "h3"));
+        repository.save(new GameRoom("4", "ALPS", "host", "h4"));
+
+        RoomSlice first = repository.findByRoomNamePrefix("al", null, 2);
+        RoomSlice second = repository.findByRoomNamePrefix("al", first.nextCursor(), 2);
+
+        assertThat(first.rooms()).extracting(GameRoom::getRoomName).containsExactly("Alpha", "alpine");
+        assertThat(second.rooms()).extracting(GameRoom::getRoomName).containsExactly("ALPS");
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void secondLinkForSeatedSessionIsRejected() {
+        assertThat(repository.linkSessionToRoom("raw-session", "room-a")).isTrue();
+        assertThat(repository.linkSessionToRoom("raw-session", "room-b")).isFalse();
+
+        assertThat(repository.findRoomIdBySessionId("raw-session")).contains("room-a");
+
+        repository.unlinkSessionFromRoom("raw-session");
+
+        assertThat(repository.linkSessionToRoom("raw-session", "room-b")).isTrue();
+    }
+
+    @Test
+    void malformedCursorsYieldAnEmptySlice() {
+        repository.save(new GameRoom("room-1", "alpha", "host", "h1"));
+
+        assertThat(repository.findNewest("not a cursor!", 10)).isEqualTo(RoomSlice.EMPTY);
+        assertThat(repository.findJoinable("zzzzzzzzzzzzzzzzzzzz", 10)).isEqualTo(RoomSlice.EMPTY);
+        assertThat(repository.findByRoomNamePrefix("al", "%%%", 10)).isEqualTo(RoomSlice.EMPTY);
+    }
+}
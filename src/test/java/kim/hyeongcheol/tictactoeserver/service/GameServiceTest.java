@@ -0,0 +1,347 @@
+package kim.hyeongcheol.tictactoeserver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kim.hyeongcheol.tictactoeserver.cluster.ClusterMessageRelay;
+import kim.hyeongcheol.tictactoeserver.cluster.ClusterNode;
+import kim.hyeongcheol.tictactoeserver.cluster.InProcessClusterBus;
+import kim.hyeongcheol.tictactoeserver.cluster.InProcessClusterHub;
+import kim.hyeongcheol.tictactoeserver.dto.GameMessage;
+import kim.hyeongcheol.tictactoeserver.dto.MovePayload;
+import kim.hyeongcheol.tictactoeserver.executor.DirectRoomCommandExecutor;
+import kim.hyeongcheol.tictactoeserver.executor.HashedTimingWheel;
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import kim.hyeongcheol.tictactoeserver.messaging.CompactWireNegotiator;
+import kim.hyeongcheol.tictactoeserver.messaging.SlowConsumerGuard;
+import kim.hyeongcheol.tictactoeserver.metrics.GameMetrics;
+import kim.hyeongcheol.tictactoeserver.repository.GameHistoryRepository;
+import kim.hyeongcheol.tictactoeserver.repository.MemoryGameRoomRepository;
+import kim.hyeongcheol.tictactoeserver.repository.RatingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameServiceTest {
+
+    private static final String ROOM_TOPIC = "/topic/room/";
+    private static final String SPECTATOR_SESSION_ID = "ws-spectator";
+
+    private final InProcessClusterHub hub = new InProcessClusterHub();
+    private final HashedTimingWheel timingWheel = new HashedTimingWheel(10, 8);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SlowConsumerGuard slowConsumerGuard = new SlowConsumerGuard(meterRegistry, Duration.ZERO, Duration.ofHours(1));
+    private final List<Message<?>> sent = new CopyOnWriteArrayList<>();
+    private final List<GameMessage> spectatorFrames = new CopyOnWriteArrayList<>();
+    private final MemoryGameRoomRepository repository = new MemoryGameRoomRepository();
+    private final CountDownLatch releaseStalledSend = new CountDownLatch(1);
+    private PlayerSessionService playerSessionService;
+    private RoomBroadcaster roomBroadcaster;
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        ClusterNode clusterNode = new ClusterNode(new InProcessClusterBus(hub), new SimpleMeterRegistry(), "n0", "n0", 16);
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate((message, timeout) -> {
+            sent.add(message);
+            if (SimpMessageHeaderAccessor.getDestination(message.getHeaders()).startsWith(ROOM_TOPIC)) {
+                deliverToSpectator(message);
+            }
+            return true;
+        });
+        GameMetrics gameMetrics = new GameMetrics(new SimpleMeterRegistry());
+        CompactWireNegotiator compactWireNegotiator = new CompactWireNegotiator(new SimpleMeterRegistry());
+        DirectRoomCommandExecutor executor = new DirectRoomCommandExecutor();
+        playerSessionService = new PlayerSessionService(repository, timingWheel, Duration.ofSeconds(20));
+        ClusterMessageRelay relay = new ClusterMessageRelay(clusterNode, messagingTemplate, playerSessionService);
+        roomBroadcaster = new RoomBroadcaster(messagingTemplate, gameMetrics, compactWireNegotiator,
+                0, Duration.ofMillis(50), Duration.ZERO, false);
+        gameService = new GameService(messagingTemplate, repository, new RoomSnapshotMapper(objectMapper),
+                new LobbyService(messagingTemplate, repository, clusterNode, relay, objectMapper), timingWheel, executor,
+                playerSessionService, gameMetrics, roomBroadcaster, new GameHistoryRepository(64, "", 64, 20),
+                clusterNode, relay, compactWireNegotiator, new RatingService(new RatingRepository(), 1200, 32, 100, 4, 0, 5));
+        ReflectionTestUtils.setField(gameService, "deltaUpdates", true);
+        ReflectionTestUtils.setField(gameService, "idleTtl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(gameService, "turnTimeout", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(gameService, "maxSpectatorsPerRoom", 10);
+        ReflectionTestUtils.setField(gameService, "aiMoveDelay", Duration.ZERO);
+        clusterNode.afterSingletonsInstantiated();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseStalledSend.countDown();
+        roomBroadcaster.destroy();
+        hub.destroy();
+        timingWheel.destroy();
+    }
+
+    @Test
+    void chatDroppedForSlowSpectatorLeavesNoSequenceGap() throws Exception {
+        String hostId = playerSessionService.bind("ws-host", null).getSessionId();
+        String guestId = playerSessionService.bind("ws-guest", null).getSessionId();
+        String spectatorId = playerSessionService.bind(SPECTATOR_SESSION_ID, null).getSessionId();
+        gameService.createRoom("느린 관전", "host", hostId);
+        String roomId = repository.findRoomIdBySessionId(hostId).orElseThrow();
+        gameService.joinRoom(roomId, "guest", guestId);
+        gameService.spectate(roomId, spectatorId);
+        long spectatingSequence = payloadsTo("/user/" + SPECTATOR_SESSION_ID + "/queue/room/spectating").getFirst().getSequence();
+        spectatorFrames.clear();
+
+        stallSpectator();
+        gameService.processMessage(roomId, GameMessage.builder().type(GameMessage.MessageType.CHAT).content("안녕").sequence(99L).build(), hostId);
+        gameService.processMessage(roomId, GameMessage.builder().type(GameMessage.MessageType.READY).build(), hostId);
+        gameService.processMessage(roomId, GameMessage.builder().type(GameMessage.MessageType.READY).build(), guestId);
+        String firstPlayerId = repository.findById(roomId).orElseThrow().getGame().getCurrentPlayerSessionId();
+        gameService.processMessage(roomId, GameMessage.builder().type(GameMessage.MessageType.MOVE).move(new MovePayload(4)).build(), firstPlayerId);
+
+        assertThat(meterRegistry.get("game.stomp.outbound.dropped").counter().count()).isEqualTo(1);
+        assertThat(spectatorFrames).extracting(GameMessage::getType).containsExactly(
+                GameMessage.MessageType.READY, GameMessage.MessageType.READY,
+                GameMessage.MessageType.GAME_START, GameMessage.MessageType.GAME_UPDATE);
+        assertThat(spectatorFrames).extracting(GameMessage::getSequence).containsExactly(
+                spectatingSequence + 1, spectatingSequence + 2, spectatingSequence + 3, spectatingSequence + 4);
+    }
+
+    @Test
+    void deltaUpdatesFollowTheRoomSequenceAndResyncSendsTheFullStateAtThatSequence() {
+        String hostId = bind("ws-host");
+        String guestId = bind("ws-guest");
+        String roomId = playingRoom(hostId, guestId);
+        String firstPlayerId = repository.findById(roomId).orElseThrow().getGame().getCurrentPlayerSessionId();
+        String secondPlayerId = firstPlayerId.equals(hostId) ? guestId : hostId;
+
+        gameService.processMessage(roomId, move(4), firstPlayerId);
+        gameService.processMessage(roomId, move(4), secondPlayerId);
+        gameService.processMessage(roomId, move(0), secondPlayerId);
+
+        long startSequence = roomFrames(GameMessage.MessageType.GAME_START).getFirst().getSequence();
+        List<GameMessage> updates = roomFrames(GameMessage.MessageType.GAME_UPDATE);
+        assertThat(updates).extracting(GameMessage::getSequence).containsExactly(startSequence + 1, startSequence + 2);
+        assertThat(updates).extracting(GameMessage::getRoomState).containsOnlyNulls();
+        assertThat(updates.getFirst())
+                .extracting(update -> update.getMove().getIndex(), GameMessage::getMark, GameMessage::getNextPlayerSessionId)
+                .containsExactly(4, 'X', secondPlayerId);
+
+        gameService.resync(roomId, guestId);
+        gameService.resync(roomId, bind("ws-stranger"));
+
+        assertThat(payloadsTo("/user/ws-stranger/queue/room/state")).isEmpty();
+        GameMessage sync = payloadsTo("/user/ws-guest/queue/room/state").getFirst();
+        assertThat(sync.getType()).isEqualTo(GameMessage.MessageType.SYNC);
+        assertThat(sync.getSequence()).isEqualTo(updates.getLast().getSequence());
+        assertThat(sync.getRoomState().getRoomState().getGame().getBoard())
+                .containsExactly('O', null, null, null, 'X', null, null, null, null);
+        assertThat(sync.getRoomState().getRoomState().getGame().getCurrentPlayerSessionId()).isEqualTo(firstPlayerId);
+    }
+
+    @Test
+    void stalledTurnForfeitsWhenTheTurnTimeoutExpires() throws Exception {
+        ReflectionTestUtils.setField(gameService, "turnTimeout", Duration.ofMillis(50));
+        String hostId = bind("ws-host");
+        String guestId = bind("ws-guest");
+        String roomId = playingRoom(hostId, guestId);
+        String firstPlayerId = repository.findById(roomId).orElseThrow().getGame().getCurrentPlayerSessionId();
+
+        gameService.processMessage(roomId, move(4), firstPlayerId);
+
+        await(() -> !roomFrames(GameMessage.MessageType.GAME_END).isEmpty());
+        GameMessage end = roomFrames(GameMessage.MessageType.GAME_END).getFirst();
+        assertThat(end.getContent()).startsWith("시간 초과로");
+        assertThat(end.getRoomState().getRoomState().getGame().getWinnerSessionId()).isEqualTo(firstPlayerId);
+        assertThat(repository.findById(roomId).orElseThrow().getGameState()).isEqualTo(GameRoom.GameState.FINISHED);
+    }
+
+    @Test
+    void finishedGameCancelsItsTurnTimeout() throws Exception {
+        ReflectionTestUtils.setField(gameService, "turnTimeout", Duration.ofMillis(100));
+        String hostId = bind("ws-host");
+        String guestId = bind("ws-guest");
+        String roomId = playingRoom(hostId, guestId);
+        String firstPlayerNickname = repository.findById(roomId).orElseThrow().getGame().getCurrentPlayerSessionId().equals(hostId)
+                ? "host" : "guest";
+        long pendingBeforeGame = timingWheel.pendingTimeouts() - 1;
+
+        for (int index : new int[]{0, 3, 1, 4, 2}) {
+            String playerId = repository.findById(roomId).orElseThrow().getGame().getCurrentPlayerSessionId();
+            gameService.processMessage(roomId, move(index), playerId);
+        }
+        Thread.sleep(300);
+
+        assertThat(roomFrames(GameMessage.MessageType.GAME_END)).singleElement()
+                .extracting(GameMessage::getContent).isEqualTo(firstPlayerNickname + "님의 승리!");
+        assertThat(timingWheel.pendingTimeouts()).isEqualTo(pendingBeforeGame);
+    }
+
+    @Test
+    void idleRoomExpiresAndReleasesItsSeats() throws Exception {
+        ReflectionTestUtils.setField(gameService, "idleTtl", Duration.ofMillis(50));
+        String hostId = bind("ws-host");
+        String guestId = bind("ws-guest");
+        gameService.createRoom("한가한 방", "host", hostId);
+        String roomId = repository.findRoomIdBySessionId(hostId).orElseThrow();
+        gameService.joinRoom(roomId, "guest", guestId);
+
+        await(() -> !roomFrames(GameMessage.MessageType.ROOM_CLOSED).isEmpty());
+
+        assertThat(repository.findById(roomId)).isEmpty();
+        assertThat(roomFrames(GameMessage.MessageType.ROOM_CLOSED)).singleElement()
+                .extracting(GameMessage::getContent).isEqualTo("오랫동안 활동이 없어 방이 닫혔습니다.");
+        assertThat(repository.findRoomIdBySessionId(hostId)).isEmpty();
+        assertThat(repository.findRoomIdBySessionId(guestId)).isEmpty();
+    }
+
+    @Test
+    void spectatorsBeyondTheCapAreTurnedAway() {
+        ReflectionTestUtils.setField(gameService, "maxSpectatorsPerRoom", 2);
+        String hostId = bind("ws-host");
+        gameService.createRoom("인기 방", "host", hostId);
+        String roomId = repository.findRoomIdBySessionId(hostId).orElseThrow();
+        String first = bind("ws-first");
+        String second = bind("ws-second");
+        String third = bind("ws-third");
+
+        gameService.spectate(roomId, first);
+        gameService.spectate(roomId, second);
+        gameService.spectate(roomId, third);
+
+        assertThat(payloadsTo("/user/ws-third/queue/errors")).singleElement()
+                .extracting(GameMessage::getContent).isEqualTo("관전 인원이 가득 찼습니다.");
+        assertThat(repository.findById(roomId).orElseThrow().getSpectatorSessionIds()).containsOnly(first, second);
+
+        gameService.stopSpectating(first);
+        gameService.spectate(roomId, third);
+
+        assertThat(payloadsTo("/user/ws-third/queue/room/spectating")).hasSize(1);
+        assertThat(repository.findById(roomId).orElseThrow().getSpectatorSessionIds()).containsOnly(second, third);
+    }
+
+    @Test
+    void deletedRoomsForgetTheirSpectators() throws Exception {
+        ReflectionTestUtils.setField(gameService, "idleTtl", Duration.ofMillis(50));
+        String closedHostId = bind("ws-closed-host");
+        String idleHostId = bind("ws-idle-host");
+        String spectatorId = bind("ws-watcher");
+        String otherSpectatorId = bind("ws-other-watcher");
+        gameService.createRoom("닫힐 방", "host", closedHostId);
+        String closedRoomId = repository.findRoomIdBySessionId(closedHostId).orElseThrow();
+        gameService.createRoom("한가한 방", "host", idleHostId);
+        String idleRoomId = repository.findRoomIdBySessionId(idleHostId).orElseThrow();
+        gameService.spectate(closedRoomId, spectatorId);
+        gameService.spectate(idleRoomId, otherSpectatorId);
+
+        gameService.handleDisconnect(closedHostId);
+
+        assertThat(spectatedRoomIds()).containsOnlyKeys(otherSpectatorId);
+
+        await(() -> !roomFrames(GameMessage.MessageType.ROOM_CLOSED).isEmpty());
+
+        assertThat(spectatedRoomIds()).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> spectatedRoomIds() {
+        return (Map<String, String>) ReflectionTestUtils.getField(gameService, "spectatedRoomIds");
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private String bind(String webSocketSessionId) {
+        return playerSessionService.bind(webSocketSessionId, null).getSessionId();
+    }
+
+    private String playingRoom(String hostId, String guestId) {
+        gameService.createRoom("시퀀스 방", "host", hostId);
+        String roomId = repository.findRoomIdBySessionId(hostId).orElseThrow();
+        gameService.joinRoom(roomId, "guest", guestId);
+        gameService.processMessage(roomId, GameMessage.builder().type(GameMessage.MessageType.READY).build(), hostId);
+        gameService.processMessage(roomId, GameMessage.builder().type(GameMessage.MessageType.READY).build(), guestId);
+        return roomId;
+    }
+
+    private static GameMessage move(int index) {
+        return GameMessage.builder().type(GameMessage.MessageType.MOVE).move(new MovePayload(index)).build();
+    }
+
+    private List<GameMessage> roomFrames(GameMessage.MessageType type) {
+        return sent.stream()
+                .filter(message -> SimpMessageHeaderAccessor.getDestination(message.getHeaders()).startsWith(ROOM_TOPIC))
+                .map(message -> (GameMessage) message.getPayload())
+                .filter(message -> message.getType() == type)
+                .toList();
+    }
+
+    private void deliverToSpectator(Message<?> message) {
+        SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headerAccessor.copyHeaders(message.getHeaders());
+        headerAccessor.setSessionId(SPECTATOR_SESSION_ID);
+        Message<?> delivered = slowConsumerGuard.preSend(MessageBuilder.createMessage(message.getPayload(),
+                headerAccessor.getMessageHeaders()), null);
+        if (delivered != null) {
+            spectatorFrames.add((GameMessage) delivered.getPayload());
+        }
+    }
+
+    private void stallSpectator() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        WebSocketSession session = (WebSocketSession) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebSocketSession.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getId" -> SPECTATOR_SESSION_ID;
+                    case "sendMessage" -> {
+                        sending.countDown();
+                        releaseStalledSend.await();
+                        yield null;
+                    }
+                    default -> null;
+                });
+        List<WebSocketSession> tracked = new CopyOnWriteArrayList<>();
+        WebSocketHandler handler = slowConsumerGuard.decorate(new AbstractWebSocketHandler() {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession trackedSession) {
+                tracked.add(trackedSession);
+            }
+        });
+        handler.afterConnectionEstablished(session);
+        Thread.ofVirtual().start(() -> {
+            try {
+                tracked.getFirst().sendMessage(new TextMessage("막힌 전송"));
+            } catch (Exception ignored) {
+            }
+        });
+        assertThat(sending.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private List<GameMessage> payloadsTo(String destination) {
+        return sent.stream()
+                .filter(message -> destination.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders())))
+                .map(message -> (GameMessage) message.getPayload())
+                .toList();
+    }
+}
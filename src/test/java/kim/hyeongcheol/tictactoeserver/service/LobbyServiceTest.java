@@ -0,0 +1,119 @@
+package kim.hyeongcheol.tictactoeserver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kim.hyeongcheol.tictactoeserver.cluster.ClusterMessageRelay;
+import kim.hyeongcheol.tictactoeserver.cluster.ClusterNode;
+import kim.hyeongcheol.tictactoeserver.cluster.InProcessClusterBus;
+import kim.hyeongcheol.tictactoeserver.cluster.InProcessClusterHub;
+import kim.hyeongcheol.tictactoeserver.dto.LobbyQuery;
+import kim.hyeongcheol.tictactoeserver.dto.RoomInfo;
+import kim.hyeongcheol.tictactoeserver.dto.RoomPage;
+import kim.hyeongcheol.tictactoeserver.executor.HashedTimingWheel;
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import kim.hyeongcheol.tictactoeserver.repository.MemoryGameRoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LobbyServiceTest {
+
+    private final InProcessClusterHub hub = new InProcessClusterHub();
+    private final HashedTimingWheel timingWheel = new HashedTimingWheel(10, 8);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @AfterEach
+    void tearDown() {
+        hub.destroy();
+        timingWheel.destroy();
+    }
+
+    @Test
+    void lateJoinerSeesExistingRoomsAndForgetsThemWhenTheOwnerLeaves() throws Exception {
+        Node owner = new Node("n0");
+        GameRoom room = new GameRoom(owner.clusterNode.newRoomId(), "먼저 만든 방", "host", "player-1");
+        owner.repository.save(room);
+
+        Node late = new Node("n1");
+        await(() -> late.lobbyService.snapshot().size() == 1);
+        assertThat(late.lobbyService.snapshot()).extracting(RoomInfo::getRoomId).containsExactly(room.getRoomId());
+
+        owner.clusterNode.destroy();
+        await(() -> late.sentTo(LobbyService.LOBBY_TOPIC).stream().anyMatch(payload -> payload.contains("ROOM_REMOVED")));
+        assertThat(late.lobbyService.snapshot()).isEmpty();
+    }
+
+    @Test
+    void lobbyQueriesPageAcrossNodes() throws Exception {
+        Node first = new Node("n0");
+        Node second = new Node("n1");
+        await(() -> second.lobbyService.snapshot().isEmpty() && first.clusterNode.isReachable("n1")
+                && second.clusterNode.isReachable("n0"));
+        GameRoom remoteRoom = new GameRoom(first.clusterNode.newRoomId(), "다른 노드 방", "host", "player-1");
+        first.repository.save(remoteRoom);
+        GameRoom localRoom = new GameRoom(second.clusterNode.newRoomId(), "내 노드 방", "host", "player-2");
+        second.repository.save(localRoom);
+        String playerId = second.playerSessionService.bind("ws-1", null).getSessionId();
+
+        LobbyQuery query = new LobbyQuery();
+        query.setLimit(10);
+        assertThat(second.lobbyService.query(query, playerId)).isNull();
+        await(() -> second.sentTo("/user/ws-1/queue/lobby/page").size() == 1);
+        RoomPage firstPage = objectMapper.readValue(second.sentTo("/user/ws-1/queue/lobby/page").getFirst(), RoomPage.class);
+
+        query.setCursor(firstPage.getNextCursor());
+        RoomPage secondPage = second.lobbyService.query(query, playerId);
+
+        assertThat(firstPage.getRooms()).extracting(RoomInfo::getRoomId).containsExactly(remoteRoom.getRoomId());
+        assertThat(firstPage.getNextCursor()).isEqualTo("1.");
+        assertThat(secondPage.getRooms()).extracting(RoomInfo::getRoomId).containsExactly(localRoom.getRoomId());
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private class Node {
+
+        private final List<Message<?>> sent = new CopyOnWriteArrayList<>();
+        private final MemoryGameRoomRepository repository = new MemoryGameRoomRepository();
+        private final ClusterNode clusterNode;
+        private final PlayerSessionService playerSessionService;
+        private final LobbyService lobbyService;
+
+        Node(String nodeId) {
+            clusterNode = new ClusterNode(new InProcessClusterBus(hub), new SimpleMeterRegistry(), nodeId, "n0,n1", 16);
+            SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate((message, timeout) -> {
+                sent.add(clusterNode.preSend(message, null));
+                return true;
+            });
+            messagingTemplate.setMessageConverter(new MappingJackson2MessageConverter());
+            playerSessionService = new PlayerSessionService(repository, timingWheel, Duration.ofSeconds(20));
+            ClusterMessageRelay relay = new ClusterMessageRelay(clusterNode, messagingTemplate, playerSessionService);
+            lobbyService = new LobbyService(messagingTemplate, repository, clusterNode, relay, objectMapper);
+            clusterNode.afterSingletonsInstantiated();
+        }
+
+        List<String> sentTo(String destination) {
+            return sent.stream()
+                    .filter(message -> destination.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders())))
+                    .map(message -> new String((byte[]) message.getPayload()))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package kim.hyeongcheol.tictactoeserver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kim.hyeongcheol.tictactoeserver.cluster.ClusterMessageRelay;
+import kim.hyeongcheol.tictactoeserver.cluster.ClusterNode;
+import kim.hyeongcheol.tictactoeserver.cluster.InProcessClusterBus;
+import kim.hyeongcheol.tictactoeserver.cluster.InProcessClusterHub;
+import kim.hyeongcheol.tictactoeserver.dto.RoomSnapshot;
+import kim.hyeongcheol.tictactoeserver.executor.DirectRoomCommandExecutor;
+import kim.hyeongcheol.tictactoeserver.executor.HashedTimingWheel;
+import kim.hyeongcheol.tictactoeserver.messaging.CompactWireNegotiator;
+import kim.hyeongcheol.tictactoeserver.metrics.GameMetrics;
+import kim.hyeongcheol.tictactoeserver.repository.GameHistoryRepository;
+import kim.hyeongcheol.tictactoeserver.repository.MemoryGameRoomRepository;
+import kim.hyeongcheol.tictactoeserver.repository.RatingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchmakingServiceTest {
+
+    private final InProcessClusterHub hub = new InProcessClusterHub();
+    private final HashedTimingWheel timingWheel = new HashedTimingWheel(10, 8);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Message<?>> sent = new CopyOnWriteArrayList<>();
+    private final MemoryGameRoomRepository repository = new MemoryGameRoomRepository();
+    private PlayerSessionService playerSessionService;
+    private RoomBroadcaster roomBroadcaster;
+    private GameService gameService;
+    private MatchmakingService matchmakingService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        ClusterNode clusterNode = new ClusterNode(new InProcessClusterBus(hub), new SimpleMeterRegistry(), "n0", "n0", 16);
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+        GameMetrics gameMetrics = new GameMetrics(new SimpleMeterRegistry());
+        CompactWireNegotiator compactWireNegotiator = new CompactWireNegotiator(new SimpleMeterRegistry());
+        DirectRoomCommandExecutor executor = new DirectRoomCommandExecutor();
+        playerSessionService = new PlayerSessionService(repository, timingWheel, Duration.ofSeconds(20));
+        ClusterMessageRelay relay = new ClusterMessageRelay(clusterNode, messagingTemplate, playerSessionService);
+        roomBroadcaster = new RoomBroadcaster(messagingTemplate, gameMetrics, compactWireNegotiator,
+                0, Duration.ofMillis(50), Duration.ZERO, false);
+        gameService = new GameService(messagingTemplate, repository, new RoomSnapshotMapper(objectMapper),
+                new LobbyService(messagingTemplate, repository, clusterNode, relay, objectMapper), timingWheel, executor,
+                playerSessionService, gameMetrics, roomBroadcaster, new GameHistoryRepository(64, "", 64, 20),
+                clusterNode, relay, compactWireNegotiator, new RatingService(new RatingRepository(), 1200, 32, 100, 4, 0, 5));
+        ReflectionTestUtils.setField(gameService, "idleTtl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(gameService, "turnTimeout", Duration.ofSeconds(30));
+        clusterNode.afterSingletonsInstantiated();
+        matchmakingService = new MatchmakingService(gameService, repository, executor, clusterNode, meterRegistry, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchmakingService.destroy();
+        roomBroadcaster.destroy();
+        hub.destroy();
+        timingWheel.destroy();
+    }
+
+    @Test
+    void pairsTwoWaitingPlayersIntoOneRoom() throws Exception {
+        String first = playerSessionService.bind("ws-1", null).getSessionId();
+        String second = playerSessionService.bind("ws-2", null).getSessionId();
+
+        matchmakingService.enqueue("첫째", first);
+        matchmakingService.enqueue("첫째", first);
+        matchmakingService.enqueue("둘째", second);
+
+        await(() -> !payloadsTo("/user/ws-1/queue/room/joined").isEmpty() && !payloadsTo("/user/ws-2/queue/room/joined").isEmpty());
+        String roomId = repository.findRoomIdBySessionId(first).orElseThrow();
+        assertThat(repository.findRoomIdBySessionId(second)).contains(roomId);
+        assertThat(repository.findById(roomId).orElseThrow().getPlayers()).containsOnlyKeys(first, second);
+        assertThat(payloadsTo("/user/ws-1/queue/room/joined")).singleElement()
+                .extracting(snapshot -> snapshot.getRoomState().getRoomId()).isEqualTo(roomId);
+        assertThat(payloadsTo("/user/ws-2/queue/room/joined")).hasSize(1);
+        assertThat(meterRegistry.get("game.matchmaking.time.to.match").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("game.matchmaking.queue.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void cancelledAndSeatedPlayersAreNotMatched() throws Exception {
+        String cancelled = playerSessionService.bind("ws-cancelled", null).getSessionId();
+        String seated = playerSessionService.bind("ws-seated", null).getSessionId();
+        String first = playerSessionService.bind("ws-1", null).getSessionId();
+        String second = playerSessionService.bind("ws-2", null).getSessionId();
+        gameService.createRoom("이미 있는 방", "seated", seated);
+
+        matchmakingService.enqueue("취소", cancelled);
+        matchmakingService.cancel(cancelled);
+        matchmakingService.enqueue("seated", seated);
+        matchmakingService.enqueue("첫째", first);
+        matchmakingService.enqueue("둘째", second);
+
+        await(() -> !payloadsTo("/user/ws-1/queue/room/joined").isEmpty() && !payloadsTo("/user/ws-2/queue/room/joined").isEmpty());
+        assertThat(repository.findRoomIdBySessionId(first)).isEqualTo(repository.findRoomIdBySessionId(second));
+        assertThat(repository.findRoomIdBySessionId(cancelled)).isEmpty();
+        assertThat(repository.count()).isEqualTo(2);
+        assertThat(payloadsTo("/user/ws-cancelled/queue/room/joined")).isEmpty();
+        assertThat(sentTo("/user/ws-seated/queue/errors")).hasSize(1);
+    }
+
+    private List<RoomSnapshot> payloadsTo(String destination) {
+        return sentTo(destination).stream()
+                .map(payload -> (RoomSnapshot) payload)
+                .toList();
+    }
+
+    private List<Object> sentTo(String destination) {
+        return sent.stream()
+                .filter(message -> destination.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders())))
+                .<Object>map(Message::getPayload)
+                .toList();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
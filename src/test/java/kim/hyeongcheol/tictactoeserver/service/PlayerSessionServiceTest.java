@@ -0,0 +1,109 @@
+package kim.hyeongcheol.tictactoeserver.service;
+
+import kim.hyeongcheol.tictactoeserver.dto.PlayerSessionInfo;
+import kim.hyeongcheol.tictactoeserver.executor.HashedTimingWheel;
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import kim.hyeongcheol.tictactoeserver.repository.CompactId;
+import kim.hyeongcheol.tictactoeserver.repository.JournalGameRoomRepository;
+import kim.hyeongcheol.tictactoeserver.repository.MemoryGameRoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlayerSessionServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final HashedTimingWheel timingWheel = new HashedTimingWheel(10, 8);
+
+    @AfterEach
+    void tearDown() {
+        timingWheel.destroy();
+    }
+
+    @Test
+    void seatedPlayerReclaimsSeatWithTokenAfterRestart() throws Exception {
+        JournalGameRoomRepository repository = new JournalGameRoomRepository(directory.toString(), true, Long.MAX_VALUE);
+        PlayerSessionService sessions = new PlayerSessionService(repository, timingWheel, Duration.ofSeconds(20));
+        PlayerSessionInfo seated = sessions.bind("ws-1", null);
+        PlayerSessionInfo lobbyOnly = sessions.bind("ws-2", null);
+        repository.save(new GameRoom("room-1", "재시작 방", "host", seated.getSessionId()));
+        repository.linkSessionToRoom(seated.getSessionId(), "room-1");
+        repository.destroy();
+
+        JournalGameRoomRepository restored = new JournalGameRoomRepository(directory.toString(), true, Long.MAX_VALUE);
+        PlayerSessionService restarted = new PlayerSessionService(restored, timingWheel, Duration.ofSeconds(20));
+        restarted.restoreDetachedSessions(playerId -> {
+        });
+        PlayerSessionInfo resumed = restarted.bind("ws-3", seated.getResumeToken());
+        PlayerSessionInfo stale = restarted.bind("ws-4", lobbyOnly.getResumeToken());
+
+        assertThat(resumed.isResumed()).isTrue();
+        assertThat(resumed.getSessionId()).isEqualTo(seated.getSessionId());
+        assertThat(resumed.getRoomId()).isEqualTo("room-1");
+        assertThat(restarted.sessionIdOf(seated.getSessionId())).isEqualTo("ws-3");
+        assertThat(stale.isResumed()).isFalse();
+        assertThat(restored.findResumeTokens()).doesNotContainKey(lobbyOnly.getSessionId());
+        restored.destroy();
+        try (var files = Files.list(directory)) {
+            assertThat(files.map(PlayerSessionServiceTest::read)).noneMatch(content -> content.contains(seated.getResumeToken()));
+        }
+    }
+
+    @Test
+    void restoredPlayerWhoNeverReturnsIsDisconnectedAfterGrace() throws Exception {
+        JournalGameRoomRepository repository = new JournalGameRoomRepository(directory.toString(), true, Long.MAX_VALUE);
+        PlayerSessionInfo seated = new PlayerSessionService(repository, timingWheel, Duration.ofSeconds(20)).bind("ws-1", null);
+        repository.linkSessionToRoom(seated.getSessionId(), "room-1");
+        repository.destroy();
+
+        JournalGameRoomRepository restored = new JournalGameRoomRepository(directory.toString(), true, Long.MAX_VALUE);
+        PlayerSessionService restarted = new PlayerSessionService(restored, timingWheel, Duration.ofMillis(50));
+        List<String> expired = new CopyOnWriteArrayList<>();
+        CountDownLatch disconnected = new CountDownLatch(1);
+        restarted.restoreDetachedSessions(playerId -> {
+            expired.add(playerId);
+            disconnected.countDown();
+        });
+
+        assertThat(disconnected.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(expired).containsExactly(seated.getSessionId());
+        assertThat(restored.findResumeTokens()).isEmpty();
+        assertThat(restarted.bind("ws-2", seated.getResumeToken()).isResumed()).isFalse();
+        restored.destroy();
+    }
+
+    @Test
+    void unboundSessionCannotActAsAnExistingPlayer() {
+        PlayerSessionService sessions = new PlayerSessionService(new MemoryGameRoomRepository(), timingWheel, Duration.ofSeconds(20));
+        String victimPlayerId = sessions.bind("ws-victim", null).getSessionId();
+
+        String attackerPlayerId = sessions.playerIdOf(victimPlayerId);
+
+        assertThat(attackerPlayerId).isNotEqualTo(victimPlayerId);
+        assertThat(sessions.sessionIdOf(victimPlayerId)).isEqualTo("ws-victim");
+        assertThat(sessions.sessionIdOf(attackerPlayerId)).isEqualTo(victimPlayerId);
+        assertThat(sessions.sessionIdOf(CompactId.newId())).isNull();
+    }
+
+    private static String read(Path file) {
+        try {
+            return new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package kim.hyeongcheol.tictactoeserver.service;
+
+import kim.hyeongcheol.tictactoeserver.dto.Leaderboard;
+import kim.hyeongcheol.tictactoeserver.dto.LeaderboardQuery;
+import kim.hyeongcheol.tictactoeserver.dto.RatingEntry;
+import kim.hyeongcheol.tictactoeserver.repository.PlayerRating;
+import kim.hyeongcheol.tictactoeserver.repository.RatingRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class RatingServiceTest {
+
+    private final RatingRepository ratingRepository = new RatingRepository();
+    private final RatingService ratingService = new RatingService(ratingRepository, 1200, 32, 100, 64, 0, 5);
+
+    @Test
+    void winnerTakesEloFromLoserAndDrawsKeepEvenPlayersInPlace() {
+        record("앨리스", "밥", 1.0);
+        record("캐롤", "데이브", 0.5);
+
+        assertThat(ratingOf("앨리스")).isEqualTo(new PlayerRating("id-앨리스", "앨리스", 1216, 1, 0, 0));
+        assertThat(ratingOf("밥")).isEqualTo(new PlayerRating("id-밥", "밥", 1184, 0, 1, 0));
+        assertThat(ratingOf("캐롤")).isEqualTo(new PlayerRating("id-캐롤", "캐롤", 1200, 0, 0, 1));
+
+        record("밥", "앨리스", 1.0);
+
+        assertThat(ratingOf("밥").rating()).isEqualTo(1201);
+        assertThat(ratingOf("앨리스").rating()).isEqualTo(1199);
+    }
+
+    @Test
+    void leaderboardRanksTiesTogetherAndFindsMe() {
+        record("앨리스", "밥", 1.0);
+        record("캐롤", "데이브", 1.0);
+        record("에린", "프랭크", 0.5);
+
+        Leaderboard leaderboard = ratingService.leaderboard("id-프랭크", query(3));
+
+        assertThat(leaderboard.getTop().subList(0, 2))
+                .extracting(RatingEntry::getNickname, RatingEntry::getRank)
+                .containsExactlyInAnyOrder(tuple("앨리스", 1L), tuple("캐롤", 1L));
+        assertThat(leaderboard.getTop().get(2).getNickname()).isIn("에린", "프랭크");
+        assertThat(leaderboard.getTop().get(2).getRank()).isEqualTo(3L);
+        assertThat(leaderboard.getMe().getRank()).isEqualTo(3L);
+        assertThat(leaderboard.getMe().getDraws()).isEqualTo(1);
+        assertThat(leaderboard.getPlayers()).isEqualTo(6);
+        assertThat(ratingService.leaderboard("id-없는 사람", query(1000)).getMe()).isNull();
+        assertThat(ratingService.leaderboard(null, null).getTop()).hasSize(6);
+    }
+
+    @Test
+    void sameNicknameDoesNotShareOrStealARating() {
+        ratingService.recordGame("first", "앨리스", "other", "밥", 1.0);
+        ratingService.recordGame("impostor", "앨리스", "other", "밥", 0.0);
+
+        assertThat(ratingRepository.findByPlayerId("first").orElseThrow().rating()).isEqualTo(1216);
+        assertThat(ratingRepository.findByPlayerId("impostor").orElseThrow().rating()).isLessThan(1200);
+        assertThat(ratingService.leaderboard("first", query(10)).getMe())
+                .extracting(RatingEntry::getPlayerId, RatingEntry::getNickname, RatingEntry::getWins)
+                .containsExactly("first", "앨리스", 1);
+        assertThat(ratingService.leaderboard(null, query(10)).getTop())
+                .extracting(RatingEntry::getNickname)
+                .containsExactlyInAnyOrder("앨리스", "앨리스", "밥");
+    }
+
+    @Test
+    void overCapEvictsProvisionalPlayersWhoPlayedLongestAgo() {
+        RatingRepository cappedRepository = new RatingRepository();
+        RatingService capped = new RatingService(cappedRepository, 1200, 32, 100, 4, 10, 2);
+        capped.recordGame("id-앨리스", "앨리스", "id-밥", "밥", 1.0);
+        capped.recordGame("id-앨리스", "앨리스", "id-밥", "밥", 0.0);
+        for (int i = 0; i < 8; i++) {
+            capped.recordGame("p" + i, "p" + i, "q" + i, "q" + i, 1.0);
+        }
+
+        assertThat(cappedRepository.count()).isEqualTo(9);
+        assertThat(cappedRepository.findByPlayerId("id-앨리스")).isPresent();
+        assertThat(cappedRepository.findByPlayerId("id-밥")).isPresent();
+        assertThat(cappedRepository.findByPlayerId("p4")).isEmpty();
+        assertThat(cappedRepository.findByPlayerId("q4")).isPresent();
+        assertThat(cappedRepository.findTop(100)).extracting(PlayerRating::playerId)
+                .containsExactlyInAnyOrder("id-앨리스", "id-밥", "q4", "p5", "q5", "p6", "q6", "p7", "q7");
+        assertThat(cappedRepository.rankOf(0)).isEqualTo(10);
+        assertThat(capped.leaderboard("p0", query(100)).getMe()).isNull();
+    }
+
+    @Test
+    void concurrentGamesKeepRatingsZeroSumAndIndexesConsistent() throws Exception {
+        int players = 200;
+        int games = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < games; i++) {
+            executor.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                record("p" + random.nextInt(players), "p" + random.nextInt(players), random.nextInt(3) / 2.0);
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        Leaderboard leaderboard = ratingService.leaderboard(null, query(100));
+        long total = 0;
+        long results = 0;
+        for (int i = 0; i < players; i++) {
+            PlayerRating rating = ratingOf("p" + i);
+            total += rating.rating();
+            results += rating.wins() + rating.losses() + rating.draws();
+            assertThat(ratingRepository.rankOf(rating.rating()))
+                    .isEqualTo(1 + ratingRepository.findTop(players).stream().filter(other -> other.rating() > rating.rating()).count());
+        }
+        assertThat(total).isEqualTo(1200L * players);
+        assertThat(results % 2).isZero();
+        assertThat(ratingRepository.findTop(players + 1)).hasSize(players);
+        assertThat(leaderboard.getTop()).hasSize(100);
+        assertThat(leaderboard.getTop()).isSortedAccordingTo((a, b) -> Integer.compare(b.getRating(), a.getRating()));
+    }
+
+    private void record(String playerX, String playerO, double playerXScore) {
+        ratingService.recordGame("id-" + playerX, playerX, "id-" + playerO, playerO, playerXScore);
+    }
+
+    private PlayerRating ratingOf(String nickname) {
+        return ratingRepository.findByPlayerId("id-" + nickname).orElseThrow();
+    }
+
+    private static LeaderboardQuery query(Integer limit) {
+        LeaderboardQuery query = new LeaderboardQuery();
+        query.setLimit(limit);
+        return query;
+    }
+}
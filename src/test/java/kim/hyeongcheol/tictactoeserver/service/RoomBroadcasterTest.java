@@ -0,0 +1,124 @@
+package kim.hyeongcheol.tictactoeserver.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kim.hyeongcheol.tictactoeserver.dto.GameMessage;
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import kim.hyeongcheol.tictactoeserver.messaging.CompactWireNegotiator;
+import kim.hyeongcheol.tictactoeserver.messaging.SlowConsumerGuard;
+import kim.hyeongcheol.tictactoeserver.metrics.GameMetrics;
+import kim.hyeongcheol.tictactoeserver.repository.CompactId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomBroadcasterTest {
+
+    private final List<Message<?>> sent = new ArrayList<>();
+    private final SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+    private final GameRoom room = new GameRoom(CompactId.newId(), "묶음 방", "host", CompactId.newId());
+    private RoomBroadcaster roomBroadcaster;
+
+    @AfterEach
+    void tearDown() {
+        roomBroadcaster.destroy();
+    }
+
+    @Test
+    void broadcastsFromOneCommandLeaveAsOneFrame() {
+        roomBroadcaster = broadcaster(true);
+
+        roomBroadcaster.coalescing(() -> {
+            roomBroadcaster.broadcast(room, message(GameMessage.MessageType.READY, 1));
+            roomBroadcaster.broadcast(room, message(GameMessage.MessageType.GAME_START, 2));
+            assertThat(sent).isEmpty();
+        }).run();
+        roomBroadcaster.broadcast(room, message(GameMessage.MessageType.GAME_UPDATE, 3));
+
+        assertThat(sent).hasSize(2);
+        GameMessage batch = payloadOf(0);
+        assertThat(batch.getType()).isEqualTo(GameMessage.MessageType.BATCH);
+        assertThat(batch.getMessages()).extracting(GameMessage::getType)
+                .containsExactly(GameMessage.MessageType.READY, GameMessage.MessageType.GAME_START);
+        assertThat(payloadOf(1).getType()).isEqualTo(GameMessage.MessageType.GAME_UPDATE);
+    }
+
+    @Test
+    void directSendsFlushEarlierBroadcastsToKeepOrder() {
+        roomBroadcaster = broadcaster(true);
+
+        roomBroadcaster.coalescing(() -> {
+            roomBroadcaster.broadcast(room, message(GameMessage.MessageType.GAME_END, 1));
+            roomBroadcaster.flushDispatchCycle();
+            roomBroadcaster.broadcast(room, message(GameMessage.MessageType.LEAVE, 2));
+        }).run();
+
+        assertThat(sent).hasSize(2);
+        assertThat(payloadOf(0).getType()).isEqualTo(GameMessage.MessageType.GAME_END);
+        assertThat(payloadOf(1).getType()).isEqualTo(GameMessage.MessageType.LEAVE);
+    }
+
+    @Test
+    void disabledCoalescingSendsEachBroadcast() {
+        roomBroadcaster = broadcaster(false);
+
+        roomBroadcaster.coalescing(() -> {
+            roomBroadcaster.broadcast(room, message(GameMessage.MessageType.GAME_END, 1));
+            roomBroadcaster.broadcast(room, message(GameMessage.MessageType.LEAVE, 2));
+        }).run();
+
+        assertThat(sent).hasSize(2);
+    }
+
+    @Test
+    void onlyFramesMadeEntirelyOfUnsequencedChatAreMarkedDroppable() {
+        roomBroadcaster = broadcaster(true);
+
+        roomBroadcaster.broadcast(room, chat(null));
+        roomBroadcaster.coalescing(() -> {
+            roomBroadcaster.broadcast(room, chat(null));
+            roomBroadcaster.broadcast(room, chat(null));
+        }).run();
+        roomBroadcaster.coalescing(() -> {
+            roomBroadcaster.broadcast(room, chat(null));
+            roomBroadcaster.broadcast(room, message(GameMessage.MessageType.GAME_UPDATE, 1));
+        }).run();
+        roomBroadcaster.broadcast(room, message(GameMessage.MessageType.GAME_UPDATE, 2));
+        roomBroadcaster.broadcast(room, chat(3L));
+
+        assertThat(sent).extracting(message -> message.getHeaders().get(SlowConsumerGuard.DROPPABLE_HEADER))
+                .containsExactly(true, true, null, null, null);
+        assertThat(payloadOf(1).getType()).isEqualTo(GameMessage.MessageType.BATCH);
+    }
+
+    private RoomBroadcaster broadcaster(boolean dispatchCoalescing) {
+        return new RoomBroadcaster(messagingTemplate, new GameMetrics(new SimpleMeterRegistry()),
+                new CompactWireNegotiator(new SimpleMeterRegistry()), 0, Duration.ofSeconds(1), Duration.ZERO, dispatchCoalescing);
+    }
+
+    private GameMessage payloadOf(int index) {
+        return (GameMessage) sent.get(index).getPayload();
+    }
+
+    private GameMessage message(GameMessage.MessageType type, long sequence) {
+        return GameMessage.builder()
+                .type(type)
+                .roomId(room.getRoomId())
+                .sequence(sequence)
+                .build();
+    }
+
+    private GameMessage chat(Long sequence) {
+        return GameMessage.builder()
+                .type(GameMessage.MessageType.CHAT)
+                .roomId(room.getRoomId())
+                .sequence(sequence)
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package kim.hyeongcheol.tictactoeserver.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import kim.hyeongcheol.tictactoeserver.repository.MemoryGameRoomRepository;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomDumpServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MemoryGameRoomRepository repository = new MemoryGameRoomRepository();
+    private final RoomDumpService roomDumpService = new RoomDumpService(repository, objectMapper);
+
+    @Test
+    void writesOneJsonObjectPerLineFilteredByStateAndPlayers() throws IOException {
+        repository.save(new GameRoom("waiting", "혼자 대기", "host", "h1"));
+        GameRoom full = new GameRoom("full", "둘이 대기", "host", "h2");
+        full.addPlayer("g2", "guest");
+        repository.save(full);
+        GameRoom playing = new GameRoom("playing", "진행 중", "host", "h3");
+        playing.addPlayer("g3", "guest");
+        playing.markReady("h3");
+        playing.markReady("g3");
+        playing.startGame();
+        playing.makeMove(4, playing.getGame().getCurrentPlayerSessionId());
+        repository.save(playing);
+
+        List<JsonNode> all = dump(null, null);
+        List<JsonNode> waitingPairs = dump(Set.of(GameRoom.GameState.WAITING), 2);
+
+        assertThat(all).extracting(room -> room.path("roomId").asText())
+                .containsExactlyInAnyOrder("waiting", "full", "playing");
+        assertThat(waitingPairs).extracting(room -> room.path("roomId").asText()).containsExactly("full");
+        JsonNode game = dump(Set.of(GameRoom.GameState.PLAYING), null).getFirst();
+        assertThat(game.path("players").size()).isEqualTo(2);
+        assertThat(game.path("moveCount").asInt()).isEqualTo(1);
+        assertThat(game.path("roomName").asText()).isEqualTo("진행 중");
+    }
+
+    private List<JsonNode> dump(Set<GameRoom.GameState> states, Integer players) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long written = roomDumpService.writeRooms(output, states, players);
+        String body = output.toString(StandardCharsets.UTF_8);
+        List<JsonNode> rooms = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isEmpty()) {
+                rooms.add(objectMapper.readTree(line));
+            }
+        }
+        assertThat(body).endsWith(written == 0 ? "" : "\n");
+        assertThat(rooms).hasSize((int) written);
+        return rooms;
+    }
+}
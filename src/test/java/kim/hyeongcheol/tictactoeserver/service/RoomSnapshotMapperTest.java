@@ -0,0 +1,60 @@
+package kim.hyeongcheol.tictactoeserver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kim.hyeongcheol.tictactoeserver.dto.RoomSnapshot;
+import kim.hyeongcheol.tictactoeserver.game.GameRoom;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomSnapshotMapperTest {
+
+    private final RoomSnapshotMapper mapper = new RoomSnapshotMapper(new ObjectMapper().findAndRegisterModules());
+    private final GameRoom room = new GameRoom("room-1", "캐시 방", "host", "host");
+
+    @Test
+    void snapshotIsBuiltOncePerVersion() {
+        RoomSnapshot first = mapper.snapshotOf(room);
+
+        room.touch();
+        room.nextSequence();
+        room.addSpectator("spectator");
+        room.markReady("host");
+        RoomSnapshot ready = mapper.snapshotOf(room);
+        room.markReady("host");
+
+        assertThat(mapper.snapshotOf(room)).isSameAs(ready).isNotSameAs(first);
+        assertThat(ready.getVersion()).isEqualTo(room.getVersion());
+        assertThat(mapper.snapshotOf(room).toJsonBytes()).isSameAs(ready.toJsonBytes());
+    }
+
+    @Test
+    void everyStateChangeInvalidatesTheCachedJson() {
+        RoomSnapshot empty = mapper.snapshotOf(room);
+
+        room.addPlayer("guest", "손님");
+        RoomSnapshot joined = mapper.snapshotOf(room);
+        room.markReady("host");
+        room.markReady("guest");
+        room.startGame();
+        RoomSnapshot started = mapper.snapshotOf(room);
+        String firstPlayer = room.getGame().getCurrentPlayerSessionId();
+        assertThat(room.makeMove(9, firstPlayer)).isFalse();
+        assertThat(mapper.snapshotOf(room)).isSameAs(started);
+        room.makeMove(4, firstPlayer);
+        RoomSnapshot moved = mapper.snapshotOf(room);
+
+        assertThat(json(empty)).doesNotContain("손님");
+        assertThat(json(joined)).contains("손님").contains("\"gameState\":\"WAITING\"");
+        assertThat(json(started)).contains("\"gameState\":\"PLAYING\"").doesNotContain("\"X\"");
+        assertThat(json(moved)).contains("\"X\"");
+        assertThat(moved.getRoomState().getGame().getBoard()[4]).isEqualTo('X');
+        assertThat(started.getRoomState().getGame().getBoard()[4]).isNull();
+    }
+
+    private static String json(RoomSnapshot snapshot) {
+        return new String(snapshot.toJsonBytes(), StandardCharsets.UTF_8);
+    }
+}